@@ -0,0 +1,170 @@
+package edu.eci.arsw.concurrent_matrix;
+
+/**
+ * A* over the 4-connected grid of a {@link BoardView}, with a Manhattan heuristic.
+ * Empty cells, phones and the agent can be entered; obstacles and enemies cannot.
+ * <p>
+ * The search runs on the calling thread's {@link SearchWorkspace}: g-scores, parents
+ * and closed flags live in primitive arrays indexed by cell, the open list is an
+ * {@link IndexedMinHeap} with O(log n) decrease-key, and nothing is allocated per
+ * expansion. Ties on f are broken by first step, see below, then towards the smaller
+ * heuristic, so the search heads straight for the goal across open ground.
+ * <p>
+ * Among several shortest paths, the one returned always starts with the first
+ * neighbour of the start, in up, down, left, right order, that a shortest path can
+ * start with, so the first move does not depend on the order cells happened to be
+ * expanded in, and {@link JumpPointSearch} makes the same one. Every open cell carries
+ * the direction of its first step in its key, between f and the heuristic
+ * (see {@link IndexedMinHeap#key(int, int, int)}), and a cell is re-parented when an
+ * equally short way through an earlier first step reaches it; with a consistent
+ * heuristic, the goal is closed with the earliest first step of any shortest path.
+ * <p>
+ * The Manhattan heuristic can be replaced by any admissible {@link SearchHeuristic},
+ * such as the {@link LandmarkHeuristic} for maze-like boards.
+ */
+public final class AStarSearch {
+
+    private AStarSearch() {
+    }
+
+    /**
+     * Checks whether a search may step onto a cell holding the given entity.
+     *
+     * @param type the entity type
+     * @return true for empty cells, phones and the agent
+     */
+    public static boolean isPassable(EntityType type) {
+        return type == EntityType.EMPTY || type == EntityType.PHONE || type == EntityType.AGENT;
+    }
+
+    /**
+     * Finds a shortest path between two cells.
+     *
+     * @param board the board to search
+     * @param start the start cell
+     * @param goal the goal cell
+     * @return the path and search statistics
+     */
+    public static PathResult findPath(BoardView board, int start, int goal) {
+        return findPath(board, start, goal, null);
+    }
+
+    /**
+     * Finds a shortest path between two cells, guided by the given heuristic.
+     *
+     * @param board the board to search
+     * @param start the start cell
+     * @param goal the goal cell
+     * @param heuristic an admissible heuristic, or null for the Manhattan distance
+     * @return the path and search statistics
+     */
+    public static PathResult findPath(BoardView board, int start, int goal, SearchHeuristic heuristic) {
+        return findPath(board, start, goal, heuristic, SearchBudget.UNLIMITED);
+    }
+
+    /**
+     * Finds a shortest path between two cells within a budget. If the budget runs out
+     * first, the result is partial and leads to the open cell with the lowest f-score,
+     * the most promising point of the frontier.
+     *
+     * @param board the board to search
+     * @param start the start cell
+     * @param goal the goal cell
+     * @param heuristic an admissible heuristic, or null for the Manhattan distance
+     * @param budget the limit on expansions and time
+     * @return the path, a partial path, or not found if the goal is unreachable
+     */
+    public static PathResult findPath(BoardView board, int start, int goal, SearchHeuristic heuristic,
+                                      SearchBudget budget) {
+        if (!board.isValidIndex(start) || !board.isValidIndex(goal)) {
+            return PathResult.notFound(start, 0);
+        }
+        SearchWorkspace workspace = SearchWorkspace.acquire();
+        try {
+            int expansions = search(board, start, goal, heuristic, budget, workspace);
+            if (workspace.isClosed(goal)) {
+                return PathResult.found(start, workspace.pathTo(goal), expansions);
+            }
+            if (!workspace.open.isEmpty()) {
+                return PathResult.partial(start, workspace.pathTo(workspace.open.peek()), expansions);
+            }
+            return PathResult.notFound(start, expansions);
+        } finally {
+            workspace.release();
+        }
+    }
+
+    /**
+     * Finds the first move of a shortest path between two cells without building the path.
+     *
+     * @param board the board to search
+     * @param start the start cell
+     * @param goal the goal cell
+     * @return the cell to move to, or -1 if the start is the goal or no path exists
+     */
+    public static int findNextStep(BoardView board, int start, int goal) {
+        if (start == goal || !board.isValidIndex(start) || !board.isValidIndex(goal)) {
+            return -1;
+        }
+        SearchWorkspace workspace = SearchWorkspace.acquire();
+        try {
+            search(board, start, goal, null, SearchBudget.UNLIMITED, workspace);
+            return workspace.isClosed(goal) ? workspace.firstStepTo(goal) : -1;
+        } finally {
+            workspace.release();
+        }
+    }
+
+    /**
+     * Runs A* until the goal is expanded, the open list runs dry or the budget is spent.
+     *
+     * @return the number of nodes expanded
+     */
+    private static int search(BoardView board, int start, int goal, SearchHeuristic heuristic,
+                              SearchBudget budget, SearchWorkspace workspace) {
+        int width = board.getWidth();
+        int goalX = goal / width;
+        int goalY = goal - goalX * width;
+        int[] neighbors = workspace.neighbors;
+        IndexedMinHeap open = workspace.open;
+
+        workspace.begin(board.getCellCount());
+        workspace.reach(start, 0, -1);
+        int h = heuristic == null ? distance(start, goalX, goalY, width) : heuristic.estimate(start, goal);
+        open.put(start, IndexedMinHeap.key(h, 0, h));
+
+        int expansions = 0;
+        while (!open.isEmpty() && !budget.isExhausted(expansions)) {
+            int branch = IndexedMinHeap.directionOf(open.peekKey());
+            int current = open.poll();
+            workspace.close(current);
+            expansions++;
+            if (current == goal) {
+                break;
+            }
+
+            int tentative = workspace.g[current] + 1;
+            int count = board.getAdjacentIndices(current, neighbors);
+            for (int i = 0; i < count; i++) {
+                int neighbor = neighbors[i];
+                int direction = current == start ? i : branch;
+                if (workspace.isClosed(neighbor) || !workspace.improves(neighbor, tentative, direction)
+                        || !isPassable(board.getEntity(neighbor))) {
+                    continue;
+                }
+                int hn = heuristic == null ? distance(neighbor, goalX, goalY, width) : heuristic.estimate(neighbor, goal);
+                workspace.reach(neighbor, tentative, current);
+                open.put(neighbor, IndexedMinHeap.key(tentative + hn, direction, hn));
+            }
+        }
+        return expansions;
+    }
+
+    /**
+     * Manhattan distance from a cell to the goal coordinates.
+     */
+    private static int distance(int cell, int goalX, int goalY, int width) {
+        int x = cell / width;
+        return Math.abs(x - goalX) + Math.abs(cell - x * width - goalY);
+    }
+}
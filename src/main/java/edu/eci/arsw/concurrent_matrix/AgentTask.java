@@ -0,0 +1,122 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Behaviour of the agent (A) that tries to reach a phone (T).
+ * Each step the agent plans towards the phone nearest by path length with its
+ * {@link PathPlanner}, by default an incremental {@link DStarLitePlanner} that only
+ * repairs the part of its search that the enemies' moves affected. Plans are made on a
+ * {@link BoardSnapshot}, so a search never sees a half-applied move.
+ * <p>
+ * Like an enemy's search, the plan gets half of the move delay. When it runs out first
+ * the agent follows the partial path, or waits for one tick if the planner had no
+ * first step yet, instead of overrunning its move.
+ */
+public class AgentTask implements EntityTask {
+    private final Board board;
+    private final GameState gameState;
+    private final int moveDelay;
+    private final PathPlanner planner;
+
+    /**
+     * Creates the agent's task.
+     *
+     * @param board the game board
+     * @param gameState the shared game state
+     * @param moveDelay delay between moves in milliseconds
+     * @param planner the planner owned by this agent
+     */
+    public AgentTask(Board board, GameState gameState, int moveDelay, PathPlanner planner) {
+        this.board = board;
+        this.gameState = gameState;
+        this.moveDelay = moveDelay;
+        this.planner = planner;
+    }
+
+    @Override
+    public boolean step() {
+        if (gameState.isGameOver()) {
+            return false;
+        }
+        BoardSnapshot view = board.snapshot();
+        Position currentPosition = view.getAgentPosition();
+        if (currentPosition == null) {
+            gameState.setGameOver(true, "Agent not found on board");
+            return false;
+        }
+
+        List<Position> phonePositions = view.getPhonePositions();
+        if (phonePositions.isEmpty()) {
+            gameState.setGameOver(true, "No phones available");
+            return false;
+        }
+
+        // Check if agent reached a phone
+        EntityType currentEntity = view.getEntity(currentPosition);
+        if (currentEntity == EntityType.PHONE) {
+            gameState.setGameOver(true, "Agent reached a phone! Agent wins!");
+            return false;
+        }
+
+        // Phones walled off by obstacles can never be reached, so no search is needed
+        if (!GameUtils.isAnyGoalConnected(view, currentPosition, phonePositions)) {
+            gameState.setGameOver(true, "Agent has no path to any phone. Game over!");
+            return false;
+        }
+
+        // Repair last tick's plan towards the nearest reachable phone, within half of the move delay
+        SearchBudget budget = SearchBudget.ofTimeout(Duration.ofMillis(Math.max(1, moveDelay / 2)));
+        PathResult plan = planner.plan(view, budget);
+        if (plan.isPartial() && plan.getNextStep() < 0) {
+            return true; // Out of time before a first step was known, plan again next tick
+        }
+        if (!plan.isFound() && !plan.isPartial()) {
+            gameState.setGameOver(true, "Agent has no path to any phone. Game over!");
+            return false;
+        }
+        Position nextMove = plan.getNextStep() < 0 ? null : view.positionAt(plan.getNextStep());
+
+        if (nextMove == null) {
+            // No valid move found
+            gameState.setGameOver(true, "Agent cannot move. Game over!");
+            return false;
+        }
+        EntityType targetEntity = board.getEntity(nextMove);
+
+        // Check if moving into an enemy (caught by enemy)
+        if (targetEntity == EntityType.ENEMY) {
+            gameState.setGameOver(true, "Agent was caught by an enemy! Enemies win!");
+            return false;
+        }
+
+        // Move the agent, checking if it reached a phone
+        if (board.moveEntity(currentPosition, nextMove) && targetEntity == EntityType.PHONE) {
+            gameState.setGameOver(true, "Agent reached a phone! Agent wins!");
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public String getName() {
+        return "Agent";
+    }
+
+    @Override
+    public int getMoveDelay() {
+        return moveDelay;
+    }
+
+    /**
+     * Reports the error and ends the game, which cannot go on without its agent.
+     *
+     * @param e the error
+     */
+    @Override
+    public void onError(Exception e) {
+        EntityTask.super.onError(e);
+        gameState.setGameOver(true, "Agent thread error: " + e.getMessage());
+    }
+}
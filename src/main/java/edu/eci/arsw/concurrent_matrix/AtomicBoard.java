@@ -0,0 +1,156 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lock-free board variant whose cells are updated with compare-and-set.
+ * A move first marks the source cell as moving, which only one mover of an entity can
+ * do, then claims the destination cell (EMPTY, or PHONE for the agent, to the mover's
+ * code) and finally releases the source, so {@link #moveEntity}, {@link #getEntity}
+ * and {@link #isFree} take no lock. When two entities race for the same cell exactly
+ * one CAS wins, and only the winner updates the lock-free entity registry, which it
+ * does while it still owns both cells so no other mover can enter the source first.
+ * A mover that loses the destination just clears its mark; nothing else was written.
+ * <p>
+ * Between claiming the destination and releasing the source a reader may briefly
+ * see the moving entity in both cells; readers never see a torn or lost cell.
+ * Whole-board operations ({@link #setupGame()}, {@link #display()}, {@link #snapshot()})
+ * still use the board-wide lock among themselves but do not exclude concurrent moves,
+ * but every move is counted in its snapshot blocks, so a snapshot that a move
+ * overlapped is discarded and retried; after a few failed tries new moves wait for
+ * it to finish. The board version is bumped only once a move is final.
+ */
+public class AtomicBoard extends Board {
+    private static final byte EMPTY = EntityType.EMPTY.code();
+    private static final byte PHONE = EntityType.PHONE.code();
+    private static final byte MOVING = AtomicCellStore.MOVING;
+
+    private final AtomicCellStore cells;
+
+    /**
+     * Creates a new empty lock-free board.
+     *
+     * @param width number of columns
+     * @param height number of rows
+     */
+    public AtomicBoard(int width, int height) {
+        this(width, height, new AtomicCellStore(checkedCellCount(width, height)));
+    }
+
+    private AtomicBoard(int width, int height, AtomicCellStore cells) {
+        super(width, height, cells);
+        this.cells = cells;
+    }
+
+    @Override
+    protected void readLock(int index) {
+        // Cell reads have acquire semantics, no lock needed
+    }
+
+    @Override
+    protected void readUnlock(int index) {
+        // Cell reads have acquire semantics, no lock needed
+    }
+
+    @Override
+    protected void writeLock(int first, int second) {
+        // Single-cell writes have release semantics, no lock needed
+    }
+
+    @Override
+    protected void writeUnlock(int first, int second) {
+        // Single-cell writes have release semantics, no lock needed
+    }
+
+    @Override
+    public boolean placeEntity(Position position, EntityType entityType) {
+        if (!isValidPosition(position) || entityType == EntityType.EMPTY) {
+            return false;
+        }
+        int index = indexOf(position);
+        beginWrite(index, index);
+        try {
+            if (!cells.compareAndSet(index, EMPTY, entityType.code())) {
+                return false;
+            }
+            if (!trackPlacement(index, entityType)) {
+                cells.set(index, EMPTY);
+                return false;
+            }
+            cellChanged(index, EMPTY, entityType.code());
+            return true;
+        } finally {
+            endWrite(index, index);
+        }
+    }
+
+    @Override
+    public boolean moveEntity(int fromIndex, int toIndex) {
+        if (!isValidIndex(fromIndex) || !isValidIndex(toIndex)) {
+            return false;
+        }
+        byte code = cells.get(fromIndex);
+        EntityType entityType = EntityType.fromCode(code);
+        if (entityType == EntityType.EMPTY || entityType == EntityType.OBSTACLE || entityType == EntityType.PHONE) {
+            return false;
+        }
+
+        while (isSnapshotWaiting()) {
+            Thread.yield(); // Let a snapshot that keeps losing to moves finish its copy
+        }
+        beginWrite(fromIndex, toIndex);
+        try {
+            return claimAndMove(entityType, code, fromIndex, toIndex);
+        } finally {
+            endWrite(fromIndex, toIndex);
+        }
+    }
+
+    private boolean claimAndMove(EntityType entityType, byte code, int fromIndex, int toIndex) {
+        // Own the source; fails if the same entity is already being moved, or has moved
+        if (!cells.compareAndSet(fromIndex, code, (byte) (code | MOVING))) {
+            return false;
+        }
+
+        // Claim the destination; only one racer can win it
+        byte previous;
+        if (cells.compareAndSet(toIndex, EMPTY, code)) {
+            previous = EMPTY;
+        } else if (entityType.canEnter(EntityType.PHONE) && cells.compareAndSet(toIndex, PHONE, code)) {
+            previous = PHONE;
+        } else {
+            cells.set(fromIndex, code);
+            return false; // Occupied, or a phone and the mover is not the agent
+        }
+
+        // Mirror both cells and move the tracking while this mover still owns them
+        mirrorCell(toIndex, previous, code);
+        mirrorCell(fromIndex, code, EMPTY);
+        trackMove(entityType, fromIndex, toIndex);
+        cells.set(fromIndex, EMPTY);
+
+        publishChange(false); // Only now is the move final
+        return true;
+    }
+
+    /**
+     * Applies the moves one by one with {@link #moveEntity(int, int)}: the board-wide
+     * lock does not exclude this board's compare-and-set movers, so a bulk commit
+     * under it would not be atomic with respect to them.
+     *
+     * @param moves the moves to apply, in order
+     * @return the moves that were applied
+     */
+    @Override
+    public List<MoveIntent> commitMoves(List<MoveIntent> moves) {
+        List<MoveIntent> applied = new ArrayList<>(moves.size());
+        for (MoveIntent move : moves) {
+            if (isValidIndex(move.getFrom()) && cells.get(move.getFrom()) == move.getType().code()
+                    && moveEntity(move.getFrom(), move.getTo())) {
+                applied.add(move);
+            }
+        }
+        return applied;
+    }
+}
@@ -0,0 +1,60 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Heap cell store whose cells are accessed atomically through a VarHandle:
+ * reads have acquire semantics, writes have release semantics, and cells
+ * support compare-and-set, so it can be shared between threads without locks.
+ * <p>
+ * A cell may carry the {@link #MOVING} flag on top of its code while the entity on it
+ * is being moved away. {@link #get} hides the flag; block copies do not, but they only
+ * happen under the board's write counters, which discard a copy a move overlapped.
+ */
+public class AtomicCellStore extends HeapCellStore {
+    /**
+     * Flag added to the code of a cell whose entity is being moved away.
+     */
+    static final byte MOVING = 0x40;
+
+    private static final VarHandle CELL = MethodHandles.arrayElementVarHandle(byte[].class);
+
+    /**
+     * Creates an atomic store with the given number of cells, all set to code 0.
+     * 
+     * @param size the cell count
+     */
+    public AtomicCellStore(int size) {
+        super(size);
+    }
+
+    @Override
+    public byte get(int index) {
+        return (byte) ((byte) CELL.getAcquire(cells, index) & ~MOVING);
+    }
+
+    @Override
+    public void set(int index, byte code) {
+        CELL.setRelease(cells, index, code);
+    }
+
+    @Override
+    public void fill(byte code) {
+        super.fill(code);
+        VarHandle.releaseFence();
+    }
+
+    /**
+     * Atomically replaces the code of a cell if it currently holds the expected code.
+     * A cell carrying the {@link #MOVING} flag only matches an expected code with it.
+     * 
+     * @param index the cell index
+     * @param expected the code the cell must hold
+     * @param code the new code
+     * @return true if the cell was updated
+     */
+    public boolean compareAndSet(int index, byte expected, byte code) {
+        return CELL.compareAndSet(cells, index, expected, code);
+    }
+}
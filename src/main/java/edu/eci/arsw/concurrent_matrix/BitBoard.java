@@ -0,0 +1,334 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * Occupancy bit planes kept alongside a {@link Board}'s cells: one {@code long[]}
+ * per entity type (obstacles, enemies, phones, agent). Each board row starts on a
+ * fresh word, so cell (x, y) is bit {@code y & 63} of word {@code x * wordsPerRow + (y >>> 6)}.
+ * <p>
+ * Bulk queries run as word-wide bit operations: free cells, the set of cells
+ * reachable from a start cell (a bit-parallel flood fill) and enemies around a cell.
+ * Plane updates are atomic per bit, so boards with finer-grained locking can update
+ * neighbouring cells concurrently. Queries read the planes without locking and, like
+ * the rest of the board queries, see the state as of the time of the read.
+ */
+public class BitBoard {
+    private static final VarHandle WORD = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final int width;
+    private final int height;
+    private final int wordsPerRow;
+    private final long lastWordMask;
+    private final long[][] planes;
+
+    /**
+     * Creates empty bit planes for a board of the given dimensions.
+     *
+     * @param width number of columns
+     * @param height number of rows
+     */
+    public BitBoard(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.wordsPerRow = (width + 63) >>> 6;
+        this.lastWordMask = (width & 63) == 0 ? -1L : (1L << (width & 63)) - 1;
+        this.planes = new long[EntityType.values().length][];
+        for (EntityType type : EntityType.values()) {
+            if (type != EntityType.EMPTY) {
+                planes[type.ordinal()] = new long[wordsPerRow * height];
+            }
+        }
+    }
+
+    /**
+     * Gets the number of words used per board row.
+     *
+     * @return the words per row
+     */
+    public int getWordsPerRow() {
+        return wordsPerRow;
+    }
+
+    /**
+     * Clears every plane.
+     */
+    public void clear() {
+        for (long[] plane : planes) {
+            if (plane != null) {
+                Arrays.fill(plane, 0L);
+            }
+        }
+        VarHandle.releaseFence();
+    }
+
+    /**
+     * Records that a cell changed from one entity code to another.
+     *
+     * @param x the cell row
+     * @param y the cell column
+     * @param oldCode the previous entity code
+     * @param newCode the new entity code
+     */
+    public void update(int x, int y, byte oldCode, byte newCode) {
+        if (oldCode == newCode) {
+            return;
+        }
+        int word = x * wordsPerRow + (y >>> 6);
+        long bit = 1L << y;
+        long[] oldPlane = planes[oldCode];
+        if (oldPlane != null) {
+            WORD.getAndBitwiseAndRelease(oldPlane, word, ~bit);
+        }
+        long[] newPlane = planes[newCode];
+        if (newPlane != null) {
+            WORD.getAndBitwiseOrRelease(newPlane, word, bit);
+        }
+    }
+
+    /**
+     * Checks whether a cell holds the given entity type according to the planes.
+     *
+     * @param type the entity type
+     * @param x the cell row
+     * @param y the cell column
+     * @return true if the cell's bit is set in that type's plane
+     */
+    public boolean isSet(EntityType type, int x, int y) {
+        if (type == EntityType.EMPTY) {
+            return isFree(x, y);
+        }
+        long word = (long) WORD.getAcquire(planes[type.ordinal()], x * wordsPerRow + (y >>> 6));
+        return (word & (1L << y)) != 0;
+    }
+
+    /**
+     * Checks whether a cell is empty according to the planes.
+     *
+     * @param x the cell row
+     * @param y the cell column
+     * @return true if no plane has the cell's bit set
+     */
+    public boolean isFree(int x, int y) {
+        int word = x * wordsPerRow + (y >>> 6);
+        long bit = 1L << y;
+        for (long[] plane : planes) {
+            if (plane != null && ((long) WORD.getAcquire(plane, word) & bit) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Computes the set of empty cells as a plane.
+     *
+     * @return a new plane with one bit set per empty cell
+     */
+    public long[] freeCells() {
+        long[] free = new long[wordsPerRow * height];
+        for (int word = 0; word < free.length; word++) {
+            long occupied = 0;
+            for (long[] plane : planes) {
+                if (plane != null) {
+                    occupied |= (long) WORD.getAcquire(plane, word);
+                }
+            }
+            free[word] = ~occupied & rowMask(word);
+        }
+        return free;
+    }
+
+    /**
+     * Counts the bits set in a plane produced by this bit board.
+     *
+     * @param plane the plane
+     * @return the number of cells in the set
+     */
+    public static int count(long[] plane) {
+        int total = 0;
+        for (long word : plane) {
+            total += Long.bitCount(word);
+        }
+        return total;
+    }
+
+    /**
+     * Checks whether a cell belongs to a plane produced by this bit board.
+     *
+     * @param plane the plane
+     * @param x the cell row
+     * @param y the cell column
+     * @return true if the cell's bit is set
+     */
+    public boolean contains(long[] plane, int x, int y) {
+        return (plane[x * wordsPerRow + (y >>> 6)] & (1L << y)) != 0;
+    }
+
+    /**
+     * Counts the enemies in the eight cells surrounding the given cell.
+     *
+     * @param x the cell row
+     * @param y the cell column
+     * @return number of adjacent enemies, diagonals included
+     */
+    public int enemiesAdjacentTo(int x, int y) {
+        long[] enemies = planes[EntityType.ENEMY.ordinal()];
+        int total = 0;
+        for (int row = Math.max(0, x - 1); row <= Math.min(height - 1, x + 1); row++) {
+            for (int col = Math.max(0, y - 1); col <= Math.min(width - 1, y + 1); col++) {
+                if (row == x && col == y) {
+                    continue;
+                }
+                long word = (long) WORD.getAcquire(enemies, row * wordsPerRow + (col >>> 6));
+                if ((word & (1L << col)) != 0) {
+                    total++;
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Computes every cell reachable from a start cell through 4-connected moves,
+     * using the same passability rule as the pathfinder: empty cells, phones and the
+     * agent can be entered, obstacles and enemies cannot. The start cell itself is
+     * always part of the result.
+     * <p>
+     * Runs a bit-parallel flood fill: each row is filled horizontally a word at a
+     * time with Kogge-Stone occluded fills, seeded from the rows above and below,
+     * sweeping down and up until nothing changes.
+     *
+     * @param x the start row
+     * @param y the start column
+     * @return a new plane with one bit set per reachable cell
+     */
+    public long[] reachableFrom(int x, int y) {
+        long[] passable = new long[wordsPerRow * height];
+        long[] obstacles = planes[EntityType.OBSTACLE.ordinal()];
+        long[] enemies = planes[EntityType.ENEMY.ordinal()];
+        for (int word = 0; word < passable.length; word++) {
+            long blocked = (long) WORD.getAcquire(obstacles, word) | (long) WORD.getAcquire(enemies, word);
+            passable[word] = ~blocked & rowMask(word);
+        }
+        int startWord = x * wordsPerRow + (y >>> 6);
+        passable[startWord] |= 1L << y;
+
+        long[] reached = new long[passable.length];
+        reached[startWord] = 1L << y;
+        fillRow(x, reached, passable);
+
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int row = 0; row < height; row++) {
+                changed |= expandRow(row, reached, passable);
+            }
+            for (int row = height - 1; row >= 0; row--) {
+                changed |= expandRow(row, reached, passable);
+            }
+        }
+        return reached;
+    }
+
+    /**
+     * Seeds one row from the reached cells directly above and below it and,
+     * if that added anything, fills the row horizontally.
+     *
+     * @param row the row to expand
+     * @param reached the reached plane, updated in place
+     * @param passable the passable plane
+     * @return true if the row gained cells
+     */
+    private boolean expandRow(int row, long[] reached, long[] passable) {
+        int start = row * wordsPerRow;
+        boolean grew = false;
+        for (int word = start; word < start + wordsPerRow; word++) {
+            long vertical = 0;
+            if (row > 0) {
+                vertical |= reached[word - wordsPerRow];
+            }
+            if (row < height - 1) {
+                vertical |= reached[word + wordsPerRow];
+            }
+            long added = vertical & passable[word] & ~reached[word];
+            if (added != 0) {
+                reached[word] |= added;
+                grew = true;
+            }
+        }
+        if (grew) {
+            fillRow(row, reached, passable);
+        }
+        return grew;
+    }
+
+    /**
+     * Extends every reached cell of a row along its passable runs, carrying
+     * across word boundaries in both directions.
+     *
+     * @param row the row to fill
+     * @param reached the reached plane, updated in place
+     * @param passable the passable plane
+     */
+    private void fillRow(int row, long[] reached, long[] passable) {
+        int start = row * wordsPerRow;
+        long carry = 0;
+        for (int word = start; word < start + wordsPerRow; word++) {
+            long gen = fillUp(reached[word] | (carry & passable[word]), passable[word]);
+            carry = gen >>> 63;
+            reached[word] = gen;
+        }
+        carry = 0;
+        for (int word = start + wordsPerRow - 1; word >= start; word--) {
+            long gen = fillDown(reached[word] | (carry & passable[word]), passable[word]);
+            carry = (gen & 1L) << 63;
+            reached[word] = gen;
+        }
+    }
+
+    /**
+     * Kogge-Stone occluded fill towards higher bit indices.
+     */
+    private static long fillUp(long gen, long pro) {
+        gen |= pro & (gen << 1);
+        pro &= pro << 1;
+        gen |= pro & (gen << 2);
+        pro &= pro << 2;
+        gen |= pro & (gen << 4);
+        pro &= pro << 4;
+        gen |= pro & (gen << 8);
+        pro &= pro << 8;
+        gen |= pro & (gen << 16);
+        pro &= pro << 16;
+        gen |= pro & (gen << 32);
+        return gen;
+    }
+
+    /**
+     * Kogge-Stone occluded fill towards lower bit indices.
+     */
+    private static long fillDown(long gen, long pro) {
+        gen |= pro & (gen >>> 1);
+        pro &= pro >>> 1;
+        gen |= pro & (gen >>> 2);
+        pro &= pro >>> 2;
+        gen |= pro & (gen >>> 4);
+        pro &= pro >>> 4;
+        gen |= pro & (gen >>> 8);
+        pro &= pro >>> 8;
+        gen |= pro & (gen >>> 16);
+        pro &= pro >>> 16;
+        gen |= pro & (gen >>> 32);
+        return gen;
+    }
+
+    /**
+     * Mask of the bits of a word that map to real board columns.
+     */
+    private long rowMask(int word) {
+        return (word % wordsPerRow) == wordsPerRow - 1 ? lastWordMask : -1L;
+    }
+}
@@ -0,0 +1,144 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Bit plane of the cells of a {@link BoardSnapshot} that block movement, the obstacles
+ * and enemies {@link AStarSearch#isPassable} rejects, one bit per cell in index order,
+ * so searches can scan a row 64 cells at a time. Each row also gets one bit telling
+ * whether it holds any blocked cell at all, which lets a scan skip open rows outright.
+ * <p>
+ * The plane is split like the snapshot's blocks. A snapshot builds it on first use and
+ * takes the part of every block not written since the previous snapshot from that
+ * snapshot's plane, so after a move only the blocks written since are read again.
+ * The plane is immutable and takes an eighth of a byte per cell.
+ */
+public final class BlockedCells {
+    private static final int WORD_BITS = BoardSnapshot.BLOCK_BITS - 6;
+    private static final int WORD_MASK = (1 << WORD_BITS) - 1;
+    private static final boolean[] BLOCKING = new boolean[EntityType.values().length];
+
+    static {
+        for (EntityType type : EntityType.values()) {
+            BLOCKING[type.code()] = !AStarSearch.isPassable(type);
+        }
+    }
+
+    private final int width;
+    private final int height;
+    private final int wordCount;
+    private final long[] blockStamps;
+    private final long wholeWriteStamp;
+    private final long[][] words;
+    private final long[] busyRows;
+
+    private BlockedCells(int width, int height, long[] blockStamps, long wholeWriteStamp, long[][] words) {
+        this.width = width;
+        this.height = height;
+        this.wordCount = (width * height + 63) >>> 6;
+        this.blockStamps = blockStamps;
+        this.wholeWriteStamp = wholeWriteStamp;
+        this.words = words;
+        this.busyRows = new long[(height + 63) >>> 6];
+        for (int row = 0; row < height; row++) {
+            if (hasBlockedCell(row)) {
+                busyRows[row >>> 6] |= 1L << row;
+            }
+        }
+    }
+
+    /**
+     * Builds the plane of a snapshot's blocks.
+     *
+     * @param width number of columns
+     * @param height number of rows
+     * @param blocks the entity codes, row-major, in {@link BoardSnapshot} blocks
+     * @param blockStamps the board's write count for each block when it was copied
+     * @param wholeWriteStamp the board's count of writes spanning every block
+     * @param previous the plane of an earlier snapshot of the same board, whose words
+     *                 are reused for every block not written since, or null
+     * @return the plane
+     */
+    static BlockedCells build(int width, int height, ByteBuffer[] blocks, long[] blockStamps, long wholeWriteStamp,
+                              BlockedCells previous) {
+        boolean reusable = previous != null && previous.wholeWriteStamp == wholeWriteStamp;
+        long[][] words = new long[blocks.length][];
+        for (int block = 0; block < blocks.length; block++) {
+            if (reusable && previous.blockStamps[block] == blockStamps[block]) {
+                words[block] = previous.words[block];
+            } else {
+                int from = block << BoardSnapshot.BLOCK_BITS;
+                words[block] = wordsOf(blocks[block], Math.min(BoardSnapshot.BLOCK_SIZE, width * height - from));
+            }
+        }
+        return new BlockedCells(width, height, blockStamps, wholeWriteStamp, words);
+    }
+
+    private static long[] wordsOf(ByteBuffer block, int cells) {
+        long[] words = new long[(cells + 63) >>> 6];
+        for (int cell = 0; cell < cells; cell++) {
+            if (BLOCKING[block.get(cell)]) {
+                words[cell >>> 6] |= 1L << cell;
+            }
+        }
+        if ((cells & 63) != 0) {
+            words[words.length - 1] |= -1L << cells; // Past the last cell reads as blocked
+        }
+        return words;
+    }
+
+    private boolean hasBlockedCell(int row) {
+        int end = (row + 1) * width;
+        for (int from = row * width; from < end; from += 64) {
+            int length = end - from;
+            long range = length >= 64 ? -1L : (1L << length) - 1;
+            if ((window(from) & range) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets which of 64 consecutive cells block movement: bit {@code i} stands for the
+     * cell {@code from + i}. Cells before the first or past the last cell of the board
+     * read as blocked, so scans can run off the board without bounds checks.
+     *
+     * @param from the index of the first cell, which may lie outside the board
+     * @return the blocked cells among the 64
+     */
+    public long window(int from) {
+        int word = from >> 6;
+        int shift = from & 63;
+        long low = word(word);
+        return shift == 0 ? low : low >>> shift | word(word + 1) << (64 - shift);
+    }
+
+    private long word(int word) {
+        if (word < 0 || word >= wordCount) {
+            return -1L;
+        }
+        return words[word >>> WORD_BITS][word & WORD_MASK];
+    }
+
+    /**
+     * Checks whether a cell blocks movement.
+     *
+     * @param cell the cell index
+     * @return true for obstacles, enemies and cells outside the board
+     */
+    public boolean isBlocked(int cell) {
+        return (word(cell >> 6) >>> cell & 1) != 0;
+    }
+
+    /**
+     * Checks whether no cell of a row blocks movement. Rows outside the board hold no
+     * cells, so they are clear.
+     *
+     * @param row the row
+     * @return true if the row holds no obstacle or enemy
+     */
+    public boolean isRowClear(int row) {
+        return row < 0 || row >= height || (busyRows[row >>> 6] & 1L << row) == 0;
+    }
+}
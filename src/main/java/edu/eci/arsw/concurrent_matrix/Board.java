@@ -1,186 +1,610 @@
 package edu.eci.arsw.concurrent_matrix;
 
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
- * Represents the game board - a 10x10 matrix where entities interact.
+ * Represents the game board - a width x height matrix where entities interact.
+ * Cells are stored row-major in a flat {@link CellStore} (one byte per cell), where
+ * x is the row and y is the column, so a cell lives at index {@code x * width + y}.
  * Thread-safe implementation using ReadWriteLock for concurrent access.
+ * <p>
+ * Cell access goes through the protected lock hooks ({@link #readLock(int)},
+ * {@link #writeLock(int, int)}, {@link #lockAll()}...) so subclasses can swap the
+ * single board-wide lock for finer-grained schemes. Entity tracking (agent, enemies,
+ * phones) lives in a lock-free {@link EntityRegistry}: a move updates the tracking
+ * slots of the two cells it already holds, so movers never share a lock beyond the
+ * cell locks themselves.
+ * <p>
+ * Every cell write is mirrored into a {@link BitBoard} of per-type occupancy planes,
+ * which answers bulk queries (free cells, reachability, nearby enemies) word-wide.
+ * Boards that keep their cells off-heap can opt out of the planes.
+ * <p>
+ * Besides the {@link Position} API every cell query and move has a packed variant
+ * taking the flat cell index, which allocates nothing. Positions handed out by the
+ * board come from a per-board {@link PositionTable}, so each cell has one shared
+ * Position object instead of a new one per call.
+ * <p>
+ * {@link #snapshot()} copies the cells and tracked positions into an immutable
+ * {@link BoardSnapshot} tagged with the board version, which grows with every cell
+ * write. Planners and renderers work on the snapshot without holding any lock, and
+ * the last snapshot is handed out again for as long as the board has not changed.
+ * <p>
+ * Snapshots are copy-on-write per block of {@value BoardSnapshot#BLOCK_SIZE} cells:
+ * every write counts itself in the blocks it touches when it starts and again when it
+ * is done, a new snapshot only copies the blocks whose count moved since the previous
+ * one and shares the rest, and it is taken without any lock, seqlock-style, by
+ * checking afterwards that no write started or was still running in any block while
+ * it copied. Only after repeated failed attempts does it fall back to
+ * {@link #readLockAll()}, so readers do not stop writers.
  */
-public class Board {
+public class Board implements BoardView, AutoCloseable {
     public static final int SIZE = 10;
-    private final EntityType[][] grid;
+    private static final byte OBSTACLE = EntityType.OBSTACLE.code();
+    private static final int RANDOM_PLACEMENT_ATTEMPTS = 64;
+    private static final int WRITE_SLOT = 8; // Longs per block of write counts, a cache line
+    private static final int OPTIMISTIC_SNAPSHOTS = 4;
+
+    private final int width;
+    private final int height;
+    private final CellStore cells;
+    private final BitBoard bits;
     private final ReadWriteLock lock = new ReentrantReadWriteLock();
-    private final List<Position> phonePositions;
-    private Position agentPosition;
-    private final List<Position> enemyPositions;
+    private final EntityRegistry registry;
+    private final PositionTable positions;
+    private final LongAdder version = new LongAdder();
+    private final LongAdder obstacleVersion = new LongAdder();
+    private final int blockCount;
+    private final AtomicLongArray writes;
+    private final AtomicInteger waitingSnapshots = new AtomicInteger();
+    private final ByteBuffer[] uniformBlocks = new ByteBuffer[1 << Byte.SIZE];
+    private volatile BoardSnapshot lastSnapshot;
+    private volatile ConnectivityIndex connectivity;
 
     /**
-     * Creates a new empty board and initializes entity tracking lists.
+     * Creates a new empty board of the default {@link #SIZE} x {@link #SIZE} dimensions.
      */
     public Board() {
-        this.grid = new EntityType[SIZE][SIZE];
-        this.phonePositions = new ArrayList<>();
-        this.enemyPositions = new ArrayList<>();
+        this(SIZE, SIZE);
+    }
+
+    /**
+     * Creates a new empty board with the given dimensions and initializes entity tracking.
+     *
+     * @param width number of columns (range of y)
+     * @param height number of rows (range of x)
+     */
+    public Board(int width, int height) {
+        this(width, height, new HeapCellStore(checkedCellCount(width, height)));
+    }
+
+    /**
+     * Creates a new empty board over the given cell store.
+     *
+     * @param width number of columns (range of y)
+     * @param height number of rows (range of x)
+     * @param cells the cell storage, sized {@code width * height}
+     */
+    protected Board(int width, int height, CellStore cells) {
+        this(width, height, cells, true);
+    }
+
+    /**
+     * Creates a new empty board over the given cell store, optionally without
+     * occupancy bit planes.
+     *
+     * @param width number of columns (range of y)
+     * @param height number of rows (range of x)
+     * @param cells the cell storage, sized {@code width * height}
+     * @param bitPlanes whether to maintain a {@link BitBoard} alongside the cells
+     */
+    protected Board(int width, int height, CellStore cells, boolean bitPlanes) {
+        if (cells.size() != checkedCellCount(width, height)) {
+            throw new IllegalArgumentException("Cell store size " + cells.size()
+                                               + " does not match " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        this.cells = cells;
+        this.bits = bitPlanes ? new BitBoard(width, height) : null;
+        this.positions = new PositionTable(width, height);
+        this.registry = new EntityRegistry(positions);
+        this.blockCount = (cells.size() + BoardSnapshot.BLOCK_SIZE - 1) >>> BoardSnapshot.BLOCK_BITS;
+        // Per block: writes started, then writes completed; the last slot counts whole-board writes
+        this.writes = new AtomicLongArray((blockCount + 1) * WRITE_SLOT);
         initialize();
     }
 
+    /**
+     * Validates board dimensions and computes the number of cells.
+     *
+     * @param width number of columns
+     * @param height number of rows
+     * @return the cell count
+     */
+    protected static int checkedCellCount(int width, int height) {
+        if (width <= 0 || height <= 0 || (long) width * height > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid board dimensions: " + width + "x" + height);
+        }
+        return width * height;
+    }
+
     /**
      * Initializes the board with empty spaces.
+     * Callers must hold {@link #lockAll()} unless the board is still being constructed.
      */
     private void initialize() {
-        lock.writeLock().lock();
-        try {
-            for (int i = 0; i < SIZE; i++) {
-                for (int j = 0; j < SIZE; j++) {
-                    grid[i][j] = EntityType.EMPTY;
-                }
-            }
-        } finally {
-            lock.writeLock().unlock();
+        cells.fill(EntityType.EMPTY.code());
+        if (bits != null) {
+            bits.clear();
         }
+        version.increment();
+        obstacleVersion.increment();
+    }
+
+    /**
+     * Acquires shared access to the cell at the given index.
+     *
+     * @param index the cell index
+     */
+    protected void readLock(int index) {
+        lock.readLock().lock();
+    }
+
+    /**
+     * Releases shared access acquired with {@link #readLock(int)}.
+     *
+     * @param index the cell index
+     */
+    protected void readUnlock(int index) {
+        lock.readLock().unlock();
+    }
+
+    /**
+     * Acquires exclusive access to the two given cells (which may be the same cell).
+     * Implementations must lock in a fixed global order to avoid deadlocks.
+     *
+     * @param first the first cell index
+     * @param second the second cell index
+     */
+    protected void writeLock(int first, int second) {
+        lock.writeLock().lock();
+    }
+
+    /**
+     * Releases exclusive access acquired with {@link #writeLock(int, int)}.
+     *
+     * @param first the first cell index
+     * @param second the second cell index
+     */
+    protected void writeUnlock(int first, int second) {
+        lock.writeLock().unlock();
+    }
+
+    /**
+     * Acquires shared access to every cell of the board.
+     */
+    protected void readLockAll() {
+        lock.readLock().lock();
+    }
+
+    /**
+     * Releases shared access acquired with {@link #readLockAll()}.
+     */
+    protected void readUnlockAll() {
+        lock.readLock().unlock();
+    }
+
+    /**
+     * Acquires exclusive access to every cell of the board.
+     */
+    protected void lockAll() {
+        lock.writeLock().lock();
+    }
+
+    /**
+     * Releases exclusive access acquired with {@link #lockAll()}.
+     */
+    protected void unlockAll() {
+        lock.writeLock().unlock();
+    }
+
+    /**
+     * Gets the number of columns of the board.
+     *
+     * @return the board width
+     */
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the number of rows of the board.
+     *
+     * @return the board height
+     */
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Gets the occupancy bit planes mirroring this board's cells.
+     *
+     * @return the bit board, or null if this board does not keep bit planes
+     */
+    @Override
+    public BitBoard getBitBoard() {
+        return bits;
     }
 
     /**
      * Sets up the initial game state with random entity placement.
      */
     public void setupGame() {
-        lock.writeLock().lock();
+        lockAll();
+        beginWriteAll();
         try {
             Random random = new Random();
-            Set<Position> occupiedPositions = new HashSet<>();
 
             // Clear previous state
-            phonePositions.clear();
-            enemyPositions.clear();
-            agentPosition = null;
+            registry.clear();
             initialize();
 
             // Place obstacles (15-20% of the board)
-            int numObstacles = 15 + random.nextInt(6);
+            int numObstacles = (int) ((long) cells.size() * (15 + random.nextInt(6)) / 100);
             for (int i = 0; i < numObstacles; i++) {
-                Position pos = getRandomFreePosition(occupiedPositions, random);
-                if (pos != null) {
-                    setEntityUnsafe(pos, EntityType.OBSTACLE);
-                    occupiedPositions.add(pos);
+                int index = getRandomFreeIndex(random);
+                if (index >= 0) {
+                    setEntityUnsafe(index, EntityType.OBSTACLE);
                 }
             }
 
             // Place phones (2-3 phones)
             int numPhones = 2 + random.nextInt(2);
             for (int i = 0; i < numPhones; i++) {
-                Position pos = getRandomFreePosition(occupiedPositions, random);
-                if (pos != null) {
-                    setEntityUnsafe(pos, EntityType.PHONE);
-                    phonePositions.add(pos);
-                    occupiedPositions.add(pos);
+                int index = getRandomFreeIndex(random);
+                if (index >= 0) {
+                    setEntityUnsafe(index, EntityType.PHONE);
+                    registry.register(EntityType.PHONE, index);
                 }
             }
 
             // Place agent
-            Position agentPos = getRandomFreePosition(occupiedPositions, random);
-            if (agentPos != null) {
-                setEntityUnsafe(agentPos, EntityType.AGENT);
-                agentPosition = agentPos;
-                occupiedPositions.add(agentPos);
+            int agentIndex = getRandomFreeIndex(random);
+            if (agentIndex >= 0) {
+                setEntityUnsafe(agentIndex, EntityType.AGENT);
+                registry.register(EntityType.AGENT, agentIndex);
             }
 
             // Place enemies (2-4 enemies)
             int numEnemies = 2 + random.nextInt(3);
             for (int i = 0; i < numEnemies; i++) {
-                Position pos = getRandomFreePosition(occupiedPositions, random);
-                if (pos != null) {
-                    setEntityUnsafe(pos, EntityType.ENEMY);
-                    enemyPositions.add(pos);
-                    occupiedPositions.add(pos);
+                int index = getRandomFreeIndex(random);
+                if (index >= 0) {
+                    setEntityUnsafe(index, EntityType.ENEMY);
+                    registry.register(EntityType.ENEMY, index);
                 }
             }
         } finally {
-            lock.writeLock().unlock();
+            endWriteAll();
+            unlockAll();
         }
     }
 
     /**
-     * Gets a random free position on the board.
-     * 
-     * @param occupiedPositions set of already occupied positions
+     * Gets a random free cell on the board.
+     * Samples random cells first and only falls back to a full scan when the
+     * board is nearly full, so placement stays cheap on large boards.
+     *
      * @param random random number generator
-     * @return a free position or null if none available
-     */
-    private Position getRandomFreePosition(Set<Position> occupiedPositions, Random random) {
-        List<Position> freePositions = new ArrayList<>();
-        for (int i = 0; i < SIZE; i++) {
-            for (int j = 0; j < SIZE; j++) {
-                Position pos = new Position(i, j);
-                if (!occupiedPositions.contains(pos) && grid[i][j] == EntityType.EMPTY) {
-                    freePositions.add(pos);
-                }
+     * @return the index of a free cell, or -1 if none available
+     */
+    private int getRandomFreeIndex(Random random) {
+        byte empty = EntityType.EMPTY.code();
+        int size = cells.size();
+        for (int attempt = 0; attempt < RANDOM_PLACEMENT_ATTEMPTS; attempt++) {
+            int index = random.nextInt(size);
+            if (cells.get(index) == empty) {
+                return index;
             }
         }
-        return freePositions.isEmpty() ? null : freePositions.get(random.nextInt(freePositions.size()));
+
+        int offset = random.nextInt(size);
+        for (int i = 0; i < size; i++) {
+            int index = (offset + i) % size;
+            if (cells.get(index) == empty) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Computes the flat cell index of a position. The position must be valid.
+     *
+     * @param position the position
+     * @return the index of the cell in the flat grid
+     */
+    @Override
+    public int indexOf(Position position) {
+        return position.getX() * width + position.getY();
+    }
+
+    /**
+     * Computes the flat cell index of a row and column. The coordinates must be valid.
+     *
+     * @param x the row
+     * @param y the column
+     * @return the index of the cell in the flat grid
+     */
+    public int indexOf(int x, int y) {
+        return x * width + y;
+    }
+
+    /**
+     * Gets the number of cells of the board, one past the largest cell index.
+     *
+     * @return width times height
+     */
+    @Override
+    public int getCellCount() {
+        return cells.size();
+    }
+
+    /**
+     * Checks if a cell index lies within the board.
+     *
+     * @param index the cell index
+     * @return true if the index is valid
+     */
+    @Override
+    public boolean isValidIndex(int index) {
+        return index >= 0 && index < cells.size();
+    }
+
+    /**
+     * Gets the interned position of a cell. Repeated calls for the same cell return
+     * the same object.
+     *
+     * @param index the cell index, which must be valid
+     * @return the position of the cell
+     */
+    @Override
+    public Position positionAt(int index) {
+        return positions.get(index);
+    }
+
+    /**
+     * Reads the code of a cell without acquiring any lock.
+     * Callers are responsible for synchronization or for validating the read.
+     *
+     * @param index the cell index
+     * @return the entity code stored in the cell
+     */
+    protected final byte cellAt(int index) {
+        return cells.get(index);
+    }
+
+    /**
+     * Mirrors a cell change into the occupancy bit planes and then bumps the board
+     * version (and the obstacle version when an obstacle is placed or removed).
+     * Must be called after every write to a cell, by whoever performed the write.
+     *
+     * @param index the cell index
+     * @param oldCode the code the cell held before the write
+     * @param newCode the code written
+     */
+    protected final void cellChanged(int index, byte oldCode, byte newCode) {
+        mirrorCell(index, oldCode, newCode);
+        publishChange(oldCode == OBSTACLE || newCode == OBSTACLE);
+    }
+
+    /**
+     * Mirrors a cell change into the occupancy bit planes without touching the board
+     * version. Writers that are not excluded by the snapshot lock mirror their cells
+     * first and call {@link #publishChange(boolean)} once the whole write is final, so
+     * no snapshot taken half-way is ever tagged with the version of the finished write.
+     *
+     * @param index the cell index
+     * @param oldCode the code the cell held before the write
+     * @param newCode the code written
+     */
+    protected final void mirrorCell(int index, byte oldCode, byte newCode) {
+        if (bits != null) {
+            int x = index / width;
+            bits.update(x, index - x * width, oldCode, newCode);
+        }
     }
 
     /**
-     * Sets an entity at the specified position without acquiring locks.
+     * Checks whether a snapshot has given up copying optimistically and waits under
+     * {@link #readLockAll()}. Writers that the lock does not exclude start no new write
+     * while this holds, or back-to-back moves could fail its copies forever.
+     *
+     * @return true while a snapshot waits for writes to pause
+     */
+    protected final boolean isSnapshotWaiting() {
+        return waitingSnapshots.get() > 0;
+    }
+
+    /**
+     * Bumps the board version after a write whose cells, bit planes and tracking are
+     * all final.
+     *
+     * @param obstacles whether the write placed or removed an obstacle
+     */
+    protected final void publishChange(boolean obstacles) {
+        if (obstacles) {
+            obstacleVersion.increment();
+        }
+        version.increment();
+    }
+
+    /**
+     * Counts a write to one or two cells as started in their snapshot blocks. Every
+     * write must be bracketed by this and {@link #endWrite(int, int)}, including writes
+     * that turn out to change nothing, so snapshots can tell whether it overlapped them.
+     *
+     * @param first one cell the write may touch
+     * @param second the other cell (may be the same)
+     */
+    protected final void beginWrite(int first, int second) {
+        countWrite(first, second, 0);
+    }
+
+    /**
+     * Counts a write started with {@link #beginWrite(int, int)} as completed. Called
+     * once the cells, bit planes, tracking and version are all final.
+     *
+     * @param first one cell the write may touch
+     * @param second the other cell (may be the same)
+     */
+    protected final void endWrite(int first, int second) {
+        countWrite(first, second, 1);
+    }
+
+    private void countWrite(int first, int second, int counter) {
+        int firstBlock = first >>> BoardSnapshot.BLOCK_BITS;
+        int secondBlock = second >>> BoardSnapshot.BLOCK_BITS;
+        writes.getAndIncrement(firstBlock * WRITE_SLOT + counter);
+        if (secondBlock != firstBlock) {
+            writes.getAndIncrement(secondBlock * WRITE_SLOT + counter);
+        }
+    }
+
+    /**
+     * Counts a write that may touch any cell as started; used under {@link #lockAll()}.
+     */
+    private void beginWriteAll() {
+        writes.getAndIncrement(blockCount * WRITE_SLOT);
+    }
+
+    /**
+     * Counts a write started with {@link #beginWriteAll()} as completed.
+     */
+    private void endWriteAll() {
+        writes.getAndIncrement(blockCount * WRITE_SLOT + 1);
+    }
+
+    /**
+     * Sets an entity on a cell without acquiring locks.
      * Should only be called when write lock is already held.
-     * 
-     * @param position the position to set
+     *
+     * @param index the cell to set
      * @param entityType the entity type to place
      */
-    private void setEntityUnsafe(Position position, EntityType entityType) {
-        if (isValidPosition(position)) {
-            grid[position.getX()][position.getY()] = entityType;
-        }
+    private void setEntityUnsafe(int index, EntityType entityType) {
+        byte oldCode = cells.get(index);
+        cells.set(index, entityType.code());
+        cellChanged(index, oldCode, entityType.code());
     }
 
     /**
      * Sets an entity at the specified position (thread-safe).
-     * 
+     *
      * @param position the position to set
      * @param entityType the entity type to place
      */
     public void setEntity(Position position, EntityType entityType) {
-        lock.writeLock().lock();
+        if (!isValidPosition(position)) {
+            return;
+        }
+        int index = indexOf(position);
+        writeLock(index, index);
+        beginWrite(index, index);
         try {
-            setEntityUnsafe(position, entityType);
+            setEntityUnsafe(index, entityType);
         } finally {
-            lock.writeLock().unlock();
+            endWrite(index, index);
+            writeUnlock(index, index);
+        }
+    }
+
+    /**
+     * Places an entity at the specified position and registers it in the entity
+     * tracking lists, unlike {@link #setEntity} which only writes the cell (thread-safe).
+     * The target cell must be empty.
+     *
+     * @param position the position to place the entity at
+     * @param entityType the entity type to place
+     * @return true if the entity was placed
+     */
+    public boolean placeEntity(Position position, EntityType entityType) {
+        if (!isValidPosition(position) || entityType == EntityType.EMPTY) {
+            return false;
+        }
+        int index = indexOf(position);
+        writeLock(index, index);
+        beginWrite(index, index);
+        try {
+            if (cells.get(index) != EntityType.EMPTY.code() || !trackPlacement(index, entityType)) {
+                return false;
+            }
+            cells.set(index, entityType.code());
+            cellChanged(index, EntityType.EMPTY.code(), entityType.code());
+            return true;
+        } finally {
+            endWrite(index, index);
+            writeUnlock(index, index);
         }
     }
 
     /**
      * Gets the entity type at the specified position (thread-safe).
-     * 
+     *
      * @param position the position to check
      * @return the entity type at that position
      */
+    @Override
     public EntityType getEntity(Position position) {
-        lock.readLock().lock();
+        if (!isValidPosition(position)) {
+            return EntityType.OBSTACLE; // Treat out-of-bounds as obstacles
+        }
+        return getEntity(indexOf(position));
+    }
+
+    /**
+     * Gets the entity type on a cell (thread-safe).
+     *
+     * @param index the cell index
+     * @return the entity type on that cell, OBSTACLE if the index is out of bounds
+     */
+    @Override
+    public EntityType getEntity(int index) {
+        if (!isValidIndex(index)) {
+            return EntityType.OBSTACLE;
+        }
+        readLock(index);
         try {
-            if (!isValidPosition(position)) {
-                return EntityType.OBSTACLE; // Treat out-of-bounds as obstacles
-            }
-            return grid[position.getX()][position.getY()];
+            return EntityType.fromCode(cells.get(index));
         } finally {
-            lock.readLock().unlock();
+            readUnlock(index);
         }
     }
 
     /**
      * Checks if a position is valid (within board bounds).
-     * 
+     *
      * @param position the position to check
      * @return true if the position is valid
      */
+    @Override
     public boolean isValidPosition(Position position) {
-        return position.getX() >= 0 && position.getX() < SIZE &&
-               position.getY() >= 0 && position.getY() < SIZE;
+        return position.getX() >= 0 && position.getX() < height &&
+               position.getY() >= 0 && position.getY() < width;
     }
 
     /**
      * Checks if a position is free (empty space).
-     * 
+     *
      * @param position the position to check
      * @return true if the position is free
      */
@@ -188,133 +612,449 @@ public class Board {
         return getEntity(position) == EntityType.EMPTY;
     }
 
+    /**
+     * Checks if a cell is free (empty space).
+     *
+     * @param index the cell index
+     * @return true if the cell is free
+     */
+    public boolean isFree(int index) {
+        return getEntity(index) == EntityType.EMPTY;
+    }
+
     /**
      * Moves an entity from one position to another (thread-safe).
-     * 
+     *
      * @param from the source position
      * @param to the destination position
      * @return true if the move was successful
      */
     public boolean moveEntity(Position from, Position to) {
-        lock.writeLock().lock();
-        try {
-            if (!isValidPosition(from) || !isValidPosition(to)) {
-                return false;
-            }
-
-            EntityType entityType = grid[from.getX()][from.getY()];
-            if (entityType == EntityType.EMPTY || entityType == EntityType.OBSTACLE || entityType == EntityType.PHONE) {
-                return false;
-            }
+        if (!isValidPosition(from) || !isValidPosition(to)) {
+            return false;
+        }
+        return moveEntity(indexOf(from), indexOf(to));
+    }
 
-            EntityType targetEntity = grid[to.getX()][to.getY()];
-            if (targetEntity != EntityType.EMPTY && targetEntity != EntityType.PHONE) {
-                return false; // Can't move to occupied space (except phones)
+    /**
+     * Moves an entity from one cell to another (thread-safe).
+     *
+     * @param fromIndex the source cell
+     * @param toIndex the destination cell
+     * @return true if the move was successful
+     */
+    public boolean moveEntity(int fromIndex, int toIndex) {
+        if (!isValidIndex(fromIndex) || !isValidIndex(toIndex)) {
+            return false;
+        }
+        writeLock(fromIndex, toIndex);
+        beginWrite(fromIndex, toIndex);
+        try {
+            EntityType entityType = EntityType.fromCode(cells.get(fromIndex));
+            EntityType targetEntity = EntityType.fromCode(cells.get(toIndex));
+            if (!entityType.canEnter(targetEntity)) {
+                return false; // Only the agent may enter a phone
             }
 
-            // Update entity positions in tracking lists
-            if (entityType == EntityType.AGENT) {
-                agentPosition = to;
-            } else if (entityType == EntityType.ENEMY) {
-                enemyPositions.remove(from);
-                enemyPositions.add(to);
-            }
+            // Update the entity registry while both cells are held
+            trackMove(entityType, fromIndex, toIndex);
 
             // Move the entity
-            grid[from.getX()][from.getY()] = EntityType.EMPTY;
-            grid[to.getX()][to.getY()] = entityType;
+            cells.set(fromIndex, EntityType.EMPTY.code());
+            cells.set(toIndex, entityType.code());
+            cellChanged(fromIndex, entityType.code(), EntityType.EMPTY.code());
+            cellChanged(toIndex, targetEntity.code(), entityType.code());
 
             return true;
         } finally {
-            lock.writeLock().unlock();
+            endWrite(fromIndex, toIndex);
+            writeUnlock(fromIndex, toIndex);
         }
     }
 
     /**
-     * Gets all phone positions on the board.
-     * 
-     * @return list of phone positions
+     * Applies a batch of moves as one commit: the cells are locked once with
+     * {@link #lockAll()} for the whole batch, instead of once per move. Moves are
+     * applied in order and each is checked like {@link #moveEntity(int, int)}, with
+     * the mover also required to be of the intent's type; moves that are no longer
+     * valid are skipped.
+     *
+     * @param moves the moves, typically accepted by a {@link MoveResolver}
+     * @return the moves that were applied, in order
      */
-    public List<Position> getPhonePositions() {
-        lock.readLock().lock();
+    public List<MoveIntent> commitMoves(List<MoveIntent> moves) {
+        lockAll();
         try {
-            return new ArrayList<>(phonePositions);
+            return applyMoves(moves);
         } finally {
-            lock.readLock().unlock();
+            unlockAll();
         }
     }
 
     /**
-     * Gets the current agent position.
-     * 
-     * @return the agent position or null if no agent
+     * Applies a batch of moves like {@link #commitMoves} but without taking any lock.
+     * The batch still counts as a write in every snapshot block, so snapshots taken
+     * meanwhile are retried rather than torn. Only for a caller that is the board's
+     * sole writer for the duration of the batch, like the owner of a
+     * {@link SingleWriterBoard}.
+     *
+     * @param moves the moves to apply, in order
+     * @return the moves that were applied, in order
      */
-    public Position getAgentPosition() {
-        lock.readLock().lock();
+    protected final List<MoveIntent> applyMoves(List<MoveIntent> moves) {
+        List<MoveIntent> applied = new ArrayList<>(moves.size());
+        beginWriteAll();
         try {
-            return agentPosition;
+            for (MoveIntent move : moves) {
+                int fromIndex = move.getFrom();
+                int toIndex = move.getTo();
+                if (!isValidIndex(fromIndex) || !isValidIndex(toIndex)
+                        || cells.get(fromIndex) != move.getType().code()) {
+                    continue;
+                }
+                EntityType entityType = move.getType();
+                EntityType targetEntity = EntityType.fromCode(cells.get(toIndex));
+                if (!entityType.canEnter(targetEntity)) {
+                    continue;
+                }
+                trackMove(entityType, fromIndex, toIndex);
+                cells.set(fromIndex, EntityType.EMPTY.code());
+                cells.set(toIndex, entityType.code());
+                cellChanged(fromIndex, entityType.code(), EntityType.EMPTY.code());
+                cellChanged(toIndex, targetEntity.code(), entityType.code());
+                applied.add(move);
+            }
         } finally {
-            lock.readLock().unlock();
+            endWriteAll();
         }
+        return applied;
     }
 
     /**
-     * Gets all enemy positions on the board.
-     * 
-     * @return list of enemy positions
+     * Registers a newly placed entity in the entity registry.
+     * Only one agent can be tracked at a time.
+     *
+     * @param index the cell the entity was placed on
+     * @param entityType the entity type
+     * @return false if the entity could not be tracked
      */
+    protected boolean trackPlacement(int index, EntityType entityType) {
+        if (entityType == EntityType.OBSTACLE) {
+            return true; // Obstacles are part of the terrain, not tracked entities
+        }
+        return registry.register(entityType, index) != EntityRegistry.NONE;
+    }
+
+    /**
+     * Updates the entity registry after an entity moved, in constant time and without
+     * locking; the caller must own both cells. An entity written with {@link #setEntity}
+     * is not tracked yet; it starts being tracked from its destination.
+     *
+     * @param entityType the type of the moved entity
+     * @param fromIndex the source cell
+     * @param toIndex the destination cell
+     */
+    protected void trackMove(EntityType entityType, int fromIndex, int toIndex) {
+        if (registry.move(fromIndex, toIndex) == EntityRegistry.NONE) {
+            registry.register(entityType, toIndex);
+        }
+    }
+
+    /**
+     * Gets all phone positions on the board.
+     *
+     * @return unmodifiable snapshot of the phone positions
+     */
+    public List<Position> getPhonePositions() {
+        return registry.positionsOf(EntityType.PHONE);
+    }
+
+    /**
+     * Gets the current agent position.
+     *
+     * @return the agent position or null if no agent
+     */
+    public Position getAgentPosition() {
+        return registry.getAgentPosition();
+    }
+
+    /**
+     * Gets all enemy positions on the board, in enemy ID order. The list is an
+     * immutable snapshot shared between callers until an enemy moves.
+     *
+     * @return unmodifiable snapshot of the enemy positions
+     */
+    @Override
     public List<Position> getEnemyPositions() {
-        lock.readLock().lock();
-        try {
-            return new ArrayList<>(enemyPositions);
-        } finally {
-            lock.readLock().unlock();
+        return registry.positionsOf(EntityType.ENEMY);
+    }
+
+    /**
+     * Gets the number of enemies on the board without copying any positions.
+     *
+     * @return the enemy count
+     */
+    public int getEnemyCount() {
+        return registry.count(EntityType.ENEMY);
+    }
+
+    /**
+     * Gets the stable IDs of all enemies on the board.
+     *
+     * @return the enemy IDs, in placement order
+     */
+    public int[] getEnemyIds() {
+        return registry.idsOf(EntityType.ENEMY);
+    }
+
+    /**
+     * Gets the stable ID of the tracked entity at a position.
+     *
+     * @param position the position to check
+     * @return the entity ID, or {@link EntityRegistry#NONE} if no tracked entity is there
+     */
+    public int getEntityId(Position position) {
+        if (!isValidPosition(position)) {
+            return EntityRegistry.NONE;
         }
+        int index = indexOf(position);
+        return registry.idAt(index);
+    }
+
+    /**
+     * Gets the current position of a tracked entity.
+     *
+     * @param entityId the entity ID
+     * @return the entity position, or null if the ID is unknown
+     */
+    public Position getEntityPosition(int entityId) {
+        int index = registry.cellOf(entityId);
+        return index == EntityRegistry.NONE ? null : positions.get(index);
     }
 
     /**
      * Gets all valid adjacent positions to the given position.
-     * 
+     *
      * @param position the center position
      * @return list of valid adjacent positions
      */
     public List<Position> getAdjacentPositions(Position position) {
-        List<Position> adjacent = new ArrayList<>();
-        int[][] directions = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
-
-        for (int[] dir : directions) {
-            Position newPos = new Position(position.getX() + dir[0], position.getY() + dir[1]);
-            if (isValidPosition(newPos)) {
-                adjacent.add(newPos);
-            }
+        List<Position> adjacent = new ArrayList<>(4);
+        if (!isValidPosition(position)) {
+            return adjacent;
+        }
+        int[] neighbors = new int[4];
+        int count = getAdjacentIndices(indexOf(position), neighbors);
+        for (int i = 0; i < count; i++) {
+            adjacent.add(positions.get(neighbors[i]));
         }
-
         return adjacent;
     }
 
     /**
      * Displays the current state of the board to the console.
+     * Column headers show the last digit of the column index. The board is rendered
+     * from a {@link #snapshot()}, so no lock is held while printing.
      */
     public void display() {
-        lock.readLock().lock();
+        System.out.println(snapshot().render());
+    }
+
+    /**
+     * Gets the board version, which grows with every cell write.
+     *
+     * @return the current version
+     */
+    @Override
+    public long getVersion() {
+        return version.sum();
+    }
+
+    @Override
+    public long getObstacleVersion() {
+        return obstacleVersion.sum();
+    }
+
+    /**
+     * Gets the connected components of the free space. The index is rebuilt, from a
+     * snapshot, only after obstacles were placed or removed; until then every call and
+     * every snapshot share the same one.
+     *
+     * @return the connectivity index for the current obstacle layout
+     */
+    @Override
+    public ConnectivityIndex getConnectivityIndex() {
+        ConnectivityIndex index = connectivity;
+        if (index != null && index.getObstacleVersion() == obstacleVersion.sum()) {
+            return index;
+        }
+        index = snapshot().getConnectivityIndex();
+        connectivity = index;
+        return index;
+    }
+
+    /**
+     * Gets the cells that block movement, from a snapshot of the board.
+     *
+     * @return the blocked cells as of now
+     */
+    @Override
+    public BlockedCells getBlockedCells() {
+        return snapshot().getBlockedCells();
+    }
+
+    /**
+     * Takes an immutable snapshot of the cells and tracked entity positions.
+     * While the board has not changed since the last snapshot, that same snapshot is
+     * returned without copying anything; otherwise only the blocks written since are
+     * copied, and runs the store knows to be uniform are shared rather than copied.
+     * After obstacles changed, the new {@link ConnectivityIndex} is built from the
+     * snapshot's blocks on first use.
+     * <p>
+     * The copy is taken without locking and validated afterwards; a copy that a write
+     * overlapped is retried, and only after {@value #OPTIMISTIC_SNAPSHOTS} failed
+     * attempts under {@link #readLockAll()}. Movers that ignore that lock hold back
+     * meanwhile, see {@link #isSnapshotWaiting()}.
+     *
+     * @return a consistent snapshot of the board
+     */
+    public BoardSnapshot snapshot() {
+        BoardSnapshot cached = lastSnapshot;
+        if (cached != null && cached.getVersion() == version.sum()) {
+            return cached;
+        }
+        for (int attempt = 0; attempt < OPTIMISTIC_SNAPSHOTS; attempt++) {
+            BoardSnapshot snapshot = trySnapshot(lastSnapshot);
+            if (snapshot != null) {
+                return snapshot;
+            }
+            Thread.onSpinWait();
+        }
+        readLockAll();
+        waitingSnapshots.incrementAndGet();
         try {
-            System.out.println("\n" + "=".repeat(SIZE * 2 + 3));
-            System.out.print("  ");
-            for (int j = 0; j < SIZE; j++) {
-                System.out.print(j + " ");
+            BoardSnapshot snapshot = trySnapshot(lastSnapshot);
+            while (snapshot == null) {
+                // Only boards whose movers ignore the board lock, like AtomicBoard, get here
+                Thread.yield();
+                snapshot = trySnapshot(lastSnapshot);
             }
-            System.out.println();
-            
-            for (int i = 0; i < SIZE; i++) {
-                System.out.print(i + " ");
-                for (int j = 0; j < SIZE; j++) {
-                    System.out.print(grid[i][j].getSymbol() + " ");
-                }
-                System.out.println();
+            return snapshot;
+        } finally {
+            waitingSnapshots.decrementAndGet();
+            readUnlockAll();
+        }
+    }
+
+    /**
+     * Copies the blocks written since the previous snapshot, shares the others, and
+     * checks that no write started or was in flight in any block during the copy.
+     *
+     * @param previous the last published snapshot, or null
+     * @return the new snapshot, or null if a write overlapped the copy
+     */
+    private BoardSnapshot trySnapshot(BoardSnapshot previous) {
+        // The version is read first: a write it misses is still in flight and fails the check below
+        long current = version.sum();
+        long obstacles = obstacleVersion.sum();
+        if (previous != null && previous.getVersion() == current) {
+            return previous;
+        }
+        long wholeWrites = writes.get(blockCount * WRITE_SLOT + 1);
+        if (writes.get(blockCount * WRITE_SLOT) != wholeWrites) {
+            return null;
+        }
+        boolean reusable = previous != null && previous.getWholeWriteStamp() == wholeWrites;
+        ByteBuffer[] blocks = new ByteBuffer[blockCount];
+        long[] stamps = new long[blockCount];
+        for (int block = 0; block < blockCount; block++) {
+            long completed = writes.get(block * WRITE_SLOT + 1);
+            stamps[block] = completed;
+            if (reusable && previous.getBlockStamp(block) == completed) {
+                blocks[block] = previous.getBlock(block);
+            } else {
+                blocks[block] = copyBlock(block);
+            }
+        }
+        Position agent = registry.getAgentPosition();
+        List<Position> phones = registry.positionsOf(EntityType.PHONE);
+        List<Position> enemies = registry.positionsOf(EntityType.ENEMY);
+
+        VarHandle.acquireFence(); // The copies above must not move past the checks below
+        for (int block = 0; block < blockCount; block++) {
+            if (writes.get(block * WRITE_SLOT) != stamps[block]) {
+                return null;
+            }
+        }
+        if (writes.get(blockCount * WRITE_SLOT) != wholeWrites) {
+            return null;
+        }
+
+        // The index is built on first use; until obstacles change, snapshots pass it on
+        ConnectivityIndex index = connectivity;
+        if ((index == null || index.getObstacleVersion() != obstacles) && previous != null
+                && previous.getObstacleVersion() == obstacles) {
+            index = previous.getBuiltConnectivityIndex();
+        }
+        if (index != null && index.getObstacleVersion() != obstacles) {
+            index = null;
+        }
+        BoardSnapshot snapshot = new BoardSnapshot(width, height, current, obstacles, blocks, stamps, wholeWrites,
+                cells, positions, agent, phones, enemies, index, previous == null ? null : previous.getSharedBlockedCells());
+        BoardSnapshot last = lastSnapshot;
+        if (last == null || last.getVersion() < current) {
+            lastSnapshot = snapshot; // Benign race: a newer snapshot may be replaced by an older, still valid one
+        }
+        return snapshot;
+    }
+
+    /**
+     * Copies one block of cells for a snapshot. A block the store knows to be uniform,
+     * like an unallocated region of a {@link ChunkedCellStore}, is not copied: every
+     * snapshot shares one read-only block per code for those.
+     */
+    private ByteBuffer copyBlock(int block) {
+        int from = block << BoardSnapshot.BLOCK_BITS;
+        int length = Math.min(BoardSnapshot.BLOCK_SIZE, cells.size() - from);
+        int code = length == BoardSnapshot.BLOCK_SIZE ? cells.uniformCode(from, length) : -1;
+        if (code >= 0) {
+            ByteBuffer uniform = uniformBlocks[code];
+            if (uniform == null) {
+                byte[] filled = new byte[BoardSnapshot.BLOCK_SIZE];
+                Arrays.fill(filled, (byte) code);
+                uniform = ByteBuffer.wrap(filled).asReadOnlyBuffer();
+                uniformBlocks[code] = uniform; // Benign race: equal blocks
             }
-            System.out.println("=".repeat(SIZE * 2 + 3));
+            return uniform;
+        }
+        ByteBuffer copy = cells.allocate(length);
+        cells.copyTo(from, copy);
+        return copy;
+    }
+
+    /**
+     * Allocates a buffer for data derived from the cells in the same kind of memory as
+     * the cells, see {@link CellStore#allocate(int)}.
+     *
+     * @param bytes the buffer size
+     * @return a new zeroed buffer
+     */
+    ByteBuffer allocate(int bytes) {
+        return cells.allocate(bytes);
+    }
+
+    /**
+     * Releases the cell storage. Heap-backed boards hold nothing to release; off-heap
+     * boards free their memory immediately, so the board must not be used afterwards
+     * and no entity thread may still be running against it.
+     */
+    @Override
+    public void close() {
+        lockAll();
+        try {
+            cells.close();
         } finally {
-            lock.readLock().unlock();
+            unlockAll();
         }
     }
 }
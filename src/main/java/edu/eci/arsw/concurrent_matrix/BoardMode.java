@@ -0,0 +1,102 @@
+package edu.eci.arsw.concurrent_matrix;
+
+/**
+ * Enumeration of the available board implementations, each trading off
+ * synchronization cost differently.
+ */
+public enum BoardMode {
+    /**
+     * Single board-wide ReadWriteLock (the original implementation).
+     */
+    LOCKED {
+        @Override
+        public Board create(int width, int height) {
+            return new Board(width, height);
+        }
+    },
+
+    /**
+     * One ReadWriteLock per tile; moves only lock the tiles they touch.
+     */
+    STRIPED {
+        @Override
+        public Board create(int width, int height) {
+            return new StripedBoard(width, height);
+        }
+    },
+
+    /**
+     * Lock-free cells updated with compare-and-set.
+     */
+    ATOMIC {
+        @Override
+        public Board create(int width, int height) {
+            return new AtomicBoard(width, height);
+        }
+    },
+
+    /**
+     * StampedLock with optimistic reads for the query methods.
+     */
+    STAMPED {
+        @Override
+        public Board create(int width, int height) {
+            return new StampedBoard(width, height);
+        }
+    },
+
+    /**
+     * Board-wide lock over cells stored off-heap, freed when the board is closed.
+     */
+    OFF_HEAP {
+        @Override
+        public Board create(int width, int height) {
+            return new OffHeapBoard(width, height);
+        }
+    },
+
+    /**
+     * Board-wide lock over sparse 64x64 chunks allocated only where entities are.
+     * Only the cell grid is sparse: the indexes, flow field and planners of a game
+     * stay dense, so a game on this board uses more memory than on {@link #LOCKED}.
+     */
+    CHUNKED {
+        @Override
+        public Board create(int width, int height) {
+            return new ChunkedBoard(width, height);
+        }
+    },
+
+    /**
+     * Board-wide lock, with moves proposed against a read-only front buffer and
+     * committed in bulk once per tick, by the tick engine or a committer thread.
+     * With a committer, {@link Board#moveEntity(int, int)} blocks its caller until
+     * the next commit, so entity threads and scheduled tasks move at most once per
+     * commit period ({@code Game} commits every 50 ms) on top of their own move delay.
+     */
+    DOUBLE_BUFFERED {
+        @Override
+        public Board create(int width, int height) {
+            return new DoubleBufferedBoard(width, height);
+        }
+    },
+
+    /**
+     * Moves queued in a lock-free ring buffer and applied in batches by one owner thread.
+     */
+    SINGLE_WRITER {
+        @Override
+        public Board create(int width, int height) {
+            return new SingleWriterBoard(width, height);
+        }
+    };
+
+    /**
+     * Creates an empty board of this mode.
+     * 
+     * @param width number of columns
+     * @param height number of rows
+     * @return the new board
+     */
+    public abstract Board create(int width, int height);
+}
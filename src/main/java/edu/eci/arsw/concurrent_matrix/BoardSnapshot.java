@@ -0,0 +1,258 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Immutable copy of a board's cells and tracked entity positions, taken at one
+ * consistent point in time by {@link Board#snapshot()}. Readers can plan on or
+ * render a snapshot without any locking while writers keep moving entities on
+ * the live board.
+ * <p>
+ * Each snapshot carries the board version it was copied at; the version grows
+ * with every cell write, so two snapshots with the same version hold the same state.
+ * <p>
+ * The cells are kept in read-only blocks of {@value #BLOCK_SIZE} consecutive cells,
+ * each tagged with the board's write count for that block when it was copied, so the
+ * next snapshot can share every block that has not been written since.
+ */
+public final class BoardSnapshot implements BoardView {
+    /**
+     * Log2 of the number of cells per block.
+     */
+    static final int BLOCK_BITS = 12;
+
+    /**
+     * Number of cells per block; the last block of a board may be shorter.
+     */
+    static final int BLOCK_SIZE = 1 << BLOCK_BITS;
+
+    private static final int BLOCK_MASK = BLOCK_SIZE - 1;
+
+    private final int width;
+    private final int height;
+    private final long version;
+    private final long obstacleVersion;
+    private final ByteBuffer[] blocks;
+    private final long[] blockStamps;
+    private final long wholeWriteStamp;
+    private final CellStore memory;
+    private final PositionTable positions;
+    private final Position agentPosition;
+    private final List<Position> phonePositions;
+    private final List<Position> enemyPositions;
+    private volatile ConnectivityIndex connectivity;
+    private volatile BlockedCells blocked;
+    private final BlockedCells previousBlocked;
+
+    BoardSnapshot(int width, int height, long version, long obstacleVersion, ByteBuffer[] blocks, long[] blockStamps,
+                  long wholeWriteStamp, CellStore memory, PositionTable positions,
+                  Position agentPosition, List<Position> phonePositions, List<Position> enemyPositions,
+                  ConnectivityIndex connectivity, BlockedCells previousBlocked) {
+        this.width = width;
+        this.height = height;
+        this.version = version;
+        this.obstacleVersion = obstacleVersion;
+        this.blocks = blocks;
+        this.blockStamps = blockStamps;
+        this.wholeWriteStamp = wholeWriteStamp;
+        this.memory = memory;
+        this.positions = positions;
+        this.agentPosition = agentPosition;
+        this.phonePositions = phonePositions;
+        this.enemyPositions = enemyPositions;
+        this.connectivity = connectivity;
+        this.previousBlocked = previousBlocked;
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public int getCellCount() {
+        return width * height;
+    }
+
+    /**
+     * Gets the board version this snapshot was taken at.
+     *
+     * @return the version
+     */
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public long getObstacleVersion() {
+        return obstacleVersion;
+    }
+
+    /**
+     * Gets the connected components of the snapshot's free space, building them from
+     * the blocks on first use unless the board handed over an index for the same
+     * obstacle layout. Snapshots that are never asked pay nothing for it.
+     *
+     * @return the connectivity index
+     */
+    @Override
+    public ConnectivityIndex getConnectivityIndex() {
+        ConnectivityIndex index = connectivity;
+        if (index == null) {
+            index = ConnectivityIndex.build(width, height, blocks, obstacleVersion, memory);
+            connectivity = index; // Benign race: equal indexes
+        }
+        return index;
+    }
+
+    /**
+     * Gets the connectivity index only if it has already been built or handed over.
+     *
+     * @return the index, or null
+     */
+    ConnectivityIndex getBuiltConnectivityIndex() {
+        return connectivity;
+    }
+
+    /**
+     * Gets the cells that block movement, building the plane on first use from the
+     * blocks written since the previous snapshot's plane and sharing the rest.
+     *
+     * @return the blocked cells
+     */
+    @Override
+    public BlockedCells getBlockedCells() {
+        BlockedCells cells = blocked;
+        if (cells == null) {
+            cells = BlockedCells.build(width, height, blocks, blockStamps, wholeWriteStamp, previousBlocked);
+            blocked = cells; // Benign race: equal planes
+        }
+        return cells;
+    }
+
+    /**
+     * Gets the plane the next snapshot should take its unchanged blocks from: this
+     * snapshot's if it has been built, or else the one this snapshot would have used.
+     * Never a chain: a plane holds no reference to its snapshot or to older planes.
+     *
+     * @return the plane, or null
+     */
+    BlockedCells getSharedBlockedCells() {
+        BlockedCells cells = blocked;
+        return cells != null ? cells : previousBlocked;
+    }
+
+    @Override
+    public EntityType getEntity(int index) {
+        if (!isValidIndex(index)) {
+            return EntityType.OBSTACLE;
+        }
+        return EntityType.fromCode(codeAt(index));
+    }
+
+    /**
+     * Reads the entity code of a cell, which must be within the board.
+     *
+     * @param index the cell index
+     * @return the entity code
+     */
+    byte codeAt(int index) {
+        return blocks[index >>> BLOCK_BITS].get(index & BLOCK_MASK);
+    }
+
+    /**
+     * Gets one block of cells, to be shared by the next snapshot if it is unchanged.
+     *
+     * @param block the block number
+     * @return the block, which must not be written
+     */
+    ByteBuffer getBlock(int block) {
+        return blocks[block];
+    }
+
+    /**
+     * Gets the board's count of completed writes to a block when it was copied.
+     *
+     * @param block the block number
+     * @return the write count
+     */
+    long getBlockStamp(int block) {
+        return blockStamps[block];
+    }
+
+    /**
+     * Gets the board's count of completed whole-board writes when this snapshot was taken.
+     *
+     * @return the write count
+     */
+    long getWholeWriteStamp() {
+        return wholeWriteStamp;
+    }
+
+    @Override
+    public Position positionAt(int index) {
+        return positions.get(index);
+    }
+
+    /**
+     * Gets the agent position at the time of the snapshot.
+     *
+     * @return the agent position or null if there was no agent
+     */
+    public Position getAgentPosition() {
+        return agentPosition;
+    }
+
+    /**
+     * Gets the phone positions at the time of the snapshot.
+     *
+     * @return unmodifiable list of phone positions
+     */
+    public List<Position> getPhonePositions() {
+        return phonePositions;
+    }
+
+    /**
+     * Gets the enemy positions at the time of the snapshot, in enemy ID order.
+     *
+     * @return unmodifiable list of enemy positions
+     */
+    @Override
+    public List<Position> getEnemyPositions() {
+        return enemyPositions;
+    }
+
+    /**
+     * Renders the snapshot as the text printed by {@link Board#display()}.
+     * Column headers show the last digit of the column index.
+     *
+     * @return the rendered board
+     */
+    public String render() {
+        StringBuilder out = new StringBuilder((width * 2 + 8) * (height + 4));
+        out.append('\n').append("=".repeat(width * 2 + 3)).append('\n');
+        out.append("  ");
+        for (int j = 0; j < width; j++) {
+            out.append(j % 10).append(' ');
+        }
+        out.append('\n');
+
+        for (int i = 0; i < height; i++) {
+            out.append(i % 10).append(' ');
+            int rowStart = i * width;
+            for (int j = 0; j < width; j++) {
+                out.append(EntityType.fromCode(codeAt(rowStart + j)).getSymbol()).append(' ');
+            }
+            out.append('\n');
+        }
+        out.append("=".repeat(width * 2 + 3));
+        return out.toString();
+    }
+}
@@ -0,0 +1,172 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import java.util.List;
+
+/**
+ * Read-only view of a board's grid, shared by the live {@link Board} and its
+ * immutable {@link BoardSnapshot}s so that pathfinding can run on either.
+ * Cells are addressed row-major: x is the row, y the column, and a cell lives at
+ * index {@code x * width + y}.
+ */
+public interface BoardView {
+
+    /**
+     * Gets the number of columns of the board.
+     *
+     * @return the board width
+     */
+    int getWidth();
+
+    /**
+     * Gets the number of rows of the board.
+     *
+     * @return the board height
+     */
+    int getHeight();
+
+    /**
+     * Gets the entity type on a cell.
+     *
+     * @param index the cell index
+     * @return the entity type on that cell, OBSTACLE if the index is out of bounds
+     */
+    EntityType getEntity(int index);
+
+    /**
+     * Gets the position of a cell.
+     *
+     * @param index the cell index, which must be valid
+     * @return the position of the cell
+     */
+    Position positionAt(int index);
+
+    /**
+     * Gets the number of cells of the board, one past the largest cell index.
+     *
+     * @return width times height
+     */
+    default int getCellCount() {
+        return getWidth() * getHeight();
+    }
+
+    /**
+     * Gets the version of the board, which grows with every cell write. Two reads
+     * returning the same version saw the same cells.
+     *
+     * @return the version
+     */
+    long getVersion();
+
+    /**
+     * Gets the obstacle version of the board, which changes whenever an obstacle is
+     * placed or removed but not when entities move. Structures precomputed over the
+     * obstacle layout compare it to know when they are stale.
+     *
+     * @return the obstacle version
+     */
+    long getObstacleVersion();
+
+    /**
+     * Gets the connected components of the board's free space, as of its current
+     * obstacle layout.
+     *
+     * @return the connectivity index
+     */
+    ConnectivityIndex getConnectivityIndex();
+
+    /**
+     * Gets the cells that block movement, obstacles and enemies, as a bit plane that
+     * searches can scan 64 cells at a time.
+     *
+     * @return the blocked cells
+     */
+    BlockedCells getBlockedCells();
+
+    /**
+     * Gets the positions of the enemies on the board.
+     *
+     * @return unmodifiable list of enemy positions
+     */
+    List<Position> getEnemyPositions();
+
+    /**
+     * Gets the occupancy bit planes of the board, if it keeps any.
+     *
+     * @return the bit board, or null
+     */
+    default BitBoard getBitBoard() {
+        return null;
+    }
+
+    /**
+     * Gets the entity type at a position.
+     *
+     * @param position the position to check
+     * @return the entity type at that position, OBSTACLE if out of bounds
+     */
+    default EntityType getEntity(Position position) {
+        if (!isValidPosition(position)) {
+            return EntityType.OBSTACLE; // Treat out-of-bounds as obstacles
+        }
+        return getEntity(indexOf(position));
+    }
+
+    /**
+     * Checks if a position is within the board bounds.
+     *
+     * @param position the position to check
+     * @return true if the position is valid
+     */
+    default boolean isValidPosition(Position position) {
+        return position.getX() >= 0 && position.getX() < getHeight() &&
+               position.getY() >= 0 && position.getY() < getWidth();
+    }
+
+    /**
+     * Checks if a cell index lies within the board.
+     *
+     * @param index the cell index
+     * @return true if the index is valid
+     */
+    default boolean isValidIndex(int index) {
+        return index >= 0 && index < getCellCount();
+    }
+
+    /**
+     * Computes the flat cell index of a position. The position must be valid.
+     *
+     * @param position the position
+     * @return the index of the cell in the flat grid
+     */
+    default int indexOf(Position position) {
+        return position.getX() * getWidth() + position.getY();
+    }
+
+    /**
+     * Writes the valid 4-connected neighbours of a cell into a caller-owned buffer,
+     * in the order up, down, left, right.
+     *
+     * @param index the center cell, which must be valid
+     * @param out buffer of at least four entries receiving the neighbour indices
+     * @return the number of neighbours written
+     */
+    default int getAdjacentIndices(int index, int[] out) {
+        int width = getWidth();
+        int x = index / width;
+        int y = index - x * width;
+        int count = 0;
+        if (x > 0) {
+            out[count++] = index - width;
+        }
+        if (x < getHeight() - 1) {
+            out[count++] = index + width;
+        }
+        if (y > 0) {
+            out[count++] = index - 1;
+        }
+        if (y < width - 1) {
+            out[count++] = index + 1;
+        }
+        return count;
+    }
+}
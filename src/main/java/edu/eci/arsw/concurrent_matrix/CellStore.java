@@ -0,0 +1,108 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Storage backend for the cells of a {@link Board}: a fixed-size array of
+ * one-byte {@link EntityType} codes addressed by flat cell index.
+ * Implementations do no locking of their own; the board decides how access is synchronized.
+ */
+public interface CellStore extends AutoCloseable {
+
+    /**
+     * Gets the number of cells in this store.
+     * 
+     * @return the cell count
+     */
+    int size();
+
+    /**
+     * Reads the code stored at the given cell.
+     * 
+     * @param index the cell index
+     * @return the entity code
+     */
+    byte get(int index);
+
+    /**
+     * Writes a code into the given cell.
+     * 
+     * @param index the cell index
+     * @param code the entity code
+     */
+    void set(int index, byte code);
+
+    /**
+     * Writes the same code into every cell.
+     * 
+     * @param code the entity code
+     */
+    void fill(byte code);
+
+    /**
+     * Copies every cell, in index order, into the start of the target array.
+     * 
+     * @param target an array of at least {@link #size()} entries
+     */
+    default void copyTo(byte[] target) {
+        for (int i = 0, n = size(); i < n; i++) {
+            target[i] = get(i);
+        }
+    }
+
+    /**
+     * Copies a run of consecutive cells into a buffer, filling it from index 0 to its
+     * capacity. Neither the buffer's position nor its limit is used or changed.
+     * 
+     * @param from the index of the first cell to copy
+     * @param target the buffer to fill, no larger than the cells left from {@code from}
+     */
+    default void copyTo(int from, ByteBuffer target) {
+        for (int i = 0, n = target.capacity(); i < n; i++) {
+            target.put(i, get(from + i));
+        }
+    }
+
+    /**
+     * Allocates a buffer for data derived from the cells, such as snapshot blocks,
+     * connectivity labels and distance fields, in the same kind of memory as the cells:
+     * on the heap for heap stores, off-heap for off-heap ones, so boards kept off the
+     * heap do not bring board-sized heap arrays back through their derived data.
+     * 
+     * @param bytes the buffer size
+     * @return a new buffer of that capacity, filled with zeros
+     */
+    default ByteBuffer allocate(int bytes) {
+        return ByteBuffer.allocate(bytes);
+    }
+
+    /**
+     * Gives back a buffer from {@link #allocate(int)} that is no longer used, so stores
+     * that can free memory eagerly do not wait for the garbage collector. Heap stores
+     * ignore it.
+     * 
+     * @param buffer the buffer, which must not be used afterwards
+     */
+    default void release(ByteBuffer buffer) {
+    }
+
+    /**
+     * Gets the code shared by every cell of a run, when the store can tell without
+     * reading the cells, such as a run that lies in unallocated parts of a sparse store.
+     * Snapshots share one block for such runs instead of copying them.
+     * 
+     * @param from the index of the first cell of the run
+     * @param length the number of cells in the run
+     * @return the code of every cell in the run, or -1 if unknown or not uniform
+     */
+    default int uniformCode(int from, int length) {
+        return -1;
+    }
+
+    /**
+     * Releases any resources held by this store. Heap-backed stores hold none.
+     */
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,68 @@
+package edu.eci.arsw.concurrent_matrix;
+
+/**
+ * Board variant for mostly empty worlds. Cells live in a sparse
+ * {@link ChunkedCellStore} that only allocates the 64x64 chunks where something
+ * has been placed. Positions, neighbours and moves are addressed by the same flat
+ * index as every other board, so they work across chunk boundaries unchanged.
+ * <p>
+ * It keeps the board-wide locking of {@link Board} and, like {@link OffHeapBoard},
+ * skips the occupancy bit planes, which would be dense. Note that
+ * {@link #setupGame()} scatters obstacles over the whole board and so touches most
+ * chunks; the sparse layout pays off when entities are placed in clusters.
+ * <p>
+ * Only the raw cell grid is sparse. Everything a game builds on top of a board is
+ * dense, one entry per cell: the {@link ConnectivityIndex} (8 bytes per cell), the
+ * enemies' {@link FlowField} (12), every searching thread's workspace (about 20) and
+ * the agent's {@link DStarLitePlanner} (over 13), down to the {@link BlockedCells}
+ * plane Jump Point Search scans (an eighth). A whole game on a chunked board
+ * therefore takes more memory than on a plain {@link Board}, whose grid costs one byte
+ * per cell; this board saves memory where the cells themselves are stored and queried,
+ * not by fitting a game onto a board too large for a dense grid.
+ */
+public class ChunkedBoard extends Board {
+    private final ChunkedCellStore cells;
+
+    /**
+     * Creates a new empty chunked board.
+     *
+     * @param width number of columns
+     * @param height number of rows
+     */
+    public ChunkedBoard(int width, int height) {
+        this(width, height, new ChunkedCellStore(width, checkedHeight(width, height)));
+    }
+
+    private ChunkedBoard(int width, int height, ChunkedCellStore cells) {
+        super(width, height, cells, false);
+        this.cells = cells;
+    }
+
+    private static int checkedHeight(int width, int height) {
+        checkedCellCount(width, height);
+        return height;
+    }
+
+    /**
+     * Gets the number of chunks currently allocated.
+     *
+     * @return the chunk count
+     */
+    public int getChunkCount() {
+        return cells.getChunkCount();
+    }
+
+    /**
+     * Frees every chunk that has become empty again (thread-safe).
+     *
+     * @return the number of chunks freed
+     */
+    public int evictEmptyChunks() {
+        lockAll();
+        try {
+            return cells.evictEmptyChunks();
+        } finally {
+            unlockAll();
+        }
+    }
+}
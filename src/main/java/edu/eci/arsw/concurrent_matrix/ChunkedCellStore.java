@@ -0,0 +1,234 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Sparse cell store that splits the grid into {@value #CHUNK_SIZE} x {@value #CHUNK_SIZE}
+ * chunks. A chunk is only allocated the first time one of its cells is set to something
+ * other than the background code (the code of the last {@link #fill}), so empty regions
+ * of a mostly empty world cost nothing. Chunks whose cells have all returned to the
+ * background can be dropped with {@link #evictEmptyChunks()}.
+ * <p>
+ * Chunks are found through a two-level array index on the chunk number, row-major over
+ * the chunk grid: a directory of pages of {@value #PAGE_SIZE} chunk slots, each page
+ * allocated with the first chunk it holds. A lookup is two array reads, with no hashing
+ * and no boxed key.
+ * <p>
+ * Like the other stores it does no cell-level locking of its own; pages and chunks are
+ * installed with compare-and-set, which only keeps allocation safe when different
+ * cells are written concurrently.
+ */
+public class ChunkedCellStore implements CellStore {
+    /**
+     * Side length of a chunk, in cells.
+     */
+    public static final int CHUNK_SIZE = 64;
+
+    private static final int CHUNK_BITS = 6;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int PAGE_BITS = 10;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    private final int width;
+    private final int size;
+    private final int chunkColumns;
+    private final int pageCount;
+    private final AtomicInteger chunkCount = new AtomicInteger();
+    private volatile AtomicReferenceArray<AtomicReferenceArray<Chunk>> pages;
+    private volatile byte background;
+
+    /**
+     * Creates an empty sparse store for a board of the given dimensions.
+     *
+     * @param width number of board columns
+     * @param height number of board rows
+     */
+    public ChunkedCellStore(int width, int height) {
+        this.width = width;
+        this.size = width * height;
+        this.chunkColumns = (width + CHUNK_MASK) >>> CHUNK_BITS;
+        int chunks = chunkColumns * ((height + CHUNK_MASK) >>> CHUNK_BITS);
+        this.pageCount = (chunks + PAGE_MASK) >>> PAGE_BITS;
+        this.pages = new AtomicReferenceArray<>(pageCount);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public byte get(int index) {
+        int x = index / width;
+        int y = index - x * width;
+        Chunk chunk = chunkAt(chunkNumber(x, y));
+        return chunk == null ? background : chunk.cells[offset(x, y)];
+    }
+
+    @Override
+    public void set(int index, byte code) {
+        int x = index / width;
+        int y = index - x * width;
+        int number = chunkNumber(x, y);
+        Chunk chunk = chunkAt(number);
+        if (chunk == null) {
+            if (code == background) {
+                return;
+            }
+            chunk = install(number);
+        }
+        chunk.set(offset(x, y), code, background);
+    }
+
+    /**
+     * Resets every cell to the given code by dropping all chunks.
+     *
+     * @param code the entity code
+     */
+    @Override
+    public void fill(byte code) {
+        pages = new AtomicReferenceArray<>(pageCount);
+        chunkCount.set(0);
+        background = code;
+    }
+
+    @Override
+    public void copyTo(byte[] target) {
+        copyTo(0, ByteBuffer.wrap(target, 0, size).slice());
+    }
+
+    /**
+     * Copies a run of cells chunk row by chunk row: each stretch of a row that falls in
+     * an unallocated chunk is filled with the background code, the rest is copied.
+     */
+    @Override
+    public void copyTo(int from, ByteBuffer target) {
+        byte fill = background;
+        int end = from + target.capacity();
+        for (int index = from; index < end; ) {
+            int x = index / width;
+            int y = index - x * width;
+            int run = Math.min(CHUNK_SIZE - (y & CHUNK_MASK), Math.min(width - y, end - index));
+            Chunk chunk = chunkAt(chunkNumber(x, y));
+            if (chunk == null) {
+                for (int i = 0; i < run; i++) {
+                    target.put(index - from + i, fill);
+                }
+            } else {
+                target.put(index - from, chunk.cells, offset(x, y), run);
+            }
+            index += run;
+        }
+    }
+
+    /**
+     * Reports a run as uniform when every chunk it crosses is unallocated or holds only
+     * background cells, without reading any cell.
+     */
+    @Override
+    public int uniformCode(int from, int length) {
+        int end = from + length;
+        for (int index = from; index < end; ) {
+            int x = index / width;
+            int y = index - x * width;
+            Chunk chunk = chunkAt(chunkNumber(x, y));
+            if (chunk != null && chunk.occupied != 0) {
+                return -1;
+            }
+            index += Math.min(CHUNK_SIZE - (y & CHUNK_MASK), width - y);
+        }
+        return background;
+    }
+
+    /**
+     * Gets the number of chunks currently allocated.
+     *
+     * @return the chunk count
+     */
+    public int getChunkCount() {
+        return chunkCount.get();
+    }
+
+    /**
+     * Drops every chunk whose cells all hold the background code again.
+     * Callers must make sure no cell is being written concurrently.
+     *
+     * @return the number of chunks evicted
+     */
+    public int evictEmptyChunks() {
+        AtomicReferenceArray<AtomicReferenceArray<Chunk>> current = pages;
+        int evicted = 0;
+        for (int p = 0; p < pageCount; p++) {
+            AtomicReferenceArray<Chunk> page = current.get(p);
+            if (page == null) {
+                continue;
+            }
+            for (int slot = 0; slot < PAGE_SIZE; slot++) {
+                Chunk chunk = page.get(slot);
+                if (chunk != null && chunk.occupied == 0) {
+                    page.set(slot, null);
+                    evicted++;
+                }
+            }
+        }
+        chunkCount.addAndGet(-evicted);
+        return evicted;
+    }
+
+    private Chunk chunkAt(int number) {
+        AtomicReferenceArray<Chunk> page = pages.get(number >>> PAGE_BITS);
+        return page == null ? null : page.get(number & PAGE_MASK);
+    }
+
+    /**
+     * Installs a chunk, and its page if needed; a racing writer's chunk wins if it was first.
+     */
+    private Chunk install(int number) {
+        AtomicReferenceArray<AtomicReferenceArray<Chunk>> current = pages;
+        AtomicReferenceArray<Chunk> page = current.get(number >>> PAGE_BITS);
+        if (page == null) {
+            current.compareAndSet(number >>> PAGE_BITS, null, new AtomicReferenceArray<>(PAGE_SIZE));
+            page = current.get(number >>> PAGE_BITS);
+        }
+        Chunk chunk = new Chunk(background);
+        if (page.compareAndSet(number & PAGE_MASK, null, chunk)) {
+            chunkCount.incrementAndGet();
+            return chunk;
+        }
+        return page.get(number & PAGE_MASK);
+    }
+
+    private int chunkNumber(int x, int y) {
+        return (x >>> CHUNK_BITS) * chunkColumns + (y >>> CHUNK_BITS);
+    }
+
+    private static int offset(int x, int y) {
+        return ((x & CHUNK_MASK) << CHUNK_BITS) | (y & CHUNK_MASK);
+    }
+
+    /**
+     * One allocated chunk and the number of its cells that differ from the background.
+     */
+    private static final class Chunk {
+        final byte[] cells = new byte[CHUNK_SIZE * CHUNK_SIZE];
+        int occupied;
+
+        Chunk(byte background) {
+            Arrays.fill(cells, background);
+        }
+
+        void set(int offset, byte code, byte background) {
+            byte old = cells[offset];
+            if (old == background && code != background) {
+                occupied++;
+            } else if (old != background && code == background) {
+                occupied--;
+            }
+            cells[offset] = code;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+/**
+ * Connected components of a board's free space, taking only obstacles into account:
+ * every cell that is not an obstacle carries the label of its 4-connected component.
+ * Two cells in different components can never reach each other, whatever the moving
+ * entities do, so a reachability question with that answer becomes a label comparison.
+ * <p>
+ * An index is immutable and tagged with the obstacle version it was built at;
+ * {@link Board} builds a new one only after obstacles are placed or removed and shares
+ * it with its snapshots. Labels and the search queue live in buffers allocated by the
+ * board's {@link CellStore}, so the index of an off-heap board stays off-heap too;
+ * the queue is given back to the store as soon as the labels are complete.
+ */
+public final class ConnectivityIndex {
+    /**
+     * Label of obstacle cells, which belong to no component.
+     */
+    public static final int BLOCKED = -1;
+
+    private static final int UNLABELED = -2;
+    private static final byte OBSTACLE = EntityType.OBSTACLE.code();
+
+    private final IntBuffer labels;
+    private final int componentCount;
+    private final long obstacleVersion;
+
+    private ConnectivityIndex(IntBuffer labels, int componentCount, long obstacleVersion) {
+        this.labels = labels;
+        this.componentCount = componentCount;
+        this.obstacleVersion = obstacleVersion;
+    }
+
+    /**
+     * Labels the components of a grid of entity codes with breadth-first searches.
+     *
+     * @param width number of columns
+     * @param height number of rows
+     * @param blocks the entity codes, row-major, in {@link BoardSnapshot} blocks
+     * @param obstacleVersion the obstacle version of the board the cells come from
+     * @param memory the store that allocates the label and queue buffers, see {@link CellStore#allocate}
+     * @return the index
+     */
+    static ConnectivityIndex build(int width, int height, ByteBuffer[] blocks, long obstacleVersion,
+                                   CellStore memory) {
+        int cellCount = width * height;
+        IntBuffer labels = asInts(memory.allocate(Math.multiplyExact(cellCount, Integer.BYTES)));
+        for (int cell = 0; cell < cellCount; cell++) {
+            labels.put(cell, UNLABELED);
+        }
+        ByteBuffer queueMemory = memory.allocate(Math.multiplyExact(cellCount, Integer.BYTES));
+        IntBuffer queue = asInts(queueMemory);
+        int components = 0;
+        for (int seed = 0; seed < cellCount; seed++) {
+            if (labels.get(seed) != UNLABELED) {
+                continue;
+            }
+            if (isObstacle(blocks, seed)) {
+                labels.put(seed, BLOCKED);
+                continue;
+            }
+            int label = components++;
+            int head = 0;
+            int tail = 0;
+            labels.put(seed, label);
+            queue.put(tail++, seed);
+            while (head < tail) {
+                int cell = queue.get(head++);
+                int x = cell / width;
+                int y = cell - x * width;
+                if (x > 0) {
+                    tail = visit(cell - width, label, blocks, labels, queue, tail);
+                }
+                if (x < height - 1) {
+                    tail = visit(cell + width, label, blocks, labels, queue, tail);
+                }
+                if (y > 0) {
+                    tail = visit(cell - 1, label, blocks, labels, queue, tail);
+                }
+                if (y < width - 1) {
+                    tail = visit(cell + 1, label, blocks, labels, queue, tail);
+                }
+            }
+        }
+        memory.release(queueMemory);
+        return new ConnectivityIndex(labels, components, obstacleVersion);
+    }
+
+    private static int visit(int cell, int label, ByteBuffer[] blocks, IntBuffer labels, IntBuffer queue, int tail) {
+        if (labels.get(cell) == UNLABELED && !isObstacle(blocks, cell)) {
+            labels.put(cell, label);
+            queue.put(tail++, cell);
+        }
+        return tail;
+    }
+
+    private static IntBuffer asInts(ByteBuffer bytes) {
+        return bytes.order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+
+    private static boolean isObstacle(ByteBuffer[] blocks, int cell) {
+        return blocks[cell >>> BoardSnapshot.BLOCK_BITS].get(cell & (BoardSnapshot.BLOCK_SIZE - 1)) == OBSTACLE;
+    }
+
+    /**
+     * Gets the component of a cell.
+     *
+     * @param cell the cell index
+     * @return the component label, or {@link #BLOCKED} for obstacles and invalid cells
+     */
+    public int componentOf(int cell) {
+        return cell >= 0 && cell < labels.capacity() ? labels.get(cell) : BLOCKED;
+    }
+
+    /**
+     * Checks whether two cells lie in the same component, which is necessary for a
+     * path between them to exist.
+     *
+     * @param first one cell
+     * @param second the other cell
+     * @return true if neither is an obstacle and they share a component
+     */
+    public boolean isConnected(int first, int second) {
+        int label = componentOf(first);
+        return label != BLOCKED && label == componentOf(second);
+    }
+
+    /**
+     * Gets the number of components.
+     *
+     * @return the component count
+     */
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    /**
+     * Gets the obstacle version the index was built at.
+     *
+     * @return the obstacle version
+     */
+    public long getObstacleVersion() {
+        return obstacleVersion;
+    }
+}
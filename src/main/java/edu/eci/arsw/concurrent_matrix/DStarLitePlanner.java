@@ -0,0 +1,297 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Incremental multi-goal planner based on D* Lite. It searches backwards from every
+ * goal at once (each goal starts with rhs = 0) towards the planner's current start,
+ * and keeps g/rhs values and its open list between calls. When the start moves or a
+ * few cells change, only the vertices whose distances are affected are repaired,
+ * instead of searching again from scratch.
+ * <p>
+ * Changes are detected from the cells of the moving blockers (the enemies): the cells
+ * that gained or lost a blocker since the previous call are the only ones whose edge
+ * costs are updated. Obstacles change rarely, so a new
+ * {@link BoardView#getObstacleVersion() obstacle version}, like a change of goals or
+ * board size, starts the search over. Passability matches {@link AStarSearch}.
+ * <p>
+ * Under a {@link SearchBudget} the repair stops when the budget is spent and resumes
+ * on the next call, since the open list still holds every inconsistent vertex; the
+ * partial result follows the g-values repaired so far, if they already reach the start.
+ * <p>
+ * One planner belongs to one entity and is not thread-safe.
+ */
+public class DStarLitePlanner implements PathPlanner {
+    private static final int INF = Integer.MAX_VALUE / 4;
+
+    private final int[] neighbors = new int[4];
+    private final int[] successors = new int[4];
+    private BoardView view;
+    private int width;
+    private int cellCount = -1;
+    private int[] g;
+    private int[] rhs;
+    private boolean[] isGoal;
+    private IndexedMinHeap open;
+    private int[] goals = new int[0];
+    private int[] movers = new int[0];
+    private int start = -1;
+    private long obstacleVersion = -1;
+    private int km;
+    private int expansions;
+
+    /**
+     * Plans towards the nearest phone for the agent of a snapshot, treating enemies
+     * as the moving blockers.
+     *
+     * @param view the snapshot to plan on
+     * @return the path from the agent to the nearest reachable phone
+     */
+    @Override
+    public PathResult plan(BoardSnapshot view) {
+        return plan(view, SearchBudget.UNLIMITED);
+    }
+
+    @Override
+    public PathResult plan(BoardSnapshot view, SearchBudget budget) {
+        Position agent = view.getAgentPosition();
+        if (agent == null) {
+            return PathResult.notFound(-1, 0);
+        }
+        return plan(view, view.indexOf(agent), indicesOf(view, view.getPhonePositions()),
+                    indicesOf(view, view.getEnemyPositions()), budget);
+    }
+
+    /**
+     * Plans a shortest path from the start to the nearest reachable goal, reusing the
+     * search state of the previous call.
+     *
+     * @param view the board to plan on
+     * @param start the start cell
+     * @param goals the goal cells
+     * @param movers the cells currently occupied by moving blockers
+     * @return the path to the nearest goal, with the number of vertices expanded by this call
+     */
+    public PathResult plan(BoardView view, int start, int[] goals, int[] movers) {
+        return plan(view, start, goals, movers, SearchBudget.UNLIMITED);
+    }
+
+    /**
+     * Plans like {@link #plan(BoardView, int, int[], int[])}, stopping the repair once
+     * the budget is spent; the next call picks it up where it stopped.
+     *
+     * @param view the board to plan on
+     * @param start the start cell
+     * @param goals the goal cells
+     * @param movers the cells currently occupied by moving blockers
+     * @param budget the limit on expansions and time for this call
+     * @return the path to the nearest goal, or a partial path if the budget ran out
+     */
+    public PathResult plan(BoardView view, int start, int[] goals, int[] movers, SearchBudget budget) {
+        if (!view.isValidIndex(start)) {
+            return PathResult.notFound(start, 0);
+        }
+        goals = sortedValid(view, goals);
+        movers = sortedValid(view, movers);
+        this.view = view;
+        this.expansions = 0;
+        try {
+            if (view.getCellCount() != cellCount || view.getWidth() != width
+                    || view.getObstacleVersion() != obstacleVersion || !Arrays.equals(goals, this.goals)) {
+                reset(view, start, goals);
+            } else {
+                if (start != this.start) {
+                    km += distance(this.start, start);
+                    this.start = start;
+                }
+                updateChangedCells(this.movers, movers);
+            }
+            this.movers = movers;
+            if (!computeShortestPath(budget)) {
+                return g[start] < INF ? PathResult.partial(start, extractPath().toArray(), expansions)
+                                      : PathResult.partial(start, new int[0], expansions);
+            }
+            return extractPath();
+        } finally {
+            this.view = null;
+        }
+    }
+
+    /**
+     * Discards all search state and seeds the goals.
+     */
+    private void reset(BoardView view, int start, int[] goals) {
+        if (view.getCellCount() != cellCount) {
+            cellCount = view.getCellCount();
+            g = new int[cellCount];
+            rhs = new int[cellCount];
+            isGoal = new boolean[cellCount];
+            open = new IndexedMinHeap(cellCount);
+        } else {
+            open.clear();
+            Arrays.fill(isGoal, false);
+        }
+        width = view.getWidth();
+        obstacleVersion = view.getObstacleVersion();
+        Arrays.fill(g, INF);
+        Arrays.fill(rhs, INF);
+        this.goals = goals;
+        this.start = start;
+        km = 0;
+        for (int goal : goals) {
+            isGoal[goal] = true;
+            rhs[goal] = 0;
+            open.put(goal, key(goal));
+        }
+    }
+
+    /**
+     * Updates the vertices around every cell that gained or lost a blocker.
+     */
+    private void updateChangedCells(int[] before, int[] after) {
+        int i = 0;
+        int j = 0;
+        while (i < before.length || j < after.length) {
+            int changed;
+            if (j == after.length || (i < before.length && before[i] < after[j])) {
+                changed = before[i++];
+            } else if (i == before.length || after[j] < before[i]) {
+                changed = after[j++];
+            } else {
+                i++;
+                j++;
+                continue;
+            }
+            updateVertex(changed);
+            int count = view.getAdjacentIndices(changed, neighbors);
+            for (int n = 0; n < count; n++) {
+                updateVertex(neighbors[n]);
+            }
+        }
+    }
+
+    /**
+     * Expands vertices until the start is consistent or the budget is spent.
+     *
+     * @return false if the budget ran out first
+     */
+    private boolean computeShortestPath(SearchBudget budget) {
+        while (!open.isEmpty() && (open.peekKey() < key(start) || rhs[start] != g[start])) {
+            if (budget.isExhausted(expansions)) {
+                return false;
+            }
+            int u = open.peek();
+            long oldKey = open.peekKey();
+            long newKey = key(u);
+            expansions++;
+            if (oldKey < newKey) {
+                open.put(u, newKey);
+            } else if (g[u] > rhs[u]) {
+                g[u] = rhs[u];
+                open.remove(u);
+                int count = view.getAdjacentIndices(u, neighbors);
+                for (int n = 0; n < count; n++) {
+                    updateVertex(neighbors[n]);
+                }
+            } else {
+                g[u] = INF;
+                updateVertex(u);
+                int count = view.getAdjacentIndices(u, neighbors);
+                for (int n = 0; n < count; n++) {
+                    updateVertex(neighbors[n]);
+                }
+            }
+        }
+        return true;
+    }
+
+    private void updateVertex(int u) {
+        if (!isGoal[u]) {
+            rhs[u] = bestSuccessorCost(u);
+        }
+        if (g[u] != rhs[u]) {
+            open.put(u, key(u));
+        } else {
+            open.remove(u);
+        }
+    }
+
+    /**
+     * Cost of the cheapest way on from a cell: one step plus the neighbour's g.
+     */
+    private int bestSuccessorCost(int u) {
+        if (isBlocked(u)) {
+            return INF;
+        }
+        int best = INF;
+        int count = view.getAdjacentIndices(u, successors);
+        for (int n = 0; n < count; n++) {
+            int v = successors[n];
+            if (g[v] < INF && g[v] + 1 < best && !isBlocked(v)) {
+                best = g[v] + 1;
+            }
+        }
+        return best;
+    }
+
+    private boolean isBlocked(int cell) {
+        return !AStarSearch.isPassable(view.getEntity(cell));
+    }
+
+    private long key(int cell) {
+        int m = Math.min(g[cell], rhs[cell]);
+        if (m >= INF) {
+            return IndexedMinHeap.key(Integer.MAX_VALUE, INF);
+        }
+        return IndexedMinHeap.key(m + distance(start, cell) + km, m);
+    }
+
+    /**
+     * Follows decreasing g from the start down to a goal.
+     */
+    private PathResult extractPath() {
+        if (g[start] >= INF) {
+            return PathResult.notFound(start, expansions);
+        }
+        int[] path = new int[g[start]];
+        int length = 0;
+        int current = start;
+        while (!isGoal[current] && length < path.length) {
+            int next = -1;
+            int best = INF;
+            int count = view.getAdjacentIndices(current, successors);
+            for (int n = 0; n < count; n++) {
+                int v = successors[n];
+                if (g[v] < best && !isBlocked(v)) {
+                    best = g[v];
+                    next = v;
+                }
+            }
+            if (next < 0) {
+                break;
+            }
+            path[length++] = next;
+            current = next;
+        }
+        return PathResult.found(start, length == path.length ? path : Arrays.copyOf(path, length), expansions);
+    }
+
+    private int distance(int a, int b) {
+        int ax = a / width;
+        int bx = b / width;
+        return Math.abs(ax - bx) + Math.abs((a - ax * width) - (b - bx * width));
+    }
+
+    private static int[] sortedValid(BoardView view, int[] cells) {
+        return Arrays.stream(cells).filter(view::isValidIndex).sorted().distinct().toArray();
+    }
+
+    private static int[] indicesOf(BoardView view, List<Position> positions) {
+        int[] cells = new int[positions.size()];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = view.indexOf(positions.get(i));
+        }
+        return cells;
+    }
+}
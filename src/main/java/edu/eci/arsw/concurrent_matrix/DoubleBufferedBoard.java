@@ -0,0 +1,234 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Board moved in bulk, one commit per tick, instead of one locked write per move.
+ * <p>
+ * The front buffer is the board's current {@link BoardSnapshot}: read-only, shared,
+ * and read without any lock. During a tick any number of threads plan against it and
+ * {@link #propose} their {@link MoveIntent}s through a lock-free queue. {@link #commit()}
+ * then lets the {@link MoveResolver} settle the collisions deterministically (two
+ * enemies after one cell, an agent and an enemy trying to swap), writes every
+ * winning move into the cells, the back buffer, with one {@link #commitMoves} under
+ * a single acquisition of the board lock, and the next {@link #front()} is the
+ * snapshot of the result.
+ * <p>
+ * Exactly one driver commits. A {@link TickEngine} drives its board itself, once per
+ * tick. For entity threads, {@link #startCommitting} starts a committer thread that
+ * commits once per tick period, and from then on {@link #moveEntity(int, int)}
+ * proposes the move and waits for the commit that settles it, so the agent and enemy
+ * tasks run unchanged on this board. Until then, moves are applied directly with the
+ * board-wide lock of {@link Board}.
+ * <p>
+ * {@link #close()} stops the committer and refuses the proposals still pending.
+ */
+public class DoubleBufferedBoard extends Board {
+    private final ConcurrentLinkedQueue<Proposal> proposals = new ConcurrentLinkedQueue<>();
+    private volatile Thread committer;
+    private volatile boolean running;
+
+    /**
+     * Creates a new empty double-buffered board.
+     *
+     * @param width number of columns
+     * @param height number of rows
+     */
+    public DoubleBufferedBoard(int width, int height) {
+        super(width, height);
+    }
+
+    /**
+     * Gets the read-only front buffer that intents of the current tick are planned on.
+     *
+     * @return the current snapshot of the board
+     */
+    public BoardSnapshot front() {
+        return snapshot();
+    }
+
+    /**
+     * Proposes a move for the next commit. Safe to call from any thread; an entity
+     * should propose at most once per tick, against the current {@link #front()}.
+     *
+     * @param intent the move intent
+     * @return a future completed with true if the commit applied the move, false otherwise
+     */
+    public CompletableFuture<Boolean> propose(MoveIntent intent) {
+        Proposal proposal = new Proposal(intent);
+        proposals.add(proposal);
+        if (committer != null && !running) {
+            refusePending(); // The committer may have exited before this proposal was queued
+        }
+        return proposal.result;
+    }
+
+    /**
+     * Gets the number of intents waiting for the next commit.
+     *
+     * @return the pending intent count
+     */
+    public int getPendingCount() {
+        return proposals.size();
+    }
+
+    /**
+     * Resolves every pending intent against the front buffer and applies the winners
+     * in one bulk write. Once {@link #startCommitting} was called, only the committer
+     * thread may commit.
+     *
+     * @return the moves applied, in priority order
+     * @throws IllegalStateException if called by another thread than the committer
+     */
+    public synchronized List<MoveIntent> commit() {
+        Thread current = committer;
+        if (current != null && current != Thread.currentThread()) {
+            throw new IllegalStateException("Board is committed by " + current.getName());
+        }
+        List<Proposal> batch = new ArrayList<>();
+        List<MoveIntent> intents = new ArrayList<>();
+        for (Proposal proposal = proposals.poll(); proposal != null; proposal = proposals.poll()) {
+            batch.add(proposal);
+            intents.add(proposal.intent);
+        }
+        List<MoveIntent> applied;
+        try {
+            applied = commitMoves(MoveResolver.resolve(front(), intents));
+        } catch (RuntimeException e) {
+            for (Proposal proposal : batch) {
+                proposal.result.completeExceptionally(e);
+            }
+            throw e;
+        }
+        Set<MoveIntent> accepted = Collections.newSetFromMap(new IdentityHashMap<>());
+        accepted.addAll(applied);
+        for (Proposal proposal : batch) {
+            proposal.result.complete(accepted.contains(proposal.intent));
+        }
+        return applied;
+    }
+
+    /**
+     * Starts the committer thread, which commits the pending proposals once per tick
+     * period, and routes every later {@link #moveEntity(int, int)} through it.
+     *
+     * @param tickMillis the tick period in milliseconds
+     * @throws IllegalStateException if a committer was already started
+     */
+    public synchronized void startCommitting(long tickMillis) {
+        if (committer != null) {
+            throw new IllegalStateException("Committer already started");
+        }
+        long period = TimeUnit.MILLISECONDS.toNanos(Math.max(1, tickMillis));
+        Thread thread = new Thread(() -> commitLoop(period), "Board-Committer");
+        thread.setDaemon(true);
+        running = true;
+        committer = thread;
+        thread.start();
+    }
+
+    /**
+     * Moves an entity by proposing the move to the committer and waiting for the
+     * commit that settles it. Without a committer, or called by the committer itself,
+     * the move is applied directly. Agents go first, then the other entities by
+     * registry ID, as {@link MoveResolver} expects.
+     *
+     * @param fromIndex the source cell
+     * @param toIndex the destination cell
+     * @return true if the move was applied
+     */
+    @Override
+    public boolean moveEntity(int fromIndex, int toIndex) {
+        Thread current = committer;
+        if (current == null || current == Thread.currentThread()) {
+            return super.moveEntity(fromIndex, toIndex);
+        }
+        if (!running || !isValidIndex(fromIndex) || !isValidIndex(toIndex)) {
+            return false;
+        }
+        EntityType type = getEntity(fromIndex);
+        if (type != EntityType.AGENT && type != EntityType.ENEMY) {
+            return false;
+        }
+        int priority = type == EntityType.AGENT ? 0 : getEntityId(positionAt(fromIndex)) + 1;
+        return propose(new MoveIntent(priority, type, fromIndex, toIndex)).join();
+    }
+
+    /**
+     * Stops the committer thread, refuses the proposals still pending and releases
+     * the cells.
+     */
+    @Override
+    public void close() {
+        Thread current = committer;
+        if (current != null) {
+            running = false;
+            LockSupport.unpark(current);
+            try {
+                current.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            refusePending();
+        }
+        super.close();
+    }
+
+    /**
+     * Committer loop: one commit per tick period, skipped while nothing is pending.
+     */
+    private void commitLoop(long period) {
+        long next = System.nanoTime();
+        while (running) {
+            next += period;
+            long wait = next - System.nanoTime();
+            if (wait <= 0) {
+                next = System.nanoTime(); // Overran, no burst of catch-up ticks
+            }
+            while (running && wait > 0) {
+                LockSupport.parkNanos(this, wait);
+                wait = next - System.nanoTime();
+            }
+            if (running && !proposals.isEmpty()) {
+                try {
+                    commit();
+                } catch (RuntimeException e) {
+                    System.err.println("Error in board committer: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Completes every pending proposal with false once the committer has stopped.
+     */
+    private synchronized void refusePending() {
+        Thread current = committer;
+        if (current != null && current.isAlive()) {
+            return;
+        }
+        for (Proposal proposal = proposals.poll(); proposal != null; proposal = proposals.poll()) {
+            proposal.result.complete(false);
+        }
+    }
+
+    /**
+     * A pending intent and the future its proposer waits on.
+     */
+    private static final class Proposal {
+        final MoveIntent intent;
+        final CompletableFuture<Boolean> result = new CompletableFuture<>();
+
+        Proposal(MoveIntent intent) {
+            this.intent = intent;
+        }
+    }
+}
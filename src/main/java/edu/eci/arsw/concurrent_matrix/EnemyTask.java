@@ -0,0 +1,162 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import java.time.Duration;
+
+/**
+ * Behaviour of an enemy (B) that tries to catch the agent (A).
+ * Enemies of the same game share a {@link FlowField} towards the agent and step down
+ * it; without one, an enemy runs its own A* search, given half of its move delay
+ * before it settles for a partial path. Given a {@link PathCache} shared by those
+ * enemies, the search is skipped while a cached route to the agent's cell is still
+ * clear, and every complete route found is cached.
+ */
+public class EnemyTask implements EntityTask {
+    private final Board board;
+    private final GameState gameState;
+    private final int moveDelay;
+    private final int enemyId;
+    private final FlowField flowField;
+    private final PathCache pathCache;
+    private Position currentPosition;
+
+    /**
+     * Creates the task of one enemy.
+     *
+     * @param board the game board
+     * @param gameState the shared game state
+     * @param initialPosition the initial position of this enemy
+     * @param enemyId unique identifier for this enemy
+     * @param moveDelay delay between moves in milliseconds
+     * @param flowField the flow field shared by the game's enemies, or null to use A*
+     */
+    public EnemyTask(Board board, GameState gameState, Position initialPosition, int enemyId, int moveDelay,
+                     FlowField flowField) {
+        this(board, gameState, initialPosition, enemyId, moveDelay, flowField, null);
+    }
+
+    /**
+     * Creates the task of one enemy whose A* searches go through a path cache.
+     *
+     * @param board the game board
+     * @param gameState the shared game state
+     * @param initialPosition the initial position of this enemy
+     * @param enemyId unique identifier for this enemy
+     * @param moveDelay delay between moves in milliseconds
+     * @param flowField the flow field shared by the game's enemies, or null to use A*
+     * @param pathCache the path cache of the board used without a flow field, or null
+     */
+    public EnemyTask(Board board, GameState gameState, Position initialPosition, int enemyId, int moveDelay,
+                     FlowField flowField, PathCache pathCache) {
+        this.board = board;
+        this.gameState = gameState;
+        this.currentPosition = initialPosition;
+        this.enemyId = enemyId;
+        this.moveDelay = moveDelay;
+        this.flowField = flowField;
+        this.pathCache = pathCache;
+    }
+
+    @Override
+    public boolean step() {
+        if (gameState.isGameOver()) {
+            return false;
+        }
+        Position agentPosition = board.getAgentPosition();
+        if (agentPosition == null) {
+            // Agent is gone, game should be over
+            return false;
+        }
+
+        // Check if enemy is adjacent to agent or on its position (caught the agent)
+        if (isAdjacent(currentPosition, agentPosition) || currentPosition.equals(agentPosition)) {
+            return caught();
+        }
+
+        // Find best move towards agent
+        Position nextMove = flowField != null
+                ? flowField.nextMoveFrom(currentPosition)
+                : searchMoveTowards(agentPosition);
+        if (nextMove == null) {
+            return true;
+        }
+
+        // Check if moving to agent's position
+        if (nextMove.equals(agentPosition)) {
+            return caught();
+        }
+
+        // Move if target is empty or agent
+        EntityType targetEntity = board.getEntity(nextMove);
+        if ((targetEntity == EntityType.EMPTY || targetEntity == EntityType.AGENT)
+                && board.moveEntity(currentPosition, nextMove)) {
+            currentPosition = nextMove;
+
+            // Double check if we caught the agent after moving
+            if (currentPosition.equals(board.getAgentPosition())) {
+                return caught();
+            }
+        }
+        return true;
+    }
+
+    private boolean caught() {
+        gameState.setGameOver(true, "Enemy " + enemyId + " caught the agent! Enemies win!");
+        return false;
+    }
+
+    @Override
+    public String getName() {
+        return "Enemy " + enemyId;
+    }
+
+    @Override
+    public int getMoveDelay() {
+        return moveDelay;
+    }
+
+    /**
+     * Gets the enemy's unique identifier.
+     *
+     * @return the enemy ID
+     */
+    public int getEnemyId() {
+        return enemyId;
+    }
+
+    /**
+     * Follows a cached route to the agent if one is still clear, and otherwise searches
+     * for the next move towards the agent within half of the move delay.
+     *
+     * @param agentPosition the agent's current position
+     * @return the next position, or null if there is none
+     */
+    private Position searchMoveTowards(Position agentPosition) {
+        int start = board.indexOf(currentPosition);
+        if (pathCache != null) {
+            int next = pathCache.nextStep(board, start, new int[] {board.indexOf(agentPosition)});
+            if (next != PathCache.MISS) {
+                return board.positionAt(next);
+            }
+        }
+        SearchBudget budget = SearchBudget.ofTimeout(Duration.ofMillis(Math.max(1, moveDelay / 2)));
+        PathResult result = GameUtils.findPathTowardsAgent(board, currentPosition, agentPosition, budget);
+        if (pathCache != null) {
+            pathCache.put(board, start, result); // Partial results are not cached
+        }
+        int next = result.getNextStep();
+        return next < 0 ? null : board.positionAt(next);
+    }
+
+    /**
+     * Checks if two positions are adjacent (including diagonally).
+     *
+     * @param pos1 first position
+     * @param pos2 second position
+     * @return true if positions are adjacent
+     */
+    private static boolean isAdjacent(Position pos1, Position pos2) {
+        int dx = Math.abs(pos1.getX() - pos2.getX());
+        int dy = Math.abs(pos1.getY() - pos2.getY());
+        return (dx <= 1 && dy <= 1) && !(dx == 0 && dy == 0);
+    }
+}
@@ -0,0 +1,337 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tracks the agent, enemies and phones placed on a board under stable integer IDs.
+ * Moving an entity is O(1) and takes no lock: every ID has an atomic slot holding its
+ * cell, and every cell an atomic slot holding the ID standing on it, so a move is two
+ * slot writes and never scans a list nor touches state shared by other movers.
+ * Per-type position lists are handed out as immutable snapshots that are rebuilt at
+ * most once per change of that type, so repeated readers share a single copy.
+ * <p>
+ * Only registration and {@link #clear()} synchronize, on the registry itself. A cell's
+ * slot may only be written by the thread that owns that cell at the time, which is the
+ * thread holding the board's lock on it or, on an {@link AtomicBoard}, the thread whose
+ * compare-and-set claimed it. Reads never block; a position list read while entities
+ * move holds each entity's position as of the moment it was read.
+ * <p>
+ * Cell slots live in pages of {@value #CELL_PAGE_SIZE} cells, allocated the first time
+ * an entity enters one of their cells, so cells no entity ever visits cost nothing.
+ */
+public class EntityRegistry {
+    /**
+     * Returned when no entity matches a lookup.
+     */
+    public static final int NONE = -1;
+
+    private static final int ID_PAGE_BITS = 10;
+    private static final int ID_PAGE_SIZE = 1 << ID_PAGE_BITS;
+    private static final int ID_PAGE_MASK = ID_PAGE_SIZE - 1;
+    private static final int CELL_PAGE_BITS = 12;
+    private static final int CELL_PAGE_SIZE = 1 << CELL_PAGE_BITS;
+    private static final int CELL_PAGE_MASK = CELL_PAGE_SIZE - 1;
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(int[].class);
+    private static final EntityType[] TYPES = EntityType.values();
+
+    private final PositionTable positions;
+    private final LongAdder[] versions;
+    private final AtomicReferenceArray<Snapshot> snapshots;
+    private volatile State state;
+
+    /**
+     * Creates an empty registry for a board.
+     *
+     * @param positions the board's interned positions, used to turn cells into positions
+     */
+    public EntityRegistry(PositionTable positions) {
+        this.positions = positions;
+        this.versions = new LongAdder[TYPES.length];
+        for (int i = 0; i < versions.length; i++) {
+            versions[i] = new LongAdder();
+        }
+        this.snapshots = new AtomicReferenceArray<>(TYPES.length);
+        clear();
+    }
+
+    /**
+     * Removes every entity and restarts ID numbering.
+     * Callers must make sure no entity is being moved concurrently.
+     */
+    public final synchronized void clear() {
+        state = new State(positions.size());
+        for (LongAdder version : versions) {
+            version.increment();
+        }
+    }
+
+    /**
+     * Registers an entity placed on a cell and assigns it the next ID.
+     * Only one agent can be registered at a time.
+     *
+     * @param type the entity type
+     * @param cell the cell index the entity occupies
+     * @return the new entity ID, or {@link #NONE} if it could not be registered
+     */
+    public synchronized int register(EntityType type, int cell) {
+        State s = state;
+        if (type == EntityType.EMPTY || type == EntityType.OBSTACLE || s.idAt(cell) != NONE) {
+            return NONE;
+        }
+        if (type == EntityType.AGENT && s.agentId != NONE) {
+            return NONE;
+        }
+        int id = s.issued;
+        IdPage page = s.idPage(id);
+        page.types[id & ID_PAGE_MASK] = type;
+        SLOT.setRelease(page.cells, id & ID_PAGE_MASK, cell);
+        s.issued = id + 1; // Publishes the slots written above
+        if (type == EntityType.AGENT) {
+            s.agentId = id;
+        }
+        s.counts.incrementAndGet(type.ordinal());
+        s.setIdAt(cell, id);
+        versions[type.ordinal()].increment();
+        return id;
+    }
+
+    /**
+     * Moves the entity on one cell to another cell in constant time, without locking.
+     * The caller must own both cells.
+     *
+     * @param fromCell the cell the entity occupies
+     * @param toCell the cell it moved to
+     * @return the ID of the moved entity, or {@link #NONE} if no entity was on fromCell
+     */
+    public int move(int fromCell, int toCell) {
+        State s = state;
+        int id = s.idAt(fromCell);
+        if (id == NONE) {
+            return NONE;
+        }
+        s.setIdAt(toCell, id);
+        s.clearIdAt(fromCell, id);
+        IdPage page = s.pages[id >>> ID_PAGE_BITS];
+        SLOT.setRelease(page.cells, id & ID_PAGE_MASK, toCell);
+        versions[page.types[id & ID_PAGE_MASK].ordinal()].increment(); // After the slots, see positionsOf
+        return id;
+    }
+
+    /**
+     * Gets the ID of the entity on a cell.
+     *
+     * @param cell the cell index
+     * @return the entity ID, or {@link #NONE}
+     */
+    public int idAt(int cell) {
+        return state.idAt(cell);
+    }
+
+    /**
+     * Gets the cell occupied by an entity.
+     *
+     * @param id the entity ID
+     * @return the cell index, or {@link #NONE} if the ID is unknown
+     */
+    public int cellOf(int id) {
+        return state.cellOf(id);
+    }
+
+    /**
+     * Gets the type of an entity.
+     *
+     * @param id the entity ID
+     * @return the entity type, or null if the ID is unknown
+     */
+    public EntityType typeOf(int id) {
+        State s = state;
+        return id >= 0 && id < s.issued ? s.pages[id >>> ID_PAGE_BITS].types[id & ID_PAGE_MASK] : null;
+    }
+
+    /**
+     * Gets the ID of the agent.
+     *
+     * @return the agent ID, or {@link #NONE} if no agent is registered
+     */
+    public int getAgentId() {
+        return state.agentId;
+    }
+
+    /**
+     * Gets the position of the agent.
+     *
+     * @return the agent position, or null if no agent is registered
+     */
+    public Position getAgentPosition() {
+        State s = state;
+        int agent = s.agentId;
+        return agent == NONE ? null : toPosition(s.cellOf(agent));
+    }
+
+    /**
+     * Counts the registered entities of a type.
+     *
+     * @param type the entity type
+     * @return the entity count
+     */
+    public int count(EntityType type) {
+        return state.counts.get(type.ordinal());
+    }
+
+    /**
+     * Gets the IDs of all entities of a type, in registration order.
+     *
+     * @param type the entity type
+     * @return a new array of entity IDs
+     */
+    public int[] idsOf(EntityType type) {
+        State s = state;
+        int issued = s.issued;
+        int[] ids = new int[s.counts.get(type.ordinal())];
+        int n = 0;
+        for (int id = 0; id < issued && n < ids.length; id++) {
+            if (s.pages[id >>> ID_PAGE_BITS].types[id & ID_PAGE_MASK] == type) {
+                ids[n++] = id;
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Gets the positions of all entities of a type, in registration order. The list is
+     * an immutable snapshot shared by every caller until an entity of that type changes.
+     * <p>
+     * The list is tagged with the type version read before it is built, and movers bump
+     * that version only after updating their slot, so a list that raced with a move is
+     * rebuilt as soon as that move completes instead of being served in its place.
+     *
+     * @param type the entity type
+     * @return an unmodifiable list of positions
+     */
+    public List<Position> positionsOf(EntityType type) {
+        int t = type.ordinal();
+        long version = versions[t].sum();
+        Snapshot snapshot = snapshots.get(t);
+        if (snapshot != null && snapshot.version == version) {
+            return snapshot.positions;
+        }
+        State s = state;
+        int issued = s.issued;
+        List<Position> list = new ArrayList<>(s.counts.get(t));
+        for (int id = 0; id < issued; id++) {
+            if (s.pages[id >>> ID_PAGE_BITS].types[id & ID_PAGE_MASK] == type) {
+                list.add(toPosition(s.cellOf(id)));
+            }
+        }
+        snapshot = new Snapshot(version, List.copyOf(list));
+        snapshots.set(t, snapshot);
+        return snapshot.positions;
+    }
+
+    /**
+     * Gets the cached position list of a type if it is still current, without building
+     * or caching anything, so it can be called from an optimistic read that may be
+     * discarded.
+     *
+     * @param type the entity type
+     * @return the current immutable list, or null if it has to be rebuilt
+     */
+    public List<Position> cachedPositionsOf(EntityType type) {
+        int t = type.ordinal();
+        long version = versions[t].sum();
+        Snapshot snapshot = snapshots.get(t);
+        return snapshot != null && snapshot.version == version ? snapshot.positions : null;
+    }
+
+    private Position toPosition(int cell) {
+        return positions.get(cell);
+    }
+
+    /**
+     * The slots of one generation of the registry, replaced as a whole by {@link #clear()}.
+     * ID pages never move once created, so a mover writing into one can never lose its
+     * write to a concurrent growth of the page directory.
+     */
+    private static final class State {
+        final AtomicReferenceArray<int[]> cellPages;
+        final AtomicIntegerArray counts = new AtomicIntegerArray(TYPES.length);
+        volatile IdPage[] pages = new IdPage[1];
+        volatile int issued;
+        volatile int agentId = NONE;
+
+        State(int cellCount) {
+            this.cellPages = new AtomicReferenceArray<>((cellCount + CELL_PAGE_SIZE - 1) >>> CELL_PAGE_BITS);
+        }
+
+        /**
+         * Gets the page holding an ID about to be issued, creating it if needed.
+         * Called under the registry lock.
+         */
+        IdPage idPage(int id) {
+            int index = id >>> ID_PAGE_BITS;
+            IdPage[] current = pages;
+            if (index == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+            }
+            if (current[index] == null) {
+                current[index] = new IdPage();
+                pages = current;
+            }
+            return current[index];
+        }
+
+        int cellOf(int id) {
+            if (id < 0 || id >= issued) {
+                return NONE;
+            }
+            return (int) SLOT.getAcquire(pages[id >>> ID_PAGE_BITS].cells, id & ID_PAGE_MASK);
+        }
+
+        int idAt(int cell) {
+            int[] page = cellPages.get(cell >>> CELL_PAGE_BITS);
+            return page == null ? NONE : (int) SLOT.getAcquire(page, cell & CELL_PAGE_MASK) - 1;
+        }
+
+        void setIdAt(int cell, int id) {
+            int[] page = cellPages.get(cell >>> CELL_PAGE_BITS);
+            if (page == null) {
+                cellPages.compareAndSet(cell >>> CELL_PAGE_BITS, null, new int[CELL_PAGE_SIZE]);
+                page = cellPages.get(cell >>> CELL_PAGE_BITS);
+            }
+            SLOT.setRelease(page, cell & CELL_PAGE_MASK, id + 1); // Slots hold ID + 1, so 0 means none
+        }
+
+        void clearIdAt(int cell, int id) {
+            // Only clears the slot if the entity is still recorded there
+            SLOT.compareAndSet(cellPages.get(cell >>> CELL_PAGE_BITS), cell & CELL_PAGE_MASK, id + 1, 0);
+        }
+    }
+
+    /**
+     * Type and cell slots of {@value #ID_PAGE_SIZE} consecutive IDs.
+     */
+    private static final class IdPage {
+        final EntityType[] types = new EntityType[ID_PAGE_SIZE];
+        final int[] cells = new int[ID_PAGE_SIZE];
+    }
+
+    /**
+     * Immutable position list tagged with the type version it was built from.
+     */
+    private static final class Snapshot {
+        final long version;
+        final List<Position> positions;
+
+        Snapshot(long version, List<Position> positions) {
+            this.version = version;
+            this.positions = positions;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package edu.eci.arsw.concurrent_matrix;
+
+/**
+ * Runs the {@link EntityTask}s of a game. Implementations decide which threads the
+ * tasks run on; the game only starts tasks and stops them all at the end.
+ */
+public interface EntityRuntime {
+
+    /**
+     * Starts running a task.
+     *
+     * @param task the entity task
+     */
+    void start(EntityTask task);
+
+    /**
+     * Interrupts every running task and waits for them to finish.
+     *
+     * @param timeoutMillis the longest time to wait for all tasks, in milliseconds
+     * @return true if every task finished in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    boolean stop(long timeoutMillis) throws InterruptedException;
+
+    /**
+     * Gets the number of tasks started so far.
+     *
+     * @return the task count
+     */
+    int getTaskCount();
+}
@@ -0,0 +1,59 @@
+package edu.eci.arsw.concurrent_matrix;
+
+/**
+ * Behaviour of one game entity, independent of the thread that runs it. A task moves
+ * its entity one step at a time; {@link #run()} loops over the steps with the move
+ * delay in between, so a task can be handed to a platform thread, a virtual thread or
+ * any other {@link EntityRuntime}.
+ */
+public interface EntityTask extends Runnable {
+
+    /**
+     * Performs one move of the entity, checking the end-of-game conditions first.
+     *
+     * @return true if the entity keeps moving, false once the game is over for it
+     */
+    boolean step();
+
+    /**
+     * Gets the name of the entity, used for its thread and in messages.
+     *
+     * @return the entity name
+     */
+    String getName();
+
+    /**
+     * Gets the delay between two moves.
+     *
+     * @return the move delay in milliseconds
+     */
+    int getMoveDelay();
+
+    /**
+     * Handles an unexpected error that stopped the entity. By default it is reported
+     * and the game goes on.
+     *
+     * @param e the error
+     */
+    default void onError(Exception e) {
+        System.err.println("Error in " + getName() + " thread: " + e.getMessage());
+        e.printStackTrace();
+    }
+
+    /**
+     * Moves the entity until the game is over for it or the thread is interrupted,
+     * which is how runtimes stop their tasks.
+     */
+    @Override
+    default void run() {
+        try {
+            while (step()) {
+                Thread.sleep(getMoveDelay());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // The runtime is stopping, no need to report it per entity
+        } catch (Exception e) {
+            onError(e);
+        }
+    }
+}
@@ -29,6 +29,8 @@ public enum EntityType {
      */
     ENEMY('B');
 
+    private static final EntityType[] BY_CODE = values();
+
     private final char symbol;
 
     /**
@@ -49,6 +51,41 @@ public enum EntityType {
         return symbol;
     }
 
+    /**
+     * Gets the compact code used to store this entity type in a primitive grid.
+     * 
+     * @return the byte code of this entity type
+     */
+    public byte code() {
+        return (byte) ordinal();
+    }
+
+    /**
+     * Checks whether an entity of this type may step onto a cell holding another.
+     * The agent and enemies enter empty cells; only the agent may also enter a phone,
+     * which it picks up. This is the one move rule shared by every board and by
+     * {@link MoveResolver}.
+     *
+     * @param target the entity type on the destination cell
+     * @return true if the move is allowed
+     */
+    public boolean canEnter(EntityType target) {
+        if (this != AGENT && this != ENEMY) {
+            return false;
+        }
+        return target == EMPTY || (this == AGENT && target == PHONE);
+    }
+
+    /**
+     * Resolves an entity type from its compact grid code.
+     * 
+     * @param code the byte code produced by {@link #code()}
+     * @return the matching entity type
+     */
+    public static EntityType fromCode(byte code) {
+        return BY_CODE[code];
+    }
+
     @Override
     public String toString() {
         return String.valueOf(symbol);
@@ -0,0 +1,240 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+/**
+ * Distance field towards the agent, shared by every enemy of a game. One reverse
+ * breadth-first search from the agent fills a buffer with each cell's path length to
+ * the agent; an enemy then picks its next step by looking at its four neighbours, in
+ * O(1), instead of running its own A* search.
+ * <p>
+ * The field is recomputed only when the agent has moved, on a {@link BoardSnapshot},
+ * and published through a volatile reference, so readers never lock. Cells holding
+ * enemies receive a distance but are not expanded, so an enemy is never routed
+ * through another one as the board stood at computation time.
+ * <p>
+ * The distances and the search queue live in buffers allocated by the board's
+ * {@link CellStore}, off-heap for off-heap boards, and are allocated once: two
+ * distance buffers take turns, the one of the field before the published one being
+ * overwritten by the next computation. A reader still holding that older field
+ * notices, seqlock-style, that it was reclaimed during its read and reads again.
+ */
+public class FlowField {
+    /**
+     * Distance of cells from which the agent cannot be reached.
+     */
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private final Board board;
+    private volatile Field field;
+    private Field retired; // Guarded by this: the field before the published one
+    private IntBuffer queue; // Guarded by this
+
+    /**
+     * Creates the flow field of a board. Nothing is computed until it is first read.
+     *
+     * @param board the game board
+     */
+    public FlowField(Board board) {
+        this.board = board;
+    }
+
+    /**
+     * Gets the distance from a cell to the agent, refreshing the field if the agent moved.
+     *
+     * @param cell the cell index
+     * @return the path length to the agent, or {@link #UNREACHABLE}
+     */
+    public int distanceAt(int cell) {
+        while (true) {
+            Field current = refresh();
+            if (current == null) {
+                return UNREACHABLE;
+            }
+            int distance = current.distances.get(cell);
+            if (current.isIntact()) {
+                return distance;
+            }
+        }
+    }
+
+    /**
+     * Finds the best next step from a cell towards the agent: the neighbour with the
+     * smallest distance, provided it is closer than the cell itself. Neighbours are
+     * tried in the order up, down, left, right.
+     *
+     * @param cell the cell the enemy stands on
+     * @return the cell to move to, or -1 if no neighbour gets closer to the agent
+     */
+    public int nextStepFrom(int cell) {
+        if (!board.isValidIndex(cell)) {
+            return -1;
+        }
+        while (true) {
+            Field current = refresh();
+            if (current == null) {
+                return -1;
+            }
+            int best = nextStepFrom(current.distances, cell);
+            if (current.isIntact()) {
+                return best;
+            }
+        }
+    }
+
+    private int nextStepFrom(IntBuffer distances, int cell) {
+        int width = board.getWidth();
+        int x = cell / width;
+        int y = cell - x * width;
+        int best = -1;
+        int bestDistance = distances.get(cell);
+        if (x > 0 && distances.get(cell - width) < bestDistance) {
+            best = cell - width;
+            bestDistance = distances.get(best);
+        }
+        if (x < board.getHeight() - 1 && distances.get(cell + width) < bestDistance) {
+            best = cell + width;
+            bestDistance = distances.get(best);
+        }
+        if (y > 0 && distances.get(cell - 1) < bestDistance) {
+            best = cell - 1;
+            bestDistance = distances.get(best);
+        }
+        if (y < width - 1 && distances.get(cell + 1) < bestDistance) {
+            best = cell + 1;
+        }
+        return best;
+    }
+
+    /**
+     * Finds the best next position from a position towards the agent.
+     *
+     * @param position the position the enemy stands on
+     * @return the position to move to, or null if no neighbour gets closer to the agent
+     */
+    public Position nextMoveFrom(Position position) {
+        if (!board.isValidPosition(position)) {
+            return null;
+        }
+        int next = nextStepFrom(board.indexOf(position));
+        return next < 0 ? null : board.positionAt(next);
+    }
+
+    /**
+     * Gets the agent cell the published field was computed for.
+     *
+     * @return the agent cell, or -1 if no field has been computed
+     */
+    public int getAgentIndex() {
+        Field current = field;
+        return current == null ? -1 : current.agentIndex;
+    }
+
+    /**
+     * Returns the published field, recomputing it first if the agent has moved.
+     */
+    private Field refresh() {
+        Position agent = board.getAgentPosition();
+        if (agent == null) {
+            return null;
+        }
+        Field current = field;
+        if (current != null && current.agentIndex == board.indexOf(agent)) {
+            return current;
+        }
+        synchronized (this) {
+            BoardSnapshot view = board.snapshot();
+            agent = view.getAgentPosition();
+            current = field;
+            if (agent == null || (current != null && current.agentIndex == view.indexOf(agent))) {
+                return current;
+            }
+            Field next = new Field(view.indexOf(agent), reclaimBuffer(view.getCellCount()));
+            compute(view, next);
+            retired = current;
+            field = next;
+            return next;
+        }
+    }
+
+    /**
+     * Gets the distance buffer of the retired field, marking that field reclaimed
+     * before anything is written over it, or allocates one while there is none yet.
+     */
+    private IntBuffer reclaimBuffer(int cellCount) {
+        Field old = retired;
+        if (old == null || old.distances.capacity() != cellCount) {
+            return allocateInts(cellCount);
+        }
+        old.reclaimed = true;
+        VarHandle.storeStoreFence(); // Readers must see the flag before any overwritten distance
+        return old.distances;
+    }
+
+    private IntBuffer allocateInts(int count) {
+        return board.allocate(Math.multiplyExact(count, Integer.BYTES)).order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+
+    /**
+     * Runs the reverse breadth-first search from the agent over a snapshot.
+     */
+    private void compute(BoardSnapshot view, Field target) {
+        IntBuffer distances = target.distances;
+        int cellCount = distances.capacity();
+        for (int cell = 0; cell < cellCount; cell++) {
+            distances.put(cell, UNREACHABLE);
+        }
+        if (queue == null || queue.capacity() != cellCount) {
+            queue = allocateInts(cellCount);
+        }
+        int[] neighbors = new int[4];
+        int head = 0;
+        int tail = 0;
+        distances.put(target.agentIndex, 0);
+        queue.put(tail++, target.agentIndex);
+
+        while (head < tail) {
+            int current = queue.get(head++);
+            int distance = distances.get(current) + 1;
+            int count = view.getAdjacentIndices(current, neighbors);
+            for (int i = 0; i < count; i++) {
+                int neighbor = neighbors[i];
+                if (distances.get(neighbor) != UNREACHABLE) {
+                    continue;
+                }
+                EntityType type = view.getEntity(neighbor);
+                if (type == EntityType.ENEMY) {
+                    distances.put(neighbor, distance); // Reached, but enemies do not let paths through
+                } else if (type == EntityType.EMPTY || type == EntityType.PHONE) {
+                    distances.put(neighbor, distance);
+                    queue.put(tail++, neighbor);
+                }
+            }
+        }
+    }
+
+    /**
+     * Distance map for one agent cell, never written again once published, until the
+     * field is reclaimed for a later computation.
+     */
+    private static final class Field {
+        final int agentIndex;
+        final IntBuffer distances;
+        volatile boolean reclaimed;
+
+        Field(int agentIndex, IntBuffer distances) {
+            this.agentIndex = agentIndex;
+            this.distances = distances;
+        }
+
+        /**
+         * Checks, after reading distances, that the field was not reclaimed meanwhile.
+         */
+        boolean isIntact() {
+            VarHandle.loadLoadFence(); // The distance reads must not move past the flag read
+            return !reclaimed;
+        }
+    }
+}
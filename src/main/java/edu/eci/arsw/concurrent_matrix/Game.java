@@ -1,29 +1,91 @@
 package edu.eci.arsw.concurrent_matrix;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
 
 /**
  * Main game controller that manages the concurrent matrix simulation.
- * Coordinates the board, game state, and all entity threads.
+ * Coordinates the board, game state, and all entity threads, or a {@link TickEngine}
+ * moving every entity in fixed steps, depending on its {@link SimulationMode}.
  */
 public class Game {
     private static final int DISPLAY_INTERVAL = 2000; // 2 seconds
     private static final int MOVE_INTERVAL = 1000; // 1 second between moves
+    private static final int COMMIT_INTERVAL = 50; // Tick of a double-buffered board moved by entity tasks
     
-    private final Board board;
+    private final int width;
+    private final int height;
+    private final BoardMode boardMode;
+    private final PathfindingMode pathfindingMode;
+    private final SimulationMode simulationMode;
+    private Board board;
     private final GameState gameState;
-    private AgentThread agentThread;
-    private final List<EnemyThread> enemyThreads;
+    private EntityRuntime runtime;
+    private TickEngine tickEngine;
+    private Thread tickThread;
+    private boolean threadsStopped = true;
 
     /**
-     * Creates a new Game instance.
+     * Creates a new Game instance on a default-sized board.
      */
     public Game() {
-        this.board = new Board();
+        this(Board.SIZE, Board.SIZE);
+    }
+
+    /**
+     * Creates a new Game instance on a board of the given dimensions.
+     * 
+     * @param width number of board columns
+     * @param height number of board rows
+     */
+    public Game(int width, int height) {
+        this(width, height, BoardMode.LOCKED);
+    }
+
+    /**
+     * Creates a new Game instance on a board of the given dimensions and mode.
+     * 
+     * @param width number of board columns
+     * @param height number of board rows
+     * @param boardMode the board implementation to use
+     */
+    public Game(int width, int height, BoardMode boardMode) {
+        this(width, height, boardMode, PathfindingMode.INCREMENTAL);
+    }
+
+    /**
+     * Creates a new Game instance on a board of the given dimensions and mode,
+     * with the agent planning in the given pathfinding mode.
+     * 
+     * @param width number of board columns
+     * @param height number of board rows
+     * @param boardMode the board implementation to use
+     * @param pathfindingMode the algorithm the agent plans with
+     */
+    public Game(int width, int height, BoardMode boardMode, PathfindingMode pathfindingMode) {
+        this(width, height, boardMode, pathfindingMode, SimulationMode.THREADS);
+    }
+
+    /**
+     * Creates a new Game instance on a board of the given dimensions and mode,
+     * with the agent planning in the given pathfinding mode and entities driven
+     * by the given simulation mode.
+     * 
+     * @param width number of board columns
+     * @param height number of board rows
+     * @param boardMode the board implementation to use
+     * @param pathfindingMode the algorithm the agent plans with
+     * @param simulationMode per-entity threads or a fixed-step tick engine
+     */
+    public Game(int width, int height, BoardMode boardMode, PathfindingMode pathfindingMode,
+                SimulationMode simulationMode) {
+        this.width = width;
+        this.height = height;
+        this.boardMode = boardMode;
+        this.pathfindingMode = pathfindingMode;
+        this.simulationMode = simulationMode;
+        this.board = boardMode.create(width, height);
         this.gameState = new GameState();
-        this.enemyThreads = new ArrayList<>();
     }
 
     /**
@@ -57,6 +119,7 @@ public class Game {
         }
 
         System.out.println("Thanks for playing Concurrent Matrix Game!");
+        closeBoard();
         scanner.close();
     }
 
@@ -103,57 +166,130 @@ public class Game {
      * Starts all game threads (agent and enemies).
      */
     private void startThreads() {
-        // Start agent thread
-        agentThread = new AgentThread(board, gameState, MOVE_INTERVAL);
-        agentThread.start();
+        if (simulationMode == SimulationMode.TICKS) {
+            startTickEngine();
+            return;
+        }
 
-        // Start enemy threads
+        if (board instanceof DoubleBufferedBoard) {
+            // Entity moves become proposals, committed together once per tick
+            ((DoubleBufferedBoard) board).startCommitting(COMMIT_INTERVAL);
+        }
+        runtime = createRuntime();
+        runtime.start(new AgentTask(board, gameState, MOVE_INTERVAL, createAgentPlanner()));
+
+        // Start the enemies, all following one flow field towards the agent
+        FlowField flowField = new FlowField(board);
         List<Position> enemyPositions = board.getEnemyPositions();
         for (int i = 0; i < enemyPositions.size(); i++) {
-            EnemyThread enemyThread = new EnemyThread(board, gameState, 
-                                                    enemyPositions.get(i), i + 1, MOVE_INTERVAL);
-            enemyThreads.add(enemyThread);
-            enemyThread.start();
+            runtime.start(new EnemyTask(board, gameState, enemyPositions.get(i), i + 1, MOVE_INTERVAL, flowField));
         }
 
-        System.out.println("Started " + (1 + enemyThreads.size()) + " threads (1 agent + " 
-                         + enemyThreads.size() + " enemies)");
+        System.out.println("Started " + runtime.getTaskCount() + " entity tasks (1 agent + "
+                         + enemyPositions.size() + " enemies)");
+    }
+
+    /**
+     * Creates the agent's planner, with a path cache only for the pathfinding modes
+     * that follow cached routes. Enemies follow the flow field and need no cache.
+     */
+    private PathPlanner createAgentPlanner() {
+        return pathfindingMode.usesPathCache()
+                ? pathfindingMode.createPlanner(new PathCache())
+                : pathfindingMode.createPlanner();
     }
 
     /**
-     * Stops all game threads and waits for them to finish.
+     * Creates the runtime for the entity tasks: a scheduled pool or virtual threads
+     * when asked for, platform threads otherwise.
+     */
+    private EntityRuntime createRuntime() {
+        if (simulationMode == SimulationMode.SCHEDULED) {
+            return new ScheduledRuntime();
+        }
+        if (simulationMode == SimulationMode.VIRTUAL_THREADS) {
+            return new VirtualThreadRuntime();
+        }
+        return new PlatformThreadRuntime();
+    }
+
+    /**
+     * Starts a tick engine moving every entity once per move interval, driven by a
+     * single thread.
+     */
+    private void startTickEngine() {
+        tickEngine = new TickEngine(board, gameState, createAgentPlanner());
+        tickThread = new Thread(() -> {
+            try {
+                tickEngine.run(MOVE_INTERVAL);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                System.out.println("Tick engine was interrupted");
+            } catch (Exception e) {
+                System.err.println("Error in tick engine: " + e.getMessage());
+                e.printStackTrace();
+                gameState.setGameOver(true, "Tick engine error: " + e.getMessage());
+            }
+        }, "Tick-Engine");
+        tickThread.start();
+
+        System.out.println("Started tick engine (1 agent + " + board.getEnemyCount() + " enemies)");
+    }
+
+    /**
+     * Stops all game threads and waits for them to finish, recording whether they all did.
      */
     private void stopThreads() {
+        threadsStopped = false;
         try {
-            // Interrupt and wait for agent thread
-            if (agentThread != null) {
-                agentThread.interrupt();
-                agentThread.join(3000); // Wait up to 3 seconds
+            boolean stopped = true;
+            // Interrupt and wait for the tick engine
+            if (tickThread != null) {
+                tickThread.interrupt();
+                tickThread.join(3000);
+                tickEngine.close();
+                stopped = !tickThread.isAlive();
             }
 
-            // Interrupt and wait for enemy threads
-            for (EnemyThread enemyThread : enemyThreads) {
-                enemyThread.interrupt();
-                enemyThread.join(3000); // Wait up to 3 seconds
+            // Stop every entity with one wait of up to 3 seconds in total
+            if (runtime != null) {
+                stopped &= runtime.stop(3000);
             }
+            threadsStopped = stopped;
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             System.out.println("Thread stopping interrupted");
         }
     }
 
+    /**
+     * Releases the board's storage, but only once every game thread has stopped: an
+     * off-heap board frees its memory at once, under any thread still reading it.
+     * A board some thread may still use is left to the garbage collector instead.
+     */
+    private void closeBoard() {
+        if (threadsStopped) {
+            board.close();
+        } else {
+            System.out.println("Some game threads did not stop; leaving the board to the garbage collector");
+        }
+    }
+
     /**
      * Displays current game statistics.
      */
     private void displayGameStats() {
         Position agentPos = board.getAgentPosition();
         List<Position> phonePositions = board.getPhonePositions();
-        List<Position> enemyPositions = board.getEnemyPositions();
 
         System.out.println("Game Stats:");
         System.out.println("  Agent position: " + (agentPos != null ? agentPos : "Not found"));
         System.out.println("  Phones: " + phonePositions.size() + " remaining");
-        System.out.println("  Enemies: " + enemyPositions.size() + " active");
+        System.out.println("  Enemies: " + board.getEnemyCount() + " active");
+        if (tickEngine != null) {
+            System.out.printf("  Ticks: %d (%.0f ticks/s)%n", tickEngine.getTickCount(),
+                              tickEngine.getTicksPerSecond());
+        }
         
         if (agentPos != null && !phonePositions.isEmpty()) {
             Position nearestPhone = GameUtils.findNextMoveTowards(board, agentPos, phonePositions) != null ? 
@@ -165,22 +301,50 @@ public class Game {
     }
 
     /**
-     * Resets the game for a new round.
+     * Resets the game for a new round, releasing the previous board's storage
+     * and allocating a fresh board of the same size and mode.
      */
     private void resetGame() {
         gameState.reset();
-        enemyThreads.clear();
-        agentThread = null;
+        runtime = null;
+        tickEngine = null;
+        tickThread = null;
+        closeBoard();
+        board = boardMode.create(width, height);
         System.out.println("\nGame reset. Starting new game...");
     }
 
     /**
      * Main method to start the game.
      * 
-     * @param args command line arguments (not used)
+     * @param args optional board width, height, board mode, pathfinding mode and simulation mode
      */
     public static void main(String[] args) {
-        Game game = new Game();
+        Game game = fromArgs(args);
         game.run();
     }
+
+    /**
+     * Creates a game from command line arguments of the form
+     * {@code [width height [boardMode [pathfindingMode [simulationMode]]]]}.
+     * Falls back to the default board size and modes when they are not given.
+     * 
+     * @param args command line arguments
+     * @return the configured game
+     */
+    public static Game fromArgs(String[] args) {
+        if (args.length >= 2) {
+            try {
+                BoardMode mode = args.length >= 3 ? BoardMode.valueOf(args[2].toUpperCase()) : BoardMode.LOCKED;
+                PathfindingMode pathfinding = args.length >= 4
+                        ? PathfindingMode.valueOf(args[3].toUpperCase()) : PathfindingMode.INCREMENTAL;
+                SimulationMode simulation = args.length >= 5
+                        ? SimulationMode.valueOf(args[4].toUpperCase()) : SimulationMode.THREADS;
+                return new Game(Integer.parseInt(args[0]), Integer.parseInt(args[1]), mode, pathfinding, simulation);
+            } catch (IllegalArgumentException e) {
+                System.out.println("Invalid game arguments, using default " + Board.SIZE + "x" + Board.SIZE + " board");
+            }
+        }
+        return new Game();
+    }
 }
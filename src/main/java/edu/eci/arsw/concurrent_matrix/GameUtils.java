@@ -1,49 +1,107 @@
 package edu.eci.arsw.concurrent_matrix;
 
-import java.util.*;
+import java.util.List;
 
 /**
  * Utility class containing game logic, including A* pathfinding algorithm.
+ * Searches run on any {@link BoardView}: the live board, or a {@link BoardSnapshot}
+ * when the whole search must see one consistent state.
  */
 public class GameUtils {
 
     /**
-     * Finds the next move towards the closest goal using A* pathfinding algorithm.
+     * Finds the next move towards the nearest reachable goal, measured by path length.
+     * A goal that is close in a straight line but walled off does not hide a reachable one.
      * 
      * @param board the game board
      * @param start the starting position
      * @param goals list of goal positions
      * @return the next position to move to, or null if no path exists
      */
-    public static Position findNextMoveTowards(Board board, Position start, List<Position> goals) {
-        if (goals.isEmpty()) {
+    public static Position findNextMoveTowards(BoardView board, Position start, List<Position> goals) {
+        int next = findPathToNearestGoal(board, start, goals).getNextStep();
+        return next < 0 ? null : board.positionAt(next);
+    }
+
+    /**
+     * Finds the next move towards the nearest reachable goal, answering from a path cache
+     * when it holds a still-valid route from the start to one of the goals and caching
+     * the searched route otherwise.
+     *
+     * @param board the game board
+     * @param start the starting position
+     * @param goals list of goal positions
+     * @param cache the path cache of this board
+     * @return the next position to move to, or null if no path exists
+     */
+    public static Position findNextMoveTowards(BoardView board, Position start, List<Position> goals,
+                                               PathCache cache) {
+        if (!board.isValidPosition(start)) {
             return null;
         }
-
-        Position closestGoal = findClosestGoal(start, goals);
-        return findNextMoveAStar(board, start, closestGoal);
+        int startIndex = board.indexOf(start);
+        int[] goalIndices = new int[goals.size()];
+        for (int i = 0; i < goalIndices.length; i++) {
+            Position goal = goals.get(i);
+            goalIndices[i] = board.isValidPosition(goal) ? board.indexOf(goal) : -1;
+        }
+        int next = cache.nextStep(board, startIndex, goalIndices);
+        if (next == PathCache.MISS) {
+            PathResult result = NearestGoalSearch.find(board, startIndex, goalIndices);
+            cache.put(board, startIndex, result);
+            next = result.getNextStep();
+        }
+        return next < 0 ? null : board.positionAt(next);
     }
 
     /**
-     * Finds the closest goal from the given start position.
+     * Finds a shortest path to the nearest reachable goal in a single multi-goal search,
+     * which answers reachability, the nearest goal and the first step at once.
      * 
+     * @param board the game board
      * @param start the starting position
      * @param goals list of goal positions
-     * @return the closest goal position
+     * @return the path to the nearest goal, not found if no goal is reachable
      */
-    private static Position findClosestGoal(Position start, List<Position> goals) {
-        Position closest = goals.get(0);
-        int minDistance = start.distanceTo(closest);
+    public static PathResult findPathToNearestGoal(BoardView board, Position start, List<Position> goals) {
+        return findPathToNearestGoal(board, start, goals, SearchBudget.UNLIMITED);
+    }
 
-        for (Position goal : goals) {
-            int distance = start.distanceTo(goal);
-            if (distance < minDistance) {
-                minDistance = distance;
-                closest = goal;
-            }
+    /**
+     * Finds a shortest path to the nearest reachable goal within a search budget.
+     * When the budget runs out first, the result is {@link PathResult#isPartial() partial}
+     * and its first step heads for the most promising frontier cell.
+     *
+     * @param board the game board
+     * @param start the starting position
+     * @param goals list of goal positions
+     * @param budget the limit on expansions and time
+     * @return the path to the nearest goal, a partial path, or not found if no goal is reachable
+     */
+    public static PathResult findPathToNearestGoal(BoardView board, Position start, List<Position> goals,
+                                                   SearchBudget budget) {
+        if (!board.isValidPosition(start)) {
+            return PathResult.notFound(-1, 0);
+        }
+        int[] goalIndices = new int[goals.size()];
+        for (int i = 0; i < goalIndices.length; i++) {
+            Position goal = goals.get(i);
+            goalIndices[i] = board.isValidPosition(goal) ? board.indexOf(goal) : -1;
         }
+        return NearestGoalSearch.find(board, board.indexOf(start), goalIndices, budget);
+    }
 
-        return closest;
+    /**
+     * Finds the next move towards the nearest reachable goal using packed cell indices.
+     * Allocation-light counterpart of {@link #findNextMoveTowards(BoardView, Position, List)}.
+     *
+     * @param board the game board
+     * @param startIndex the starting cell
+     * @param goalIndices the goal cells
+     * @return the next cell to move to, or -1 if no path exists
+     */
+    public static int findNextMoveTowards(BoardView board, int startIndex, int[] goalIndices) {
+        return NearestGoalSearch.find(board, startIndex, goalIndices).getNextStep();
     }
 
     /**
@@ -54,87 +112,98 @@ public class GameUtils {
      * @param goal the goal position
      * @return the next position to move to, or null if no path exists
      */
-    private static Position findNextMoveAStar(Board board, Position start, Position goal) {
-        if (start.equals(goal)) {
+    private static Position findNextMoveAStar(BoardView board, Position start, Position goal) {
+        if (!board.isValidPosition(start) || !board.isValidPosition(goal)) {
             return null;
         }
+        int next = findNextMoveIndex(board, board.indexOf(start), board.indexOf(goal));
+        return next < 0 ? null : board.positionAt(next);
+    }
 
-        PriorityQueue<Node> openSet = new PriorityQueue<>(Comparator.comparingInt(Node::getFScore));
-        Set<Position> closedSet = new HashSet<>();
-        Map<Position, Node> allNodes = new HashMap<>();
-
-        Node startNode = new Node(start, 0, start.distanceTo(goal), null);
-        openSet.add(startNode);
-        allNodes.put(start, startNode);
-
-        while (!openSet.isEmpty()) {
-            Node current = openSet.poll();
-            
-            if (current.position.equals(goal)) {
-                // Reconstruct path and return first move
-                return reconstructFirstMove(current, start);
-            }
-
-            closedSet.add(current.position);
-
-            for (Position neighbor : board.getAdjacentPositions(current.position)) {
-                if (closedSet.contains(neighbor)) {
-                    continue;
-                }
-
-                EntityType neighborEntity = board.getEntity(neighbor);
-                if (neighborEntity == EntityType.OBSTACLE || 
-                    (neighborEntity != EntityType.EMPTY && neighborEntity != EntityType.PHONE && neighborEntity != EntityType.AGENT)) {
-                    continue;
-                }
-
-                int tentativeGScore = current.gScore + 1;
-                Node neighborNode = allNodes.get(neighbor);
-
-                if (neighborNode == null) {
-                    neighborNode = new Node(neighbor, tentativeGScore, 
-                                          neighbor.distanceTo(goal), current);
-                    allNodes.put(neighbor, neighborNode);
-                    openSet.add(neighborNode);
-                } else if (tentativeGScore < neighborNode.gScore) {
-                    openSet.remove(neighborNode);
-                    neighborNode.gScore = tentativeGScore;
-                    neighborNode.fScore = tentativeGScore + neighbor.distanceTo(goal);
-                    neighborNode.parent = current;
-                    openSet.add(neighborNode);
-                }
-            }
-        }
-
-        return null; // No path found
+    /**
+     * Implements A* pathfinding over packed cell indices to find the next move.
+     * Runs on the calling thread's reusable search workspace, see {@link AStarSearch}.
+     *
+     * @param board the game board
+     * @param startIndex the starting cell
+     * @param goalIndex the goal cell
+     * @return the next cell to move to, or -1 if no path exists
+     */
+    public static int findNextMoveIndex(BoardView board, int startIndex, int goalIndex) {
+        return AStarSearch.findNextStep(board, startIndex, goalIndex);
     }
 
     /**
-     * Reconstructs the path and returns the first move from start.
-     * 
-     * @param goalNode the goal node reached by A*
+     * Checks whether obstacles leave any goal in the same connected component as the
+     * start. A label comparison per goal; if it fails no path can ever exist, while
+     * passing it still allows enemies to cut every path.
+     *
+     * @param board the game board
      * @param start the starting position
-     * @return the first move position
+     * @param goals list of goal positions
+     * @return true if some goal shares the start's component
      */
-    private static Position reconstructFirstMove(Node goalNode, Position start) {
-        Node current = goalNode;
-        while (current.parent != null && !current.parent.position.equals(start)) {
-            current = current.parent;
+    public static boolean isAnyGoalConnected(BoardView board, Position start, List<Position> goals) {
+        if (!board.isValidPosition(start)) {
+            return false;
         }
-        return current.position;
+        ConnectivityIndex connectivity = board.getConnectivityIndex();
+        int startIndex = board.indexOf(start);
+        for (Position goal : goals) {
+            if (board.isValidPosition(goal) && connectivity.isConnected(startIndex, board.indexOf(goal))) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
      * Checks if there's any path from start to any of the goals.
+     * The board's {@link ConnectivityIndex} answers first: no goal in the start's
+     * component means no path, and a shared component with no enemy in it means a path.
+     * Only when an enemy could cut the component does it search, using the board's
+     * occupancy bit planes when it has them and a single multi-goal search otherwise.
      * 
      * @param board the game board
      * @param start the starting position
      * @param goals list of goal positions
      * @return true if at least one path exists
      */
-    public static boolean hasPathToAnyGoal(Board board, Position start, List<Position> goals) {
+    public static boolean hasPathToAnyGoal(BoardView board, Position start, List<Position> goals) {
+        if (goals.contains(start)) {
+            return true;
+        }
+        if (goals.isEmpty() || !board.isValidPosition(start)) {
+            return false;
+        }
+
+        ConnectivityIndex connectivity = board.getConnectivityIndex();
+        int component = connectivity.componentOf(board.indexOf(start));
+        if (component != ConnectivityIndex.BLOCKED) {
+            if (!isAnyGoalConnected(board, start, goals)) {
+                return false;
+            }
+            boolean enemyInComponent = false;
+            for (Position enemy : board.getEnemyPositions()) {
+                if (connectivity.componentOf(board.indexOf(enemy)) == component) {
+                    enemyInComponent = true;
+                    break;
+                }
+            }
+            if (!enemyInComponent) {
+                return true;
+            }
+        }
+
+        BitBoard bits = board.getBitBoard();
+        if (bits == null) {
+            return findPathToNearestGoal(board, start, goals).isFound();
+        }
+
+        // One bit-parallel flood fill answers reachability for every goal at once
+        long[] reachable = bits.reachableFrom(start.getX(), start.getY());
         for (Position goal : goals) {
-            if (findNextMoveAStar(board, start, goal) != null || start.equals(goal)) {
+            if (board.isValidPosition(goal) && bits.contains(reachable, goal.getX(), goal.getY())) {
                 return true;
             }
         }
@@ -149,7 +218,7 @@ public class GameUtils {
      * @param agentPosition the agent's current position
      * @return the next position for the enemy to move to
      */
-    public static Position findBestMoveTowardsAgent(Board board, Position enemyPosition, Position agentPosition) {
+    public static Position findBestMoveTowardsAgent(BoardView board, Position enemyPosition, Position agentPosition) {
         if (agentPosition == null) {
             return null;
         }
@@ -158,23 +227,48 @@ public class GameUtils {
     }
 
     /**
-     * Inner class representing a node in the A* algorithm.
+     * Finds an A* path for an enemy to the agent within a search budget. When the budget
+     * runs out first, the result is {@link PathResult#isPartial() partial} and its first
+     * step heads for the open cell with the lowest f-score.
+     *
+     * @param board the game board
+     * @param enemyPosition the enemy's current position
+     * @param agentPosition the agent's current position
+     * @param budget the limit on expansions and time
+     * @return the path to the agent, a partial path, or not found if the agent is unreachable
      */
-    private static class Node {
-        Position position;
-        int gScore;
-        int fScore;
-        Node parent;
-
-        Node(Position position, int gScore, int hScore, Node parent) {
-            this.position = position;
-            this.gScore = gScore;
-            this.fScore = gScore + hScore;
-            this.parent = parent;
+    public static PathResult findPathTowardsAgent(BoardView board, Position enemyPosition, Position agentPosition,
+                                                  SearchBudget budget) {
+        if (agentPosition == null || !board.isValidPosition(enemyPosition) || !board.isValidPosition(agentPosition)) {
+            return PathResult.notFound(-1, 0);
         }
+        return AStarSearch.findPath(board, board.indexOf(enemyPosition), board.indexOf(agentPosition), null, budget);
+    }
 
-        int getFScore() {
-            return fScore;
+    /**
+     * Finds the best move for an enemy to catch the agent, answering from a path cache
+     * when it holds a still-valid route to the agent's cell and caching the A* route
+     * otherwise.
+     *
+     * @param board the game board
+     * @param enemyPosition the enemy's current position
+     * @param agentPosition the agent's current position
+     * @param cache the path cache of this board
+     * @return the next position for the enemy to move to
+     */
+    public static Position findBestMoveTowardsAgent(BoardView board, Position enemyPosition, Position agentPosition,
+                                                    PathCache cache) {
+        if (agentPosition == null || !board.isValidPosition(enemyPosition) || !board.isValidPosition(agentPosition)) {
+            return null;
+        }
+        int start = board.indexOf(enemyPosition);
+        int goal = board.indexOf(agentPosition);
+        int next = cache.nextStep(board, start, new int[] {goal});
+        if (next == PathCache.MISS) {
+            PathResult result = AStarSearch.findPath(board, start, goal);
+            cache.put(board, start, result);
+            next = result.getNextStep();
         }
+        return next < 0 ? null : board.positionAt(next);
     }
 }
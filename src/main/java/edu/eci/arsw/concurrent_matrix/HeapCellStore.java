@@ -0,0 +1,50 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Cell store backed by a plain on-heap byte array.
+ */
+public class HeapCellStore implements CellStore {
+    protected final byte[] cells;
+
+    /**
+     * Creates a heap store with the given number of cells, all set to code 0.
+     * 
+     * @param size the cell count
+     */
+    public HeapCellStore(int size) {
+        this.cells = new byte[size];
+    }
+
+    @Override
+    public int size() {
+        return cells.length;
+    }
+
+    @Override
+    public byte get(int index) {
+        return cells[index];
+    }
+
+    @Override
+    public void set(int index, byte code) {
+        cells[index] = code;
+    }
+
+    @Override
+    public void fill(byte code) {
+        Arrays.fill(cells, code);
+    }
+
+    @Override
+    public void copyTo(byte[] target) {
+        System.arraycopy(cells, 0, target, 0, cells.length);
+    }
+
+    @Override
+    public void copyTo(int from, ByteBuffer target) {
+        target.put(0, cells, from, target.capacity());
+    }
+}
@@ -0,0 +1,477 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hierarchical planner (HPA*) for very large boards. The board is split into square
+ * clusters; every maximal run of free cells along the border between two clusters
+ * gets one entrance (two, at its ends, when the run is long), and the distances
+ * between the entrances of a cluster are precomputed with a breadth-first search
+ * confined to the cluster. A query connects the start and the goals to the entrances
+ * of their own clusters, runs A* over that small abstract graph and then refines only
+ * its first segment on the real grid, since callers only need the next move.
+ * <p>
+ * The cluster graph covers obstacles only; enemies move every tick and are left to the
+ * refinement, which plans around them with {@link AStarSearch}. If the refinement
+ * cannot reach the first waypoint, the planner falls back to an exact
+ * {@link NearestGoalSearch}. When the obstacle version of the board changes, the
+ * obstacle layout is compared with the one the graph was built on and only the
+ * clusters that changed, plus their four neighbours (whose entrances they share),
+ * are rebuilt.
+ * <p>
+ * Abstract paths are not always the shortest: they are pinned to the entrances, so
+ * a route can be a few steps longer than the optimum. The returned result holds the
+ * refined first segment, from the start to the first waypoint or goal.
+ * <p>
+ * One planner belongs to one entity and is not thread-safe.
+ */
+public class HierarchicalPlanner implements PathPlanner {
+    /**
+     * Side length of a cluster, in cells, used by the no-argument constructor.
+     */
+    public static final int DEFAULT_CLUSTER_SIZE = 16;
+
+    private static final int UNREACHABLE = -1;
+    private static final int LONG_ENTRANCE = 6;
+    private static final int[] NO_CELLS = new int[0];
+
+    private final int clusterSize;
+    private final int[] scratch;
+    private int width;
+    private int height;
+    private int clustersPerRow;
+    private long obstacleVersion;
+    private long[] obstacles;
+    private Cluster[] clusters;
+    private long clusterBuilds;
+    private int expansions;
+
+    /**
+     * Creates a planner with {@link #DEFAULT_CLUSTER_SIZE} clusters.
+     */
+    public HierarchicalPlanner() {
+        this(DEFAULT_CLUSTER_SIZE);
+    }
+
+    /**
+     * Creates a planner with square clusters of the given side length.
+     *
+     * @param clusterSize side length of each cluster, in cells
+     */
+    public HierarchicalPlanner(int clusterSize) {
+        if (clusterSize < 2) {
+            throw new IllegalArgumentException("Cluster size must be at least 2: " + clusterSize);
+        }
+        this.clusterSize = clusterSize;
+        this.scratch = new int[clusterSize * 8];
+    }
+
+    /**
+     * Gets the number of cluster (re)builds since the planner was created, counting
+     * every cluster of a full build.
+     *
+     * @return the cluster build count
+     */
+    public long getClusterBuilds() {
+        return clusterBuilds;
+    }
+
+    /**
+     * Plans towards the nearest phone for the agent of a snapshot.
+     *
+     * @param view the snapshot to plan on
+     * @return the first segment of the route from the agent to the nearest reachable phone
+     */
+    @Override
+    public PathResult plan(BoardSnapshot view) {
+        Position agent = view.getAgentPosition();
+        if (agent == null) {
+            return PathResult.notFound(-1, 0);
+        }
+        List<Position> phones = view.getPhonePositions();
+        int[] goals = new int[phones.size()];
+        for (int i = 0; i < goals.length; i++) {
+            goals[i] = view.indexOf(phones.get(i));
+        }
+        return plan(view, view.indexOf(agent), goals);
+    }
+
+    /**
+     * Plans a route from the start to the nearest goal over the cluster graph and
+     * refines its first segment.
+     *
+     * @param view the board to plan on
+     * @param start the start cell
+     * @param goals the goal cells; invalid cells are ignored
+     * @return the path from the start to the first waypoint or goal, not found if no goal is reachable
+     */
+    public PathResult plan(BoardView view, int start, int[] goals) {
+        if (!view.isValidIndex(start)) {
+            return PathResult.notFound(start, 0);
+        }
+        refresh(view);
+        goals = Arrays.stream(goals).filter(view::isValidIndex).distinct().toArray();
+        if (goals.length == 0) {
+            return PathResult.notFound(start, 0);
+        }
+        for (int goal : goals) {
+            if (goal == start) {
+                return PathResult.found(start, NO_CELLS, 0);
+            }
+        }
+
+        // Connect the start and the goals to the entrances of their own clusters
+        SearchWorkspace workspace = SearchWorkspace.acquire();
+        try {
+            Cluster startCluster = clusterOf(start);
+            int[] startCosts = distancesFrom(startCluster, start, workspace);
+            int[][] goalCosts = new int[goals.length][];
+            int[] directCosts = new int[goals.length];
+            for (int i = 0; i < goals.length; i++) {
+                Cluster cluster = clusterOf(goals[i]);
+                goalCosts[i] = distancesFrom(cluster, goals[i], workspace);
+                directCosts[i] = cluster == startCluster && workspace.isSeen(start)
+                        ? workspace.g[start] : UNREACHABLE;
+            }
+
+            int goal = searchAbstract(start, startCosts, goals, goalCosts, directCosts, workspace);
+            if (goal < 0) {
+                return PathResult.notFound(start, expansions);
+            }
+            int waypoint = workspace.firstStepTo(goal);
+
+            // Refine the first segment on the real grid, around the enemies
+            PathResult segment = AStarSearch.findPath(view, start, waypoint);
+            if (segment.isFound()) {
+                return PathResult.found(start, segment.toArray(), expansions + segment.getExpansions());
+            }
+            PathResult exact = NearestGoalSearch.find(view, start, goals);
+            return exact.isFound()
+                    ? PathResult.found(start, exact.toArray(), expansions + exact.getExpansions())
+                    : PathResult.notFound(start, expansions + exact.getExpansions());
+        } finally {
+            workspace.release();
+        }
+    }
+
+    /**
+     * Runs A* over the entrances, from the start to the nearest goal. The heuristic is
+     * the Manhattan distance to the closest goal, which never exceeds an abstract cost.
+     *
+     * @return the goal reached, its route recorded in the workspace parents, or -1
+     */
+    private int searchAbstract(int start, int[] startCosts, int[] goals, int[][] goalCosts, int[] directCosts,
+                               SearchWorkspace workspace) {
+        IndexedMinHeap open = workspace.open;
+        workspace.begin(width * height);
+        for (int goal : goals) {
+            workspace.markGoal(goal);
+        }
+        expansions = 0;
+        relax(start, 0, -1, goals, workspace);
+
+        while (!open.isEmpty()) {
+            int current = open.poll();
+            workspace.close(current);
+            expansions++;
+            if (workspace.isGoal(current)) {
+                return current;
+            }
+            int g = workspace.g[current];
+            Cluster cluster = clusterOf(current);
+            int node = cluster.nodeIndex(current);
+
+            // Edges inside the cluster, to its entrances and to the goals it holds
+            if (current == start) {
+                for (int j = 0; j < cluster.nodes.length; j++) {
+                    if (startCosts[j] != UNREACHABLE) {
+                        relax(cluster.nodes[j], g + startCosts[j], current, goals, workspace);
+                    }
+                }
+                for (int i = 0; i < goals.length; i++) {
+                    if (directCosts[i] != UNREACHABLE) {
+                        relax(goals[i], g + directCosts[i], current, goals, workspace);
+                    }
+                }
+            } else if (node >= 0) {
+                int n = cluster.nodes.length;
+                for (int j = 0; j < n; j++) {
+                    int cost = cluster.distances[node * n + j];
+                    if (j != node && cost != UNREACHABLE) {
+                        relax(cluster.nodes[j], g + cost, current, goals, workspace);
+                    }
+                }
+                for (int i = 0; i < goals.length; i++) {
+                    if (clusterOf(goals[i]) == cluster && goalCosts[i][node] != UNREACHABLE) {
+                        relax(goals[i], g + goalCosts[i][node], current, goals, workspace);
+                    }
+                }
+            }
+
+            // Edges across the cluster border, between paired entrances
+            if (node >= 0) {
+                int x = current / width;
+                int y = current - x * width;
+                if (x == cluster.top && x > 0) {
+                    crossBorder(current, current - width, g, goals, workspace);
+                }
+                if (x == cluster.bottom - 1 && x < height - 1) {
+                    crossBorder(current, current + width, g, goals, workspace);
+                }
+                if (y == cluster.left && y > 0) {
+                    crossBorder(current, current - 1, g, goals, workspace);
+                }
+                if (y == cluster.right - 1 && y < width - 1) {
+                    crossBorder(current, current + 1, g, goals, workspace);
+                }
+            }
+        }
+        return -1;
+    }
+
+    private void crossBorder(int from, int to, int g, int[] goals, SearchWorkspace workspace) {
+        if (clusterOf(to).nodeIndex(to) >= 0) {
+            relax(to, g + 1, from, goals, workspace);
+        }
+    }
+
+    private void relax(int cell, int cost, int from, int[] goals, SearchWorkspace workspace) {
+        if (workspace.isClosed(cell) || (workspace.isSeen(cell) && cost >= workspace.g[cell])) {
+            return;
+        }
+        workspace.reach(cell, cost, from);
+        int h = Integer.MAX_VALUE;
+        int x = cell / width;
+        int y = cell - x * width;
+        for (int goal : goals) {
+            int gx = goal / width;
+            h = Math.min(h, Math.abs(x - gx) + Math.abs(y - (goal - gx * width)));
+        }
+        workspace.open.put(cell, IndexedMinHeap.key(cost + h, h));
+    }
+
+    /**
+     * Brings the cluster graph up to date with the obstacles of a view: builds it from
+     * scratch for a new board size, otherwise rebuilds only the clusters around cells
+     * whose obstacle state changed since the last refresh.
+     */
+    private void refresh(BoardView view) {
+        long version = view.getObstacleVersion();
+        if (clusters != null && view.getWidth() == width && view.getHeight() == height) {
+            if (version == obstacleVersion) {
+                return;
+            }
+            obstacleVersion = version;
+            boolean[] dirty = new boolean[clusters.length];
+            for (int cell = 0; cell < width * height; cell++) {
+                if ((view.getEntity(cell) == EntityType.OBSTACLE) != isBlocked(cell)) {
+                    obstacles[cell >>> 6] ^= 1L << cell;
+                    dirty[clusterIndexOf(cell)] = true;
+                }
+            }
+            // A cluster's border entrances are shared with its four neighbours
+            boolean[] rebuild = new boolean[clusters.length];
+            for (int k = 0; k < clusters.length; k++) {
+                if (dirty[k]) {
+                    rebuild[k] = true;
+                    int row = k / clustersPerRow;
+                    int column = k - row * clustersPerRow;
+                    if (row > 0) {
+                        rebuild[k - clustersPerRow] = true;
+                    }
+                    if (k + clustersPerRow < clusters.length) {
+                        rebuild[k + clustersPerRow] = true;
+                    }
+                    if (column > 0) {
+                        rebuild[k - 1] = true;
+                    }
+                    if (column < clustersPerRow - 1) {
+                        rebuild[k + 1] = true;
+                    }
+                }
+            }
+            for (int k = 0; k < clusters.length; k++) {
+                if (rebuild[k]) {
+                    build(clusters[k]);
+                }
+            }
+            return;
+        }
+
+        width = view.getWidth();
+        height = view.getHeight();
+        obstacleVersion = version;
+        obstacles = new long[(width * height + 63) >>> 6];
+        for (int cell = 0; cell < width * height; cell++) {
+            if (view.getEntity(cell) == EntityType.OBSTACLE) {
+                obstacles[cell >>> 6] |= 1L << cell;
+            }
+        }
+        clustersPerRow = (width + clusterSize - 1) / clusterSize;
+        int clusterRows = (height + clusterSize - 1) / clusterSize;
+        clusters = new Cluster[clustersPerRow * clusterRows];
+        for (int k = 0; k < clusters.length; k++) {
+            int top = (k / clustersPerRow) * clusterSize;
+            int left = (k % clustersPerRow) * clusterSize;
+            clusters[k] = new Cluster(top, left, Math.min(top + clusterSize, height), Math.min(left + clusterSize, width));
+        }
+        for (Cluster cluster : clusters) {
+            build(cluster);
+        }
+    }
+
+    /**
+     * Finds the entrances of a cluster on its four borders and the distances between them.
+     */
+    private void build(Cluster cluster) {
+        int count = 0;
+        int rows = cluster.bottom - cluster.top;
+        int columns = cluster.right - cluster.left;
+        int topLeft = cluster.top * width + cluster.left;
+        if (cluster.top > 0) {
+            count = addEntrances(topLeft, 1, columns, -width, count);
+        }
+        if (cluster.bottom < height) {
+            count = addEntrances(topLeft + (rows - 1) * width, 1, columns, width, count);
+        }
+        if (cluster.left > 0) {
+            count = addEntrances(topLeft, width, rows, -1, count);
+        }
+        if (cluster.right < width) {
+            count = addEntrances(topLeft + columns - 1, width, rows, 1, count);
+        }
+        int[] nodes = Arrays.stream(scratch, 0, count).sorted().distinct().toArray();
+
+        SearchWorkspace workspace = SearchWorkspace.acquire();
+        try {
+            cluster.nodes = nodes;
+            int[] distances = new int[nodes.length * nodes.length];
+            for (int i = 0; i < nodes.length; i++) {
+                System.arraycopy(distancesFrom(cluster, nodes[i], workspace), 0,
+                                 distances, i * nodes.length, nodes.length);
+            }
+            cluster.distances = distances;
+            clusterBuilds++;
+        } finally {
+            workspace.release();
+        }
+    }
+
+    /**
+     * Adds the entrances of one border: one in the middle of every run of cells that
+     * are free on both sides, or one at each end of a long run. Both clusters sharing
+     * the border see the same runs, so their entrances face each other.
+     *
+     * @param base the first border cell on this cluster's side
+     * @param stride the index step along the border
+     * @param length the number of border cells
+     * @param across the index offset to the facing cell of the neighbouring cluster
+     * @param count the number of entrances already in the scratch buffer
+     * @return the new number of entrances in the scratch buffer
+     */
+    private int addEntrances(int base, int stride, int length, int across, int count) {
+        int run = 0;
+        for (int i = 0; i <= length; i++) {
+            int cell = base + i * stride;
+            if (i < length && !isBlocked(cell) && !isBlocked(cell + across)) {
+                run++;
+                continue;
+            }
+            if (run >= LONG_ENTRANCE) {
+                scratch[count++] = base + (i - run) * stride;
+                scratch[count++] = base + (i - 1) * stride;
+            } else if (run > 0) {
+                scratch[count++] = base + (i - run + (run - 1) / 2) * stride;
+            }
+            run = 0;
+        }
+        return count;
+    }
+
+    /**
+     * Breadth-first search confined to a cluster and its obstacle-free cells. The
+     * distances to every reached cell of the cluster stay in the workspace afterwards.
+     *
+     * @return the distance from the source to each entrance of the cluster, or UNREACHABLE
+     */
+    private int[] distancesFrom(Cluster cluster, int source, SearchWorkspace workspace) {
+        workspace.begin(width * height);
+        int[] queue = workspace.queue;
+        int head = 0;
+        int tail = 0;
+        workspace.reach(source, 0, -1);
+        queue[tail++] = source;
+        while (head < tail) {
+            int current = queue[head++];
+            int distance = workspace.g[current] + 1;
+            int x = current / width;
+            int y = current - x * width;
+            if (x > cluster.top) {
+                tail = visit(current - width, distance, current, queue, tail, workspace);
+            }
+            if (x < cluster.bottom - 1) {
+                tail = visit(current + width, distance, current, queue, tail, workspace);
+            }
+            if (y > cluster.left) {
+                tail = visit(current - 1, distance, current, queue, tail, workspace);
+            }
+            if (y < cluster.right - 1) {
+                tail = visit(current + 1, distance, current, queue, tail, workspace);
+            }
+        }
+        int[] costs = new int[cluster.nodes.length];
+        for (int j = 0; j < costs.length; j++) {
+            costs[j] = workspace.isSeen(cluster.nodes[j]) ? workspace.g[cluster.nodes[j]] : UNREACHABLE;
+        }
+        return costs;
+    }
+
+    private int visit(int cell, int distance, int from, int[] queue, int tail, SearchWorkspace workspace) {
+        if (!workspace.isSeen(cell) && !isBlocked(cell)) {
+            workspace.reach(cell, distance, from);
+            queue[tail++] = cell;
+        }
+        return tail;
+    }
+
+    private boolean isBlocked(int cell) {
+        return (obstacles[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    private int clusterIndexOf(int cell) {
+        int x = cell / width;
+        int y = cell - x * width;
+        return (x / clusterSize) * clustersPerRow + y / clusterSize;
+    }
+
+    private Cluster clusterOf(int cell) {
+        return clusters[clusterIndexOf(cell)];
+    }
+
+    /**
+     * One cluster: its bounds (top and left inclusive, bottom and right exclusive),
+     * its entrance cells in ascending order and the distances between every pair of
+     * them, row-major.
+     */
+    private static final class Cluster {
+        final int top;
+        final int left;
+        final int bottom;
+        final int right;
+        int[] nodes = NO_CELLS;
+        int[] distances = NO_CELLS;
+
+        Cluster(int top, int left, int bottom, int right) {
+            this.top = top;
+            this.left = left;
+            this.bottom = bottom;
+            this.right = right;
+        }
+
+        int nodeIndex(int cell) {
+            int index = Arrays.binarySearch(nodes, cell);
+            return index >= 0 ? index : -1;
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of cell indices ordered by {@code long} keys, with an index from
+ * each cell to its slot in the heap. That index makes {@link #contains}, key updates
+ * (in either direction) and removal of an arbitrary cell O(log n) instead of the
+ * O(n) scan {@link java.util.PriorityQueue#remove(Object)} needs.
+ * <p>
+ * Two int priorities can be packed into one key with {@link #key(int, int)}, which
+ * orders by the first and breaks ties with the second; {@link #key(int, int, int)}
+ * slips a direction in between. The heap is meant to be
+ * reused: {@link #clear()} only touches the cells still queued.
+ * Not thread-safe.
+ */
+public class IndexedMinHeap {
+    private static final int ABSENT = -1;
+    private static final int DIRECTION_SHIFT = 30;
+
+    private int[] items;
+    private long[] keys;
+    private int[] slotOf;
+    private int size;
+
+    /**
+     * Creates an empty heap for cell indices below the given capacity.
+     * 
+     * @param capacity one past the largest cell index to be queued
+     */
+    public IndexedMinHeap(int capacity) {
+        items = new int[Math.max(16, Math.min(capacity, 1024))];
+        keys = new long[items.length];
+        slotOf = new int[capacity];
+        Arrays.fill(slotOf, ABSENT);
+    }
+
+    /**
+     * Packs two non-negative int priorities into a single key ordered by the first,
+     * then by the second.
+     * 
+     * @param primary the primary priority
+     * @param secondary the tie-breaking priority
+     * @return the packed key
+     */
+    public static long key(int primary, int secondary) {
+        return ((long) primary << 32) | (secondary & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Packs a priority, a direction and a tie-breaking priority into a single key
+     * ordered by the priority, then the direction, then the tie-breaker. Grid searches
+     * pass the direction of the first step from the start, numbered in up, down, left,
+     * right order, so that among equally good cells those reached through the earliest
+     * first step are expanded first.
+     * 
+     * @param primary the primary priority
+     * @param direction the direction, from 0 to 3
+     * @param secondary the tie-breaking priority, non-negative and below 2^30
+     * @return the packed key
+     */
+    public static long key(int primary, int direction, int secondary) {
+        return key(primary, direction << DIRECTION_SHIFT | secondary);
+    }
+
+    /**
+     * Gets the direction packed into a key by {@link #key(int, int, int)}.
+     * 
+     * @param key the packed key
+     * @return the direction, from 0 to 3
+     */
+    public static int directionOf(long key) {
+        return (int) (key >>> DIRECTION_SHIFT) & 3;
+    }
+
+    /**
+     * Grows the heap so it accepts cell indices below the given capacity.
+     * 
+     * @param capacity one past the largest cell index to be queued
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity > slotOf.length) {
+            int old = slotOf.length;
+            slotOf = Arrays.copyOf(slotOf, capacity);
+            Arrays.fill(slotOf, old, capacity, ABSENT);
+        }
+    }
+
+    /**
+     * Removes every queued cell.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            slotOf[items[i]] = ABSENT;
+        }
+        size = 0;
+    }
+
+    /**
+     * Checks whether the heap is empty.
+     * 
+     * @return true if no cell is queued
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the number of queued cells.
+     * 
+     * @return the heap size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether a cell is queued.
+     * 
+     * @param item the cell index
+     * @return true if the cell is in the heap
+     */
+    public boolean contains(int item) {
+        return slotOf[item] != ABSENT;
+    }
+
+    /**
+     * Gets the key of a queued cell.
+     * 
+     * @param item the cell index, which must be queued
+     * @return its key
+     */
+    public long keyOf(int item) {
+        return keys[slotOf[item]];
+    }
+
+    /**
+     * Queues a cell, or changes its key if it is already queued.
+     * 
+     * @param item the cell index
+     * @param key the new key
+     */
+    public void put(int item, long key) {
+        int slot = slotOf[item];
+        if (slot == ABSENT) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+            slot = size++;
+            items[slot] = item;
+            keys[slot] = key;
+            slotOf[item] = slot;
+            siftUp(slot);
+        } else if (key < keys[slot]) {
+            keys[slot] = key;
+            siftUp(slot);
+        } else if (key > keys[slot]) {
+            keys[slot] = key;
+            siftDown(slot);
+        }
+    }
+
+    /**
+     * Gets the cell with the smallest key without removing it.
+     * 
+     * @return the cell index, which must exist
+     */
+    public int peek() {
+        return items[0];
+    }
+
+    /**
+     * Gets the smallest key in the heap.
+     * 
+     * @return the smallest key, or {@link Long#MAX_VALUE} if the heap is empty
+     */
+    public long peekKey() {
+        return size == 0 ? Long.MAX_VALUE : keys[0];
+    }
+
+    /**
+     * Removes and returns the cell with the smallest key.
+     * 
+     * @return the cell index, which must exist
+     */
+    public int poll() {
+        int top = items[0];
+        removeAt(0);
+        return top;
+    }
+
+    /**
+     * Removes a cell from the heap if it is queued.
+     * 
+     * @param item the cell index
+     * @return true if the cell was queued
+     */
+    public boolean remove(int item) {
+        int slot = slotOf[item];
+        if (slot == ABSENT) {
+            return false;
+        }
+        removeAt(slot);
+        return true;
+    }
+
+    private void removeAt(int slot) {
+        slotOf[items[slot]] = ABSENT;
+        int last = --size;
+        if (slot != last) {
+            items[slot] = items[last];
+            keys[slot] = keys[last];
+            slotOf[items[slot]] = slot;
+            siftDown(slot);
+            siftUp(slot);
+        }
+    }
+
+    private void siftUp(int slot) {
+        int item = items[slot];
+        long key = keys[slot];
+        while (slot > 0) {
+            int parent = (slot - 1) >>> 1;
+            if (keys[parent] <= key) {
+                break;
+            }
+            move(parent, slot);
+            slot = parent;
+        }
+        place(item, key, slot);
+    }
+
+    private void siftDown(int slot) {
+        int item = items[slot];
+        long key = keys[slot];
+        int half = size >>> 1;
+        while (slot < half) {
+            int child = 2 * slot + 1;
+            if (child + 1 < size && keys[child + 1] < keys[child]) {
+                child++;
+            }
+            if (key <= keys[child]) {
+                break;
+            }
+            move(child, slot);
+            slot = child;
+        }
+        place(item, key, slot);
+    }
+
+    private void move(int from, int to) {
+        items[to] = items[from];
+        keys[to] = keys[from];
+        slotOf[items[to]] = to;
+    }
+
+    private void place(int item, long key, int slot) {
+        items[slot] = item;
+        keys[slot] = key;
+        slotOf[item] = slot;
+    }
+}
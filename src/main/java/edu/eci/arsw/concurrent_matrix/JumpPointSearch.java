@@ -0,0 +1,327 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import java.util.Arrays;
+
+/**
+ * Jump Point Search for the 4-connected, uniform-cost grid. Instead of pushing every
+ * cell onto the open list like {@link AStarSearch}, it jumps along straight lines and
+ * only stops at jump points: the goal, cells where a horizontal run has a forced
+ * neighbour, and cells of a vertical run from which a horizontal jump finds a jump
+ * point. On open ground this skips the many symmetric equal-cost paths A* expands.
+ * <p>
+ * Canonical paths move vertically and may turn horizontal at any cell; a horizontal
+ * run only turns vertical at a forced neighbour, i.e. where the cell above (or below)
+ * is free but the one diagonally behind it is blocked. Path lengths equal A*'s, and
+ * among several shortest paths the first step is chosen by the same tie-break, the
+ * direction of the first step packed into every open-list key, so both searches make
+ * the same first move.
+ * <p>
+ * Jumps read the board's {@link BlockedCells} plane, taken from a snapshot of a live
+ * board, rather than cell by cell: a horizontal jump tests 64 cells of its row and
+ * of the rows beside it per step for walls and forced neighbours, and skips the scan
+ * altogether when none of the three rows holds a blocked cell. A vertical jump stops
+ * where one of its horizontal jumps succeeds, and remembers them so expanding that
+ * jump point does not scan the row again. Passability matches {@link AStarSearch};
+ * the search runs on the calling thread's {@link SearchWorkspace}.
+ */
+public final class JumpPointSearch {
+
+    private JumpPointSearch() {
+    }
+
+    /**
+     * Finds a shortest path between two cells.
+     *
+     * @param board the board to search
+     * @param start the start cell
+     * @param goal the goal cell
+     * @return the full path, cell by cell, and the number of jump points expanded
+     */
+    public static PathResult findPath(BoardView board, int start, int goal) {
+        if (!board.isValidIndex(start) || !board.isValidIndex(goal)) {
+            return PathResult.notFound(start, 0);
+        }
+        SearchWorkspace workspace = SearchWorkspace.acquire();
+        try {
+            int expansions = new Search(board, goal, workspace).run(start);
+            if (!workspace.isClosed(goal)) {
+                return PathResult.notFound(start, expansions);
+            }
+            return PathResult.found(start, expand(board, workspace, goal), expansions);
+        } finally {
+            workspace.release();
+        }
+    }
+
+    /**
+     * Finds the first move of a shortest path between two cells.
+     *
+     * @param board the board to search
+     * @param start the start cell
+     * @param goal the goal cell
+     * @return the cell to move to, or -1 if the start is the goal or no path exists
+     */
+    public static int findNextStep(BoardView board, int start, int goal) {
+        if (start == goal || !board.isValidIndex(start) || !board.isValidIndex(goal)) {
+            return -1;
+        }
+        SearchWorkspace workspace = SearchWorkspace.acquire();
+        try {
+            new Search(board, goal, workspace).run(start);
+            if (!workspace.isClosed(goal)) {
+                return -1;
+            }
+            int firstJump = workspace.firstStepTo(goal);
+            return start + Integer.signum(firstJump - start) * stride(board, start, firstJump);
+        } finally {
+            workspace.release();
+        }
+    }
+
+    /**
+     * Unit step, in cell indices, from one cell towards another on the same row or column.
+     */
+    private static int stride(BoardView board, int from, int to) {
+        int width = board.getWidth();
+        return from / width == to / width ? 1 : width;
+    }
+
+    /**
+     * Expands the chain of jump points ending at the goal into every cell of the path.
+     */
+    private static int[] expand(BoardView board, SearchWorkspace workspace, int goal) {
+        int[] path = new int[workspace.g[goal]];
+        int cell = goal;
+        int i = path.length - 1;
+        while (i >= 0) {
+            int previous = workspace.parent[cell];
+            int step = Integer.signum(cell - previous) * stride(board, previous, cell);
+            for (int c = cell; c != previous; c -= step) {
+                path[i--] = c;
+            }
+            cell = previous;
+        }
+        return path;
+    }
+
+    /**
+     * One search: the board, goal and workspace shared by the jump functions.
+     */
+    private static final class Search {
+        private static final int UP = 0;
+        private static final int DOWN = 1;
+        private static final int LEFT = 2;
+        private static final int RIGHT = 3;
+        private static final int TURN_SLOTS = 64;
+        private static final int UNKNOWN = -2;
+
+        private final BoardView board;
+        private final BlockedCells blocked;
+        private final int width;
+        private final int height;
+        private final int goal;
+        private final int goalX;
+        private final int goalY;
+        private final SearchWorkspace workspace;
+        private final int[] turnCells = new int[TURN_SLOTS];
+        private final int[] turnLeft = new int[TURN_SLOTS];
+        private final int[] turnRight = new int[TURN_SLOTS];
+
+        Search(BoardView board, int goal, SearchWorkspace workspace) {
+            this.board = board;
+            this.blocked = board.getBlockedCells();
+            this.width = board.getWidth();
+            this.height = board.getHeight();
+            this.goal = goal;
+            this.goalX = goal / width;
+            this.goalY = goal - goalX * width;
+            this.workspace = workspace;
+            Arrays.fill(turnCells, -1);
+        }
+
+        int run(int start) {
+            IndexedMinHeap open = workspace.open;
+            workspace.begin(board.getCellCount());
+            workspace.reach(start, 0, -1);
+            int h = heuristic(start);
+            open.put(start, IndexedMinHeap.key(h, 0, h));
+
+            int expansions = 0;
+            while (!open.isEmpty()) {
+                int branch = IndexedMinHeap.directionOf(open.peekKey());
+                int current = open.poll();
+                workspace.close(current);
+                expansions++;
+                if (current == goal) {
+                    break;
+                }
+                int x = current / width;
+                int y = current - x * width;
+                int parent = workspace.parent[current];
+                if (parent < 0) {
+                    // The first steps, numbered in neighbour order
+                    successor(current, jumpVertical(x, y, -1), UP);
+                    successor(current, jumpVertical(x, y, 1), DOWN);
+                    successor(current, jumpHorizontal(x, y, -1), LEFT);
+                    successor(current, jumpHorizontal(x, y, 1), RIGHT);
+                } else if (parent / width == x) {
+                    // Arrived horizontally: keep going, and turn only at forced neighbours
+                    int dy = current > parent ? 1 : -1;
+                    successor(current, jumpHorizontal(x, y, dy), branch);
+                    if (free(x - 1, y) && !free(x - 1, y - dy)) {
+                        successor(current, jumpVertical(x, y, -1), branch);
+                    }
+                    if (free(x + 1, y) && !free(x + 1, y - dy)) {
+                        successor(current, jumpVertical(x, y, 1), branch);
+                    }
+                } else {
+                    // Arrived vertically: keep going or turn either way, reusing the
+                    // horizontal jumps the vertical jump made here if still remembered
+                    int dx = current > parent ? 1 : -1;
+                    int slot = current & (TURN_SLOTS - 1);
+                    boolean known = turnCells[slot] == current;
+                    int left = known ? turnLeft[slot] : UNKNOWN;
+                    int right = known ? turnRight[slot] : UNKNOWN;
+                    successor(current, jumpVertical(x, y, dx), branch);
+                    successor(current, left != UNKNOWN ? left : jumpHorizontal(x, y, -1), branch);
+                    successor(current, right != UNKNOWN ? right : jumpHorizontal(x, y, 1), branch);
+                }
+            }
+            return expansions;
+        }
+
+        private void successor(int current, int jumpPoint, int direction) {
+            if (jumpPoint < 0 || workspace.isClosed(jumpPoint)) {
+                return;
+            }
+            int tentative = workspace.g[current] + distance(current, jumpPoint);
+            if (!workspace.improves(jumpPoint, tentative, direction)) {
+                return;
+            }
+            workspace.reach(jumpPoint, tentative, current);
+            int h = heuristic(jumpPoint);
+            workspace.open.put(jumpPoint, IndexedMinHeap.key(tentative + h, direction, h));
+        }
+
+        /**
+         * Jumps along a row from (x, y), not including it. A row between two rows with
+         * no blocked cell has no forced neighbours, so only the goal can stop the run.
+         *
+         * @return the jump point reached, or -1 if the run hits a blocked cell
+         */
+        private int jumpHorizontal(int x, int y, int dy) {
+            if (blocked.isRowClear(x) && blocked.isRowClear(x - 1) && blocked.isRowClear(x + 1)) {
+                return x == goalX && Integer.signum(goalY - y) == dy ? goal : -1;
+            }
+            int cell = x * width + y;
+            return dy > 0 ? scanRight(cell + 1, (x + 1) * width) : scanLeft(cell - 1, x * width);
+        }
+
+        /**
+         * Scans a row rightwards 64 cells at a time for the first cell that is the goal
+         * or has a forced neighbour: one whose cell above (or below) is free while the
+         * one to its left is blocked.
+         *
+         * @param from the first cell to scan
+         * @param end the first cell past the row
+         * @return the jump point, or -1 if a blocked cell or the row's end comes first
+         */
+        private int scanRight(int from, int end) {
+            for (; from < end; from += 64) {
+                int length = end - from;
+                long range = length >= 64 ? -1L : (1L << length) - 1;
+                long stops = ~blocked.window(from - width) & blocked.window(from - width - 1)
+                        | ~blocked.window(from + width) & blocked.window(from + width - 1);
+                if (goal >= from && goal < from + 64) {
+                    stops |= 1L << (goal - from);
+                }
+                long walls = blocked.window(from) | ~range;
+                stops &= (walls & -walls) - 1; // Only the cells before the first wall
+                if (stops != 0) {
+                    return from + Long.numberOfTrailingZeros(stops);
+                }
+                if (walls != 0) {
+                    return -1;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Scans a row leftwards 64 cells at a time, like {@link #scanRight} mirrored.
+         *
+         * @param top the first cell to scan
+         * @param start the first cell of the row
+         * @return the jump point, or -1 if a blocked cell or the row's start comes first
+         */
+        private int scanLeft(int top, int start) {
+            while (top >= start) {
+                int from = Math.max(start, top - 63);
+                int length = top - from + 1;
+                long range = length == 64 ? -1L : (1L << length) - 1;
+                long stops = ~blocked.window(from - width) & blocked.window(from - width + 1)
+                        | ~blocked.window(from + width) & blocked.window(from + width + 1);
+                if (goal >= from && goal <= top) {
+                    stops |= 1L << (goal - from);
+                }
+                long walls = blocked.window(from) & range;
+                stops &= range & (walls == 0 ? -1L : -(Long.highestOneBit(walls) << 1)); // Only the cells after the last wall
+                if (stops != 0) {
+                    return from + 63 - Long.numberOfLeadingZeros(stops);
+                }
+                if (walls != 0) {
+                    return -1;
+                }
+                top = from - 1;
+            }
+            return -1;
+        }
+
+        /**
+         * Jumps along a column from (x, y), not including it. A cell is a jump point
+         * when a horizontal jump from it reaches one; the jumps made there are
+         * remembered for when the cell is expanded.
+         *
+         * @return the jump point reached, or -1 if the run hits a blocked cell
+         */
+        private int jumpVertical(int x, int y, int dx) {
+            while (true) {
+                x += dx;
+                if (!free(x, y)) {
+                    return -1;
+                }
+                int cell = x * width + y;
+                if (cell == goal) {
+                    return cell;
+                }
+                int left = jumpHorizontal(x, y, -1);
+                int right = left >= 0 ? UNKNOWN : jumpHorizontal(x, y, 1);
+                if (left >= 0 || right >= 0) {
+                    int slot = cell & (TURN_SLOTS - 1);
+                    turnCells[slot] = cell;
+                    turnLeft[slot] = left;
+                    turnRight[slot] = right;
+                    return cell;
+                }
+            }
+        }
+
+        private boolean free(int x, int y) {
+            if (x < 0 || x >= height || y < 0 || y >= width) {
+                return false;
+            }
+            return !blocked.isBlocked(x * width + y);
+        }
+
+        private int heuristic(int cell) {
+            int x = cell / width;
+            return Math.abs(x - goalX) + Math.abs(cell - x * width - goalY);
+        }
+
+        private int distance(int a, int b) {
+            int ax = a / width;
+            int bx = b / width;
+            return Math.abs(ax - bx) + Math.abs((a - ax * width) - (b - bx * width));
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import java.util.Arrays;
+
+/**
+ * ALT heuristic (A*, landmarks, triangle inequality) for obstacle-heavy boards. A few
+ * landmark cells are picked by farthest-point selection, and the breadth-first
+ * distance from each landmark to every cell is stored in one {@code int[]} per
+ * landmark. For any landmark L the triangle inequality gives
+ * {@code |d(L, goal) - d(L, cell)| <= d(cell, goal)}, so the largest of these bounds,
+ * and of the Manhattan distance, is an admissible estimate that sees the walls.
+ * <p>
+ * Distances cover obstacles only. Enemies can only lengthen paths, so the bounds stay
+ * admissible while they move; the heuristic must be rebuilt once obstacles change,
+ * which {@link #isCurrent(BoardView)} tells. Landmarks are spread over the component
+ * of the first free cell; elsewhere the estimate is the Manhattan distance.
+ * <p>
+ * Immutable once built, so one instance can be shared by every thread.
+ */
+public final class LandmarkHeuristic implements SearchHeuristic {
+    /**
+     * Number of landmarks used by game planners.
+     */
+    public static final int DEFAULT_LANDMARKS = 8;
+
+    private static final int UNREACHABLE = -1;
+
+    private final int width;
+    private final int cellCount;
+    private final int[] landmarks;
+    private final int[][] distances;
+    private final long obstacleVersion;
+
+    private LandmarkHeuristic(int width, int cellCount, int[] landmarks, int[][] distances, long obstacleVersion) {
+        this.width = width;
+        this.cellCount = cellCount;
+        this.landmarks = landmarks;
+        this.distances = distances;
+        this.obstacleVersion = obstacleVersion;
+    }
+
+    /**
+     * Picks landmarks on a board and precomputes their distances. The first landmark is
+     * the cell farthest from the first free cell; each next one is the cell farthest
+     * from all landmarks chosen so far.
+     *
+     * @param view the board
+     * @param count the maximum number of landmarks
+     * @return the heuristic, with fewer landmarks if the component has fewer cells
+     */
+    public static LandmarkHeuristic build(BoardView view, int count) {
+        long version = view.getObstacleVersion();
+        int cellCount = view.getCellCount();
+        int seed = 0;
+        while (seed < cellCount && view.getEntity(seed) == EntityType.OBSTACLE) {
+            seed++;
+        }
+        if (seed == cellCount || count <= 0) {
+            return new LandmarkHeuristic(view.getWidth(), cellCount, new int[0], new int[0][], version);
+        }
+
+        int[] queue = new int[cellCount];
+        int[] nearest = distancesFrom(view, seed, queue);
+        int[] landmarks = new int[count];
+        int[][] distances = new int[count][];
+        int chosen = 0;
+        while (chosen < count) {
+            int farthest = -1;
+            for (int cell = 0; cell < cellCount; cell++) {
+                if (nearest[cell] > 0 && (farthest < 0 || nearest[cell] > nearest[farthest])) {
+                    farthest = cell;
+                }
+            }
+            if (farthest < 0) {
+                break; // Every cell of the component is a landmark already
+            }
+            landmarks[chosen] = farthest;
+            distances[chosen] = distancesFrom(view, farthest, queue);
+            for (int cell = 0; cell < cellCount; cell++) {
+                if (nearest[cell] != UNREACHABLE) {
+                    nearest[cell] = chosen == 0
+                            ? distances[0][cell] : Math.min(nearest[cell], distances[chosen][cell]);
+                }
+            }
+            chosen++;
+        }
+        return new LandmarkHeuristic(view.getWidth(), cellCount, Arrays.copyOf(landmarks, chosen),
+                                     Arrays.copyOf(distances, chosen), version);
+    }
+
+    /**
+     * Breadth-first distances from one cell over everything but obstacles.
+     */
+    private static int[] distancesFrom(BoardView view, int source, int[] queue) {
+        int[] distance = new int[view.getCellCount()];
+        Arrays.fill(distance, UNREACHABLE);
+        int[] neighbors = new int[4];
+        int head = 0;
+        int tail = 0;
+        distance[source] = 0;
+        queue[tail++] = source;
+        while (head < tail) {
+            int current = queue[head++];
+            int count = view.getAdjacentIndices(current, neighbors);
+            for (int i = 0; i < count; i++) {
+                int neighbor = neighbors[i];
+                if (distance[neighbor] == UNREACHABLE && view.getEntity(neighbor) != EntityType.OBSTACLE) {
+                    distance[neighbor] = distance[current] + 1;
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+        return distance;
+    }
+
+    @Override
+    public int estimate(int cell, int goal) {
+        int x = cell / width;
+        int goalX = goal / width;
+        int best = Math.abs(x - goalX) + Math.abs(cell - x * width - (goal - goalX * width));
+        for (int[] distance : distances) {
+            int toCell = distance[cell];
+            int toGoal = distance[goal];
+            if (toCell != UNREACHABLE && toGoal != UNREACHABLE) {
+                best = Math.max(best, Math.abs(toGoal - toCell));
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Checks whether the heuristic was built on the current obstacle layout of a board.
+     *
+     * @param view the board
+     * @return true if its obstacles have not changed since the heuristic was built
+     */
+    public boolean isCurrent(BoardView view) {
+        return view.getObstacleVersion() == obstacleVersion && view.getWidth() == width
+                && view.getCellCount() == cellCount;
+    }
+
+    /**
+     * Gets the landmark cells.
+     *
+     * @return a copy of the landmark cell indices
+     */
+    public int[] getLandmarks() {
+        return landmarks.clone();
+    }
+}
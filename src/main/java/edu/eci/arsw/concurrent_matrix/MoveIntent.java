@@ -0,0 +1,69 @@
+package edu.eci.arsw.concurrent_matrix;
+
+/**
+ * Immutable request of one entity to move from one cell to an adjacent one during a
+ * simulation step. Intents are planned against a snapshot and only take effect once
+ * a {@link MoveResolver} has accepted them.
+ */
+public final class MoveIntent {
+    private final int priority;
+    private final EntityType type;
+    private final int from;
+    private final int to;
+
+    /**
+     * Creates a move intent.
+     *
+     * @param priority the rank of the mover; lower ranks are resolved first
+     * @param type the type of the moving entity
+     * @param from the cell the entity stands on
+     * @param to the cell it wants to move to
+     */
+    public MoveIntent(int priority, EntityType type, int from, int to) {
+        this.priority = priority;
+        this.type = type;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Gets the rank of the mover.
+     *
+     * @return the priority, lower first
+     */
+    public int getPriority() {
+        return priority;
+    }
+
+    /**
+     * Gets the type of the moving entity.
+     *
+     * @return the entity type
+     */
+    public EntityType getType() {
+        return type;
+    }
+
+    /**
+     * Gets the source cell.
+     *
+     * @return the cell index the entity stands on
+     */
+    public int getFrom() {
+        return from;
+    }
+
+    /**
+     * Gets the target cell.
+     *
+     * @return the cell index the entity wants to move to
+     */
+    public int getTo() {
+        return to;
+    }
+
+    @Override
+    public String toString() {
+        return type + "#" + priority + " " + from + "->" + to;
+    }
+}
@@ -0,0 +1,167 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free multi-producer, single-consumer ring buffer of move requests.
+ * <p>
+ * Every slot carries a sequence number. A producer claims the slot at the tail with
+ * one compare-and-set on the tail counter, stores its request and then publishes it by
+ * advancing the slot's sequence; the consumer takes slots in order, only once they
+ * are published, and hands each one back to the producers by advancing its sequence
+ * by the capacity. Producers never wait for each other beyond a failed CAS, and a
+ * full buffer is reported rather than blocked on, so callers choose how to back off.
+ * <p>
+ * {@link #offer} may be called from any thread; {@link #poll} and {@link #drainTo}
+ * only from the single consumer.
+ */
+public final class MoveIntentQueue {
+    private final Request[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head; // Written by the consumer only
+
+    /**
+     * Creates a queue holding at least the given number of requests.
+     *
+     * @param capacity the minimum capacity, rounded up to a power of two
+     */
+    public MoveIntentQueue(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new Request[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Appends a request if there is room for it.
+     *
+     * @param request the request
+     * @return false if the queue is full
+     */
+    public boolean offer(Request request) {
+        long position = tail.get();
+        while (true) {
+            int slot = (int) (position & mask);
+            long difference = sequences.get(slot) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots[slot] = request;
+                    sequences.set(slot, position + 1); // Publish
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false; // The consumer has not freed this slot yet
+            } else {
+                position = tail.get(); // Another producer took the slot
+            }
+        }
+    }
+
+    /**
+     * Takes the oldest published request. Consumer only.
+     *
+     * @return the request, or null if none is published
+     */
+    public Request poll() {
+        long position = head;
+        int slot = (int) (position & mask);
+        if (sequences.get(slot) != position + 1) {
+            return null;
+        }
+        Request request = slots[slot];
+        slots[slot] = null;
+        sequences.set(slot, position + slots.length); // Hand the slot back to the producers
+        head = position + 1;
+        return request;
+    }
+
+    /**
+     * Moves up to the given number of published requests into a list, oldest first.
+     * Consumer only.
+     *
+     * @param sink the list to append to
+     * @param max the largest number of requests to take
+     * @return the number of requests taken
+     */
+    public int drainTo(List<Request> sink, int max) {
+        int taken = 0;
+        while (taken < max) {
+            Request request = poll();
+            if (request == null) {
+                break;
+            }
+            sink.add(request);
+            taken++;
+        }
+        return taken;
+    }
+
+    /**
+     * Gets the number of claimed slots not yet consumed, which may include requests
+     * still being published.
+     *
+     * @return the approximate size
+     */
+    public int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    /**
+     * Gets the number of slots.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * A move intent together with the future completed once it was applied or refused.
+     */
+    public static final class Request {
+        private final MoveIntent intent;
+        private final CompletableFuture<Boolean> result = new CompletableFuture<>();
+
+        /**
+         * Creates a request for a move.
+         *
+         * @param intent the move intent
+         */
+        public Request(MoveIntent intent) {
+            this.intent = intent;
+        }
+
+        /**
+         * Gets the requested move.
+         *
+         * @return the move intent
+         */
+        public MoveIntent getIntent() {
+            return intent;
+        }
+
+        /**
+         * Gets the future telling whether the move was applied.
+         *
+         * @return the result future
+         */
+        public CompletableFuture<Boolean> getResult() {
+            return result;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns the move intents of one simulation step into a conflict-free sequence of moves,
+ * independently of the order in which they were planned.
+ * <p>
+ * Intents are taken by ascending priority (the agent first, then enemies by ID) and
+ * checked against the board as it will stand after the moves already accepted, with
+ * the boards' own rule, {@link EntityType#canEnter}. When two entities
+ * want the same cell the higher-priority one gets it, and a cell vacated by an earlier
+ * move may be taken by a later one in the same step, but two entities can never swap
+ * cells: whichever goes first still finds the other in place. Rejected entities stay
+ * where they are. Applying the accepted moves in the returned order therefore always
+ * succeeds.
+ */
+public final class MoveResolver {
+    private static final Comparator<MoveIntent> BY_PRIORITY = Comparator.comparingInt(MoveIntent::getPriority);
+
+    private MoveResolver() {
+    }
+
+    /**
+     * Resolves the intents of one step against the board they were planned on.
+     *
+     * @param view the board as it stood when the intents were planned
+     * @param intents the intents, at most one per entity, in any order
+     * @return the accepted intents, in the order they must be applied
+     */
+    public static List<MoveIntent> resolve(BoardView view, List<MoveIntent> intents) {
+        List<MoveIntent> ordered = new ArrayList<>(intents);
+        ordered.sort(BY_PRIORITY);
+        Map<Integer, EntityType> pending = new HashMap<>();
+        List<MoveIntent> accepted = new ArrayList<>(ordered.size());
+        for (MoveIntent intent : ordered) {
+            int from = intent.getFrom();
+            int to = intent.getTo();
+            if (!view.isValidIndex(from) || !view.isValidIndex(to) || from == to) {
+                continue;
+            }
+            if (entityAt(view, pending, from) != intent.getType()
+                    || !intent.getType().canEnter(entityAt(view, pending, to))) {
+                continue;
+            }
+            pending.put(from, EntityType.EMPTY);
+            pending.put(to, intent.getType());
+            accepted.add(intent);
+        }
+        return accepted;
+    }
+
+    /**
+     * Reads a cell as it will stand after the moves accepted so far.
+     */
+    private static EntityType entityAt(BoardView view, Map<Integer, EntityType> pending, int cell) {
+        EntityType type = pending.get(cell);
+        return type != null ? type : view.getEntity(cell);
+    }
+}
@@ -0,0 +1,120 @@
+package edu.eci.arsw.concurrent_matrix;
+
+/**
+ * Multi-goal breadth-first search: one pass from the start answers whether any goal
+ * is reachable, which reachable goal is nearest by path length (not by Manhattan
+ * distance) and the path to it. Every step costs the same, so expanding cells in
+ * FIFO order reaches goals in order of their true distance and the search can stop
+ * at the first goal it dequeues.
+ * <p>
+ * Passability matches {@link AStarSearch}, and the search runs on the same per-thread
+ * {@link SearchWorkspace}, so it allocates nothing but the returned path.
+ */
+public final class NearestGoalSearch {
+
+    private NearestGoalSearch() {
+    }
+
+    /**
+     * Finds a shortest path from the start to the nearest reachable goal.
+     * Goals at the same distance are resolved in the neighbour order up, down, left, right.
+     *
+     * @param board the board to search
+     * @param start the start cell
+     * @param goals the goal cells; invalid cells are ignored
+     * @return the path to the nearest goal, or a not-found result if none is reachable
+     */
+    public static PathResult find(BoardView board, int start, int[] goals) {
+        return find(board, start, goals, SearchBudget.UNLIMITED);
+    }
+
+    /**
+     * Finds a shortest path from the start to the nearest reachable goal within a budget.
+     * If the budget runs out first, the result is partial and leads to the queued cell
+     * with the lowest f-score, its distance plus the Manhattan distance to the closest goal.
+     *
+     * @param board the board to search
+     * @param start the start cell
+     * @param goals the goal cells; invalid cells are ignored
+     * @param budget the limit on expansions and time
+     * @return the path to the nearest goal, a partial path, or not found if no goal is reachable
+     */
+    public static PathResult find(BoardView board, int start, int[] goals, SearchBudget budget) {
+        if (!board.isValidIndex(start)) {
+            return PathResult.notFound(start, 0);
+        }
+        SearchWorkspace workspace = SearchWorkspace.acquire();
+        try {
+            workspace.begin(board.getCellCount());
+            boolean anyGoal = false;
+            for (int goal : goals) {
+                if (board.isValidIndex(goal)) {
+                    workspace.markGoal(goal);
+                    anyGoal = true;
+                }
+            }
+            if (!anyGoal) {
+                return PathResult.notFound(start, 0);
+            }
+
+            int[] queue = workspace.queue;
+            int[] neighbors = workspace.neighbors;
+            int head = 0;
+            int tail = 0;
+            workspace.reach(start, 0, -1);
+            queue[tail++] = start;
+
+            while (head < tail) {
+                if (budget.isExhausted(head)) {
+                    int best = bestQueued(board, goals, queue, head, tail, workspace);
+                    return PathResult.partial(start, workspace.pathTo(best), head);
+                }
+                int current = queue[head++];
+                if (workspace.isGoal(current)) {
+                    return PathResult.found(start, workspace.pathTo(current), head);
+                }
+                int distance = workspace.g[current] + 1;
+                int count = board.getAdjacentIndices(current, neighbors);
+                for (int i = 0; i < count; i++) {
+                    int neighbor = neighbors[i];
+                    if (!workspace.isSeen(neighbor) && AStarSearch.isPassable(board.getEntity(neighbor))) {
+                        workspace.reach(neighbor, distance, current);
+                        queue[tail++] = neighbor;
+                    }
+                }
+            }
+            return PathResult.notFound(start, head);
+        } finally {
+            workspace.release();
+        }
+    }
+
+    /**
+     * Picks the queued cell with the lowest distance plus Manhattan distance to the
+     * closest goal, preferring the smaller Manhattan distance on ties.
+     */
+    private static int bestQueued(BoardView board, int[] goals, int[] queue, int head, int tail,
+                                  SearchWorkspace workspace) {
+        int width = board.getWidth();
+        int best = queue[head];
+        long bestKey = Long.MAX_VALUE;
+        for (int i = head; i < tail; i++) {
+            int cell = queue[i];
+            int x = cell / width;
+            int y = cell - x * width;
+            int h = Integer.MAX_VALUE;
+            for (int goal : goals) {
+                if (board.isValidIndex(goal)) {
+                    int goalX = goal / width;
+                    h = Math.min(h, Math.abs(x - goalX) + Math.abs(y - (goal - goalX * width)));
+                }
+            }
+            long key = IndexedMinHeap.key(workspace.g[cell] + h, h);
+            if (key < bestKey) {
+                bestKey = key;
+                best = cell;
+            }
+        }
+        return best;
+    }
+}
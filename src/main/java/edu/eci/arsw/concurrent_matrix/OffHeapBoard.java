@@ -0,0 +1,37 @@
+package edu.eci.arsw.concurrent_matrix;
+
+/**
+ * Board variant whose cells live off-heap in an {@link OffHeapCellStore}, for boards
+ * with hundreds of millions of cells. It keeps the board-wide locking of {@link Board}
+ * but does not maintain occupancy bit planes, which would put a heap array of half a
+ * byte per cell back. Snapshot blocks, the connectivity index and flow fields built
+ * from it are allocated through the store too, so they stay off-heap as well. Call
+ * {@link #close()} to free the cells deterministically.
+ */
+public class OffHeapBoard extends Board {
+    private final OffHeapCellStore cells;
+
+    /**
+     * Allocates a new empty off-heap board.
+     *
+     * @param width number of columns
+     * @param height number of rows
+     */
+    public OffHeapBoard(int width, int height) {
+        this(width, height, new OffHeapCellStore(checkedCellCount(width, height)));
+    }
+
+    private OffHeapBoard(int width, int height, OffHeapCellStore cells) {
+        super(width, height, cells, false);
+        this.cells = cells;
+    }
+
+    /**
+     * Checks whether the off-heap cells have been freed.
+     *
+     * @return true once the board has been closed
+     */
+    public boolean isClosed() {
+        return cells.isClosed();
+    }
+}
@@ -0,0 +1,188 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Cell store kept outside the Java heap in a direct ByteBuffer, so very large boards
+ * add neither heap footprint nor GC work. The memory is sized exactly once and is
+ * released immediately by {@link #close()} instead of waiting for the buffer to be
+ * garbage collected, together with every buffer {@link #allocate(int)} handed out.
+ * Any access after that throws an {@link IllegalStateException}.
+ */
+public class OffHeapCellStore implements CellStore {
+    private static final int FILL_CHUNK = 64 * 1024;
+    private static final int SLAB_SIZE = 1 << 20;
+    private static final MethodHandle INVOKE_CLEANER = findCleaner();
+
+    private final int size;
+    private volatile ByteBuffer buffer;
+    private ByteBuffer slab; // Guarded by this
+    // Guarded by this: every direct buffer allocated, weakly so the collector still frees unused ones
+    private final List<WeakReference<ByteBuffer>> allocations = new ArrayList<>();
+
+    /**
+     * Allocates an off-heap store with the given number of cells, all set to code 0.
+     * 
+     * @param size the cell count
+     */
+    public OffHeapCellStore(int size) {
+        this.size = size;
+        this.buffer = ByteBuffer.allocateDirect(size);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public byte get(int index) {
+        return cells().get(index);
+    }
+
+    @Override
+    public void set(int index, byte code) {
+        cells().put(index, code);
+    }
+
+    @Override
+    public void fill(byte code) {
+        byte[] chunk = new byte[Math.min(FILL_CHUNK, size)];
+        Arrays.fill(chunk, code);
+        ByteBuffer target = cells().duplicate();
+        target.clear();
+        while (target.hasRemaining()) {
+            target.put(chunk, 0, Math.min(chunk.length, target.remaining()));
+        }
+    }
+
+    @Override
+    public void copyTo(byte[] target) {
+        cells().get(0, target, 0, size);
+    }
+
+    @Override
+    public void copyTo(int from, ByteBuffer target) {
+        target.put(0, cells(), from, target.capacity());
+    }
+
+    /**
+     * Allocates derived data off-heap too. Small buffers, like snapshot blocks, are
+     * carved out of shared {@value #SLAB_SIZE}-byte direct slabs so each costs one
+     * buffer object on the heap rather than a direct allocation of its own; a slab is
+     * freed by the garbage collector once no buffer carved out of it is reachable, and
+     * by {@link #close()} otherwise.
+     */
+    @Override
+    public synchronized ByteBuffer allocate(int bytes) {
+        cells(); // Refuses allocations once closed
+        if (bytes > SLAB_SIZE / 4) {
+            return track(ByteBuffer.allocateDirect(bytes));
+        }
+        if (slab == null || slab.remaining() < bytes) {
+            slab = track(ByteBuffer.allocateDirect(SLAB_SIZE));
+        }
+        ByteBuffer carved = slab.slice(slab.position(), bytes);
+        slab.position(slab.position() + bytes);
+        return carved;
+    }
+
+    /**
+     * Frees a buffer with a direct allocation of its own right away. Buffers carved out
+     * of a slab share it with others and are left to the garbage collector.
+     */
+    @Override
+    public synchronized void release(ByteBuffer released) {
+        for (int i = 0; i < allocations.size(); i++) {
+            if (allocations.get(i).get() == released) {
+                allocations.remove(i);
+                free(released);
+                return;
+            }
+        }
+    }
+
+    private ByteBuffer track(ByteBuffer allocated) {
+        allocations.removeIf(reference -> reference.get() == null);
+        allocations.add(new WeakReference<>(allocated));
+        return allocated;
+    }
+
+    private ByteBuffer cells() {
+        ByteBuffer cells = buffer;
+        if (cells == null) {
+            throw new IllegalStateException("Off-heap cell store is closed");
+        }
+        return cells;
+    }
+
+    /**
+     * Checks whether the off-heap memory has been released.
+     * 
+     * @return true once {@link #close()} has run
+     */
+    public boolean isClosed() {
+        return buffer == null;
+    }
+
+    /**
+     * Frees the cells and every buffer allocated from the store right away. The store
+     * refuses any further access, but buffers it handed out must no longer be read:
+     * close it only once every thread using it has stopped.
+     */
+    @Override
+    public synchronized void close() {
+        ByteBuffer released = buffer;
+        if (released == null) {
+            return;
+        }
+        buffer = null;
+        free(released);
+        for (WeakReference<ByteBuffer> reference : allocations) {
+            ByteBuffer allocated = reference.get();
+            if (allocated != null) {
+                free(allocated);
+            }
+        }
+        allocations.clear();
+        slab = null;
+    }
+
+    private static void free(ByteBuffer released) {
+        if (INVOKE_CLEANER != null) {
+            try {
+                INVOKE_CLEANER.invokeExact(released);
+            } catch (Throwable e) {
+                System.err.println("Could not free off-heap board memory: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Looks up {@code sun.misc.Unsafe.invokeCleaner}, the supported way to free a direct
+     * buffer eagerly on JDK 9+. Without it memory is reclaimed when the buffer is collected.
+     * 
+     * @return a handle taking the buffer to free, or null if unavailable
+     */
+    private static MethodHandle findCleaner() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            Object unsafe = theUnsafe.get(null);
+            return MethodHandles.lookup()
+                                .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                                .bindTo(unsafe);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of planned paths, keyed by (start cell, goal cell). Entities that
+ * ask for a path from nearly the same start to the same goal tick after tick reuse the
+ * cached route instead of searching again.
+ * <p>
+ * Invalidation works like {@link DStarLitePlanner}'s change detection: whenever the
+ * cache sees a new board version it compares the cells of the moving blockers (the
+ * enemies) with those it saw last, and only the routes crossing a cell that gained a
+ * blocker are marked, through an index from cells to the routes that cross them. No
+ * route is re-walked; an entry is valid as long as no cell still ahead of it was
+ * marked. A change of the obstacle layout drops every entry. A valid cached route is
+ * kept even when a shorter one opens up. Each hit also stores the rest of the route
+ * under the next cell, so the entity finds it again after its step.
+ * <p>
+ * Thread-safe: all operations synchronize on the cache, so one cache can be shared by
+ * every entity of a board. A cache must only be used with one board.
+ */
+public class PathCache {
+    /**
+     * Maximum number of entries of a cache built with the no-argument constructor.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * Returned by {@link #nextStep} when no valid cached route exists.
+     */
+    public static final int MISS = -1;
+
+    private final int capacity;
+    private final LinkedHashMap<Long, Entry> entries;
+    private final Map<Integer, List<Route>> routesByCell = new HashMap<>();
+    private long checkedVersion = -1;
+    private long obstacleVersion = -1;
+    private int[] blockers = new int[0];
+    private long hits;
+    private long misses;
+    private long invalidations;
+    private long evictions;
+
+    /**
+     * Creates a cache holding up to {@link #DEFAULT_CAPACITY} routes.
+     */
+    public PathCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a cache holding up to the given number of routes.
+     *
+     * @param capacity the maximum number of entries
+     */
+    public PathCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, PathCache.Entry> eldest) {
+                if (size() > PathCache.this.capacity) {
+                    evictions++;
+                    release(eldest.getValue().route);
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Looks up a cached route from the start to any of the goals and returns its first
+     * step. When several goals have a valid route, the shortest one is used.
+     *
+     * @param board the board the routes were planned on
+     * @param start the start cell
+     * @param goals the goal cells
+     * @return the next cell to move to, or {@link #MISS}
+     */
+    public synchronized int nextStep(BoardView board, int start, int[] goals) {
+        PathResult route = lookup(board, start, goals);
+        return route == null ? MISS : route.getNextStep();
+    }
+
+    /**
+     * Looks up a cached route from the start to any of the goals. When several goals
+     * have a valid route, the shortest one is returned.
+     *
+     * @param board the board the routes were planned on
+     * @param start the start cell
+     * @param goals the goal cells
+     * @return the rest of the cached route, with no expansions, or null if none is valid
+     */
+    public synchronized PathResult lookup(BoardView board, int start, int[] goals) {
+        checkBlockers(board);
+        Entry best = null;
+        int bestGoal = -1;
+        for (int goal : goals) {
+            Entry entry = validEntry(start, goal);
+            if (entry != null && (best == null || entry.remaining() < best.remaining())) {
+                best = entry;
+                bestGoal = goal;
+            }
+        }
+        if (best == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        int[] path = best.route.path;
+        if (best.remaining() > 1) {
+            store(key(path[best.offset], bestGoal), new Entry(best.route, best.offset + 1));
+        }
+        return PathResult.found(start, Arrays.copyOfRange(path, best.offset, path.length), 0);
+    }
+
+    /**
+     * Caches the route of a successful search under its start and goal cells, and the
+     * rest of it under its first step. Results that were not found or have no steps are
+     * ignored.
+     *
+     * @param board the board the search ran on
+     * @param start the start cell
+     * @param result the search result
+     */
+    public synchronized void put(BoardView board, int start, PathResult result) {
+        if (!result.isFound() || result.getLength() == 0) {
+            return;
+        }
+        checkBlockers(board); // The route avoids the blockers of this board, now the ones tracked
+        Route route = new Route(result.toArray());
+        for (int cell : route.path) {
+            routesByCell.computeIfAbsent(cell, c -> new ArrayList<>(1)).add(route);
+        }
+        store(key(start, result.getGoal()), new Entry(route, 0));
+        if (route.path.length > 1) {
+            store(key(route.path[0], result.getGoal()), new Entry(route, 1));
+        }
+    }
+
+    /**
+     * Removes every entry; the metrics are kept.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        routesByCell.clear();
+    }
+
+    /**
+     * Gets the number of cached routes.
+     *
+     * @return the entry count
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the number of lookups answered from the cache.
+     *
+     * @return the hit count
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Gets the number of lookups that found no valid route.
+     *
+     * @return the miss count
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Gets the number of entries dropped because a cell on their route became blocked.
+     *
+     * @return the invalidation count
+     */
+    public synchronized long getInvalidations() {
+        return invalidations;
+    }
+
+    /**
+     * Gets the number of entries evicted to stay within the capacity.
+     *
+     * @return the eviction count
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Gets the entry for a start and goal, dropping it if a cell still ahead of it
+     * gained a blocker.
+     */
+    private Entry validEntry(int start, int goal) {
+        long key = key(start, goal);
+        Entry entry = entries.get(key);
+        if (entry == null || entry.route.lastBlocked < entry.offset) {
+            return entry;
+        }
+        entries.remove(key);
+        release(entry.route);
+        invalidations++;
+        return null;
+    }
+
+    /**
+     * Brings the tracked blockers up to the board's version: marks the routes crossing
+     * every cell that gained an enemy, or drops everything if obstacles changed.
+     */
+    private void checkBlockers(BoardView board) {
+        long version = board.getVersion();
+        if (version == checkedVersion) {
+            return;
+        }
+        checkedVersion = version;
+        int[] current = enemyCells(board);
+        if (board.getObstacleVersion() != obstacleVersion) {
+            obstacleVersion = board.getObstacleVersion();
+            invalidations += entries.size();
+            clear();
+        } else {
+            int i = 0;
+            for (int cell : current) {
+                while (i < blockers.length && blockers[i] < cell) {
+                    i++;
+                }
+                if (i == blockers.length || blockers[i] != cell) {
+                    markRoutesCrossing(cell);
+                }
+            }
+        }
+        blockers = current;
+    }
+
+    private void markRoutesCrossing(int cell) {
+        List<Route> routes = routesByCell.remove(cell);
+        if (routes == null) {
+            return;
+        }
+        for (Route route : routes) {
+            int[] path = route.path;
+            for (int i = path.length - 1; i > route.lastBlocked; i--) {
+                if (path[i] == cell) {
+                    route.lastBlocked = i;
+                    break;
+                }
+            }
+        }
+    }
+
+    private static int[] enemyCells(BoardView board) {
+        List<Position> enemies = board.getEnemyPositions();
+        int[] cells = new int[enemies.size()];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = board.indexOf(enemies.get(i));
+        }
+        Arrays.sort(cells);
+        return cells;
+    }
+
+    private void store(long key, Entry entry) {
+        entry.route.entries++;
+        Entry replaced = entries.put(key, entry);
+        if (replaced != null) {
+            release(replaced.route);
+        }
+    }
+
+    /**
+     * Forgets a route in the cell index once no entry refers to it any more.
+     */
+    private void release(Route route) {
+        if (--route.entries > 0) {
+            return;
+        }
+        for (int cell : route.path) {
+            List<Route> routes = routesByCell.get(cell);
+            if (routes != null && routes.remove(route) && routes.isEmpty()) {
+                routesByCell.remove(cell);
+            }
+        }
+    }
+
+    private static long key(int start, int goal) {
+        return ((long) start << 32) | (goal & 0xFFFFFFFFL);
+    }
+
+    /**
+     * The cells of a searched path, shared between the entries of successive steps,
+     * with the furthest step found blocked since it was cached.
+     */
+    private static final class Route {
+        final int[] path;
+        int lastBlocked = -1;
+        int entries;
+
+        Route(int[] path) {
+            this.path = path;
+        }
+    }
+
+    /**
+     * A cached route from {@code offset} on.
+     */
+    private static final class Entry {
+        final Route route;
+        final int offset;
+
+        Entry(Route route, int offset) {
+            this.route = route;
+            this.offset = offset;
+        }
+
+        int remaining() {
+            return route.path.length - offset;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package edu.eci.arsw.concurrent_matrix;
+
+/**
+ * Plans the agent's route towards the phones. A planner may keep state between
+ * calls, so each agent owns its own instance.
+ */
+@FunctionalInterface
+public interface PathPlanner {
+
+    /**
+     * Plans a path from the agent to the nearest reachable phone of a snapshot.
+     *
+     * @param view the snapshot to plan on
+     * @return the path, not found if the agent is missing or no phone is reachable
+     */
+    PathResult plan(BoardSnapshot view);
+
+    /**
+     * Plans like {@link #plan(BoardSnapshot)}, stopping once the budget is spent. The
+     * result is then {@link PathResult#isPartial() partial}: its first step, if it has
+     * one, leads towards a phone, and a planner that keeps state may finish the work on
+     * its next call. Planners that cannot stop early ignore the budget.
+     *
+     * @param view the snapshot to plan on
+     * @param budget the limit on expansions and time
+     * @return the path, a partial path, or not found if no phone is reachable
+     */
+    default PathResult plan(BoardSnapshot view, SearchBudget budget) {
+        return plan(view);
+    }
+}
@@ -0,0 +1,139 @@
+package edu.eci.arsw.concurrent_matrix;
+
+/**
+ * Immutable outcome of a path search: whether a goal was reached, the cells to step
+ * through to get there (start excluded) and how many nodes the search expanded.
+ * <p>
+ * A search stopped by its {@link SearchBudget} returns a partial result: not found,
+ * but with a path towards the most promising frontier cell, so the caller can still
+ * take a step.
+ */
+public final class PathResult {
+    private static final int[] NO_STEPS = new int[0];
+
+    private final boolean found;
+    private final boolean partial;
+    private final int start;
+    private final int[] path;
+    private final int expansions;
+
+    private PathResult(boolean found, boolean partial, int start, int[] path, int expansions) {
+        this.found = found;
+        this.partial = partial;
+        this.start = start;
+        this.path = path;
+        this.expansions = expansions;
+    }
+
+    /**
+     * Creates the result of a successful search.
+     *
+     * @param start the start cell
+     * @param path the cells from the start (excluded) to the goal (included)
+     * @param expansions the number of nodes expanded
+     * @return the result
+     */
+    public static PathResult found(int start, int[] path, int expansions) {
+        return new PathResult(true, false, start, path, expansions);
+    }
+
+    /**
+     * Creates the result of a search that ran out of budget before reaching a goal.
+     *
+     * @param start the start cell
+     * @param path the cells from the start (excluded) to the chosen frontier cell (included)
+     * @param expansions the number of nodes expanded
+     * @return the result
+     */
+    public static PathResult partial(int start, int[] path, int expansions) {
+        return new PathResult(false, true, start, path, expansions);
+    }
+
+    /**
+     * Creates the result of a search that reached no goal.
+     *
+     * @param start the start cell
+     * @param expansions the number of nodes expanded
+     * @return the result
+     */
+    public static PathResult notFound(int start, int expansions) {
+        return new PathResult(false, false, start, NO_STEPS, expansions);
+    }
+
+    /**
+     * Checks whether a goal was reached.
+     *
+     * @return true if a path exists
+     */
+    public boolean isFound() {
+        return found;
+    }
+
+    /**
+     * Checks whether the search ran out of budget; the path then leads towards, not
+     * to, a goal.
+     *
+     * @return true for a partial result
+     */
+    public boolean isPartial() {
+        return partial;
+    }
+
+    /**
+     * Gets the number of steps of the path.
+     *
+     * @return the path length, 0 if the start was already a goal or no path exists
+     */
+    public int getLength() {
+        return path.length;
+    }
+
+    /**
+     * Gets one cell of the path.
+     *
+     * @param step the step number, from 0 (the first move) to {@link #getLength()} - 1
+     * @return the cell index
+     */
+    public int getStep(int step) {
+        return path[step];
+    }
+
+    /**
+     * Gets the first move of the path.
+     *
+     * @return the cell to move to, or -1 if there is none
+     */
+    public int getNextStep() {
+        return path.length == 0 ? -1 : path[0];
+    }
+
+    /**
+     * Gets the goal the path leads to.
+     *
+     * @return the goal cell, the start if it was a goal itself, or -1 if no path exists
+     */
+    public int getGoal() {
+        if (!found) {
+            return -1;
+        }
+        return path.length == 0 ? start : path[path.length - 1];
+    }
+
+    /**
+     * Gets the number of nodes the search expanded.
+     *
+     * @return the expansion count
+     */
+    public int getExpansions() {
+        return expansions;
+    }
+
+    /**
+     * Copies the path into a new array.
+     *
+     * @return the cells from the start (excluded) to the goal (included)
+     */
+    public int[] toArray() {
+        return path.clone();
+    }
+}
@@ -0,0 +1,221 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import java.util.List;
+
+/**
+ * Enumeration of the pathfinding algorithms the agent can plan with. All but
+ * {@link #HIERARCHICAL} find a shortest path to the nearest reachable phone; they
+ * differ in how much work each tick costs on different kinds of boards.
+ * <p>
+ * Given a {@link PathCache}, the planners that search from scratch every tick
+ * ({@link #NEAREST_GOAL}, {@link #ASTAR} and {@link #JPS}) follow a cached route for
+ * as long as no enemy steps onto it, and only search again when it is blocked.
+ * <p>
+ * All but {@link #JPS} and {@link #HIERARCHICAL} honour a {@link SearchBudget} given
+ * to {@link PathPlanner#plan(BoardSnapshot, SearchBudget)} and return a partial path
+ * when it runs out.
+ */
+public enum PathfindingMode {
+    /**
+     * D* Lite that repairs the previous tick's search (the default).
+     */
+    INCREMENTAL(false) {
+        @Override
+        public PathPlanner createPlanner() {
+            return new DStarLitePlanner();
+        }
+    },
+
+    /**
+     * One multi-goal breadth-first search per tick.
+     */
+    NEAREST_GOAL(true) {
+        @Override
+        public PathPlanner createPlanner() {
+            return budgeted((view, budget) -> view.getAgentPosition() == null
+                    ? PathResult.notFound(-1, 0)
+                    : GameUtils.findPathToNearestGoal(view, view.getAgentPosition(), view.getPhonePositions(),
+                                                      budget));
+        }
+    },
+
+    /**
+     * One A* search per phone per tick.
+     */
+    ASTAR(true) {
+        @Override
+        public PathPlanner createPlanner() {
+            return budgeted((view, budget) -> shortestToAnyPhone(view, (board, start, goal) ->
+                    AStarSearch.findPath(board, start, goal, null, budget)));
+        }
+    },
+
+    /**
+     * One A* search per phone per tick, guided by a {@link LandmarkHeuristic} that is
+     * rebuilt whenever obstacles change, for maze-like boards.
+     */
+    ALT(false) {
+        @Override
+        public PathPlanner createPlanner() {
+            return new PathPlanner() {
+                private LandmarkHeuristic landmarks;
+
+                @Override
+                public PathResult plan(BoardSnapshot view) {
+                    return plan(view, SearchBudget.UNLIMITED);
+                }
+
+                @Override
+                public PathResult plan(BoardSnapshot view, SearchBudget budget) {
+                    if (landmarks == null || !landmarks.isCurrent(view)) {
+                        landmarks = LandmarkHeuristic.build(view, LandmarkHeuristic.DEFAULT_LANDMARKS);
+                    }
+                    LandmarkHeuristic heuristic = landmarks;
+                    return shortestToAnyPhone(view, (board, start, goal) ->
+                            AStarSearch.findPath(board, start, goal, heuristic, budget));
+                }
+            };
+        }
+    },
+
+    /**
+     * One Jump Point Search per phone per tick, for large, mostly open boards.
+     */
+    JPS(true) {
+        @Override
+        public PathPlanner createPlanner() {
+            return view -> shortestToAnyPhone(view, JumpPointSearch::findPath);
+        }
+    },
+
+    /**
+     * HPA* over a precomputed cluster graph, for boards in the thousands of cells per
+     * side. Routes may be slightly longer than the shortest ones.
+     */
+    HIERARCHICAL(false) {
+        @Override
+        public PathPlanner createPlanner() {
+            return new HierarchicalPlanner();
+        }
+    };
+
+    private final boolean cacheable;
+
+    PathfindingMode(boolean cacheable) {
+        this.cacheable = cacheable;
+    }
+
+    /**
+     * Creates a new planner of this mode for one agent.
+     *
+     * @return the planner
+     */
+    public abstract PathPlanner createPlanner();
+
+    /**
+     * Checks whether the planners of this mode follow cached routes, so that giving
+     * them a {@link PathCache} is worth it.
+     *
+     * @return true for the modes that search from scratch every tick
+     */
+    public boolean usesPathCache() {
+        return cacheable;
+    }
+
+    /**
+     * Creates a new planner of this mode for one agent, reusing the routes of a path
+     * cache shared with the other entities of the board when the mode
+     * {@link #usesPathCache() uses one}; the other modes ignore the cache.
+     *
+     * @param cache the path cache of the board
+     * @return the planner
+     */
+    public PathPlanner createPlanner(PathCache cache) {
+        return cacheable ? cached(createPlanner(), cache) : createPlanner();
+    }
+
+    /**
+     * Answers from the cache while it holds an unblocked route from the agent to a
+     * phone, and caches the planner's route otherwise.
+     */
+    private static PathPlanner cached(PathPlanner planner, PathCache cache) {
+        return budgeted((view, budget) -> {
+            Position agent = view.getAgentPosition();
+            if (agent == null) {
+                return PathResult.notFound(-1, 0);
+            }
+            int start = view.indexOf(agent);
+            List<Position> phones = view.getPhonePositions();
+            int[] goals = new int[phones.size()];
+            for (int i = 0; i < goals.length; i++) {
+                goals[i] = view.indexOf(phones.get(i));
+            }
+            PathResult route = cache.lookup(view, start, goals);
+            if (route == null) {
+                route = planner.plan(view, budget);
+                cache.put(view, start, route); // Partial routes are not cached
+            }
+            return route;
+        });
+    }
+
+    /**
+     * Turns a search that takes a budget into a planner honouring
+     * {@link PathPlanner#plan(BoardSnapshot, SearchBudget)}.
+     */
+    private static PathPlanner budgeted(BudgetedPlanner planner) {
+        return new PathPlanner() {
+            @Override
+            public PathResult plan(BoardSnapshot view) {
+                return planner.plan(view, SearchBudget.UNLIMITED);
+            }
+
+            @Override
+            public PathResult plan(BoardSnapshot view, SearchBudget budget) {
+                return planner.plan(view, budget);
+            }
+        };
+    }
+
+    /**
+     * Runs a single-goal search towards every phone, all under one budget, and keeps
+     * the shortest path. Once a search runs out of budget the remaining phones are
+     * skipped, and its partial path is returned if no phone was reached before.
+     */
+    private static PathResult shortestToAnyPhone(BoardSnapshot view, GoalSearch search) {
+        Position agent = view.getAgentPosition();
+        if (agent == null) {
+            return PathResult.notFound(-1, 0);
+        }
+        int start = view.indexOf(agent);
+        PathResult best = PathResult.notFound(start, 0);
+        List<Position> phones = view.getPhonePositions();
+        PathResult partial = null;
+        for (Position phone : phones) {
+            PathResult result = search.findPath(view, start, view.indexOf(phone));
+            if (result.isFound() && (!best.isFound() || result.getLength() < best.getLength())) {
+                best = result;
+            } else if (result.isPartial()) {
+                partial = result; // The budget is spent, the other phones would stop at once
+                break;
+            }
+        }
+        return best.isFound() || partial == null ? best : partial;
+    }
+
+    /**
+     * A search of the agent's route that takes a budget.
+     */
+    @FunctionalInterface
+    interface BudgetedPlanner {
+        PathResult plan(BoardSnapshot view, SearchBudget budget);
+    }
+
+    /**
+     * A single-goal search such as {@link AStarSearch#findPath}.
+     */
+    @FunctionalInterface
+    interface GoalSearch {
+        PathResult findPath(BoardView board, int start, int goal);
+    }
+}
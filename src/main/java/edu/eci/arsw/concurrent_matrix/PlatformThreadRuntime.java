@@ -0,0 +1,14 @@
+package edu.eci.arsw.concurrent_matrix;
+
+/**
+ * Runtime running each entity on its own platform thread, the original model: simple,
+ * but every entity costs an OS thread and its stack, which caps a game at a few
+ * thousand enemies.
+ */
+public class PlatformThreadRuntime extends ThreadPerTaskRuntime {
+
+    @Override
+    protected Thread newThread(EntityTask task, String name) {
+        return new Thread(task, name);
+    }
+}
@@ -1,7 +1,5 @@
 package edu.eci.arsw.concurrent_matrix;
 
-import java.util.Objects;
-
 /**
  * Represents a position in the 2D matrix with x and y coordinates.
  */
@@ -58,7 +56,7 @@ public class Position {
 
     @Override
     public int hashCode() {
-        return Objects.hash(x, y);
+        return 31 * x + y;
     }
 
     @Override
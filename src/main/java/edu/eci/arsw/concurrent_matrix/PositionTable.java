@@ -0,0 +1,61 @@
+package edu.eci.arsw.concurrent_matrix;
+
+/**
+ * Per-board table of interned {@link Position} objects, one per cell index, so code
+ * that works with packed cell indices can hand out Position objects without
+ * allocating a new one each time. Pages of the table are created lazily, so cells
+ * that are never asked for cost nothing.
+ * <p>
+ * Lookups race benignly: Positions are immutable, and two threads creating the same
+ * entry at once simply produce two equal Positions, one of which is kept.
+ */
+public class PositionTable {
+    private static final int PAGE_BITS = 12;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    private final int width;
+    private final int size;
+    private final Position[][] pages;
+
+    /**
+     * Creates an empty table for a board of the given dimensions.
+     * 
+     * @param width number of board columns
+     * @param height number of board rows
+     */
+    public PositionTable(int width, int height) {
+        this.width = width;
+        this.size = width * height;
+        this.pages = new Position[(int) (((long) width * height + PAGE_SIZE - 1) >>> PAGE_BITS)][];
+    }
+
+    /**
+     * Gets the number of cells covered by the table.
+     *
+     * @return the board's cell count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the interned position of a cell index.
+     * 
+     * @param index the cell index, which must be within the board
+     * @return the position of that cell
+     */
+    public Position get(int index) {
+        Position[] page = pages[index >>> PAGE_BITS];
+        if (page == null) {
+            page = new Position[PAGE_SIZE];
+            pages[index >>> PAGE_BITS] = page;
+        }
+        Position position = page[index & PAGE_MASK];
+        if (position == null) {
+            position = new Position(index / width, index % width);
+            page[index & PAGE_MASK] = position;
+        }
+        return position;
+    }
+}
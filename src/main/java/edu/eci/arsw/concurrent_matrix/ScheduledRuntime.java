@@ -0,0 +1,104 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runtime running every entity's moves as a periodic task on one fixed-size
+ * {@link ScheduledThreadPoolExecutor}, sized to the core count by default. An entity
+ * owns no thread: between moves it is only an entry in the scheduler's queue, so the
+ * thread count stays constant and memory grows by a few objects per enemy.
+ * <p>
+ * Each task calls {@link EntityTask#step()} with a fixed delay after the previous
+ * step ends, so the steps of one entity never overlap, and is cancelled once the step
+ * reports the game over for it. Stopping cancels everything and shuts the pool down
+ * with one bounded wait.
+ */
+public class ScheduledRuntime implements EntityRuntime {
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final AtomicInteger taskCount = new AtomicInteger();
+
+    /**
+     * Creates a runtime with one scheduler thread per available processor.
+     */
+    public ScheduledRuntime() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a runtime with the given number of scheduler threads.
+     *
+     * @param threads the number of threads running the moves
+     */
+    public ScheduledRuntime(int threads) {
+        AtomicInteger threadIds = new AtomicInteger();
+        this.scheduler = new ScheduledThreadPoolExecutor(threads, task -> {
+            Thread thread = new Thread(task, "Entity-Scheduler-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    @Override
+    public void start(EntityTask task) {
+        PeriodicStep step = new PeriodicStep(task);
+        step.future = scheduler.scheduleWithFixedDelay(step, 0, task.getMoveDelay(), TimeUnit.MILLISECONDS);
+        if (step.done) {
+            step.future.cancel(false); // Finished before its future was published
+        }
+        taskCount.incrementAndGet();
+    }
+
+    @Override
+    public boolean stop(long timeoutMillis) throws InterruptedException {
+        scheduler.shutdownNow();
+        return scheduler.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public int getTaskCount() {
+        return taskCount.get();
+    }
+
+    /**
+     * Gets the number of scheduler threads, whatever the number of entities.
+     *
+     * @return the pool size
+     */
+    public int getThreadCount() {
+        return scheduler.getCorePoolSize();
+    }
+
+    /**
+     * One entity's periodic move, cancelling itself once the entity is done.
+     */
+    private static final class PeriodicStep implements Runnable {
+        private final EntityTask task;
+        volatile ScheduledFuture<?> future;
+        volatile boolean done;
+
+        PeriodicStep(EntityTask task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            if (done) {
+                return;
+            }
+            try {
+                done = !task.step();
+            } catch (Exception e) {
+                done = true;
+                task.onError(e);
+            }
+            ScheduledFuture<?> scheduled = future;
+            if (done && scheduled != null) {
+                scheduled.cancel(false);
+            }
+        }
+    }
+}
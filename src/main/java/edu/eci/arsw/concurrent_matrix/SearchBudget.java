@@ -0,0 +1,75 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import java.time.Duration;
+
+/**
+ * Limit on the work of one search: a maximum number of node expansions, a wall-clock
+ * deadline, or both. A search that exhausts its budget stops and returns a
+ * {@link PathResult#isPartial() partial} result instead of running on, which keeps
+ * an entity's decision time bounded on large or unlucky boards.
+ * <p>
+ * The deadline is fixed when the budget is created, so a new budget is needed for each
+ * decision. The clock is only read every {@value #CLOCK_INTERVAL} expansions.
+ */
+public final class SearchBudget {
+    /**
+     * A budget that never runs out.
+     */
+    public static final SearchBudget UNLIMITED = new SearchBudget(Integer.MAX_VALUE, Long.MAX_VALUE);
+
+    private static final int CLOCK_INTERVAL = 256;
+
+    private final int maxExpansions;
+    private final long deadline;
+
+    private SearchBudget(int maxExpansions, long deadline) {
+        this.maxExpansions = maxExpansions;
+        this.deadline = deadline;
+    }
+
+    /**
+     * Creates a budget of node expansions.
+     *
+     * @param maxExpansions the number of nodes a search may expand
+     * @return the budget
+     */
+    public static SearchBudget ofExpansions(int maxExpansions) {
+        if (maxExpansions <= 0) {
+            throw new IllegalArgumentException("Expansion budget must be positive: " + maxExpansions);
+        }
+        return new SearchBudget(maxExpansions, Long.MAX_VALUE);
+    }
+
+    /**
+     * Creates a budget that runs out once the given time has passed from now.
+     *
+     * @param timeout the time the search may take
+     * @return the budget
+     */
+    public static SearchBudget ofTimeout(Duration timeout) {
+        return new SearchBudget(Integer.MAX_VALUE, System.nanoTime() + timeout.toNanos());
+    }
+
+    /**
+     * Creates a budget that also runs out once the given time has passed from now.
+     *
+     * @param timeout the time the search may take
+     * @return a budget with this one's expansion limit and the new deadline
+     */
+    public SearchBudget withTimeout(Duration timeout) {
+        return new SearchBudget(maxExpansions, System.nanoTime() + timeout.toNanos());
+    }
+
+    /**
+     * Checks whether a search that has expanded the given number of nodes must stop.
+     *
+     * @param expansions the nodes expanded so far
+     * @return true if the budget is spent
+     */
+    boolean isExhausted(int expansions) {
+        if (expansions >= maxExpansions) {
+            return true;
+        }
+        return deadline != Long.MAX_VALUE && expansions % CLOCK_INTERVAL == 0 && System.nanoTime() - deadline >= 0;
+    }
+}
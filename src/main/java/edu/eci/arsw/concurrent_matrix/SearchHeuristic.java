@@ -0,0 +1,19 @@
+package edu.eci.arsw.concurrent_matrix;
+
+/**
+ * Lower bound on the number of steps between two cells, used by {@link AStarSearch}
+ * to order its open list. Implementations must never overestimate, or A* stops
+ * returning shortest paths.
+ */
+@FunctionalInterface
+public interface SearchHeuristic {
+
+    /**
+     * Estimates the distance from a cell to the goal.
+     *
+     * @param cell the cell index
+     * @param goal the goal cell index
+     * @return a lower bound on the number of steps between them
+     */
+    int estimate(int cell, int goal);
+}
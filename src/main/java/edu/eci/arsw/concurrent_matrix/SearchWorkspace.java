@@ -0,0 +1,219 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Per-thread scratch space for grid searches: g-scores, parents, visit and goal stamps
+ * in primitive arrays indexed by cell, plus an {@link IndexedMinHeap} open list and a
+ * FIFO queue for breadth-first searches.
+ * <p>
+ * Nothing is cleared between searches. Each search gets a new generation number and
+ * a cell's g-score and parent only count when its stamp carries that generation:
+ * {@code generation} marks a cell as seen and {@code generation + 1} as closed.
+ * Goal cells are stamped with the generation in a separate array.
+ * Arrays grow to the largest board the thread has searched and are then reused.
+ * <p>
+ * Platform threads keep their own workspaces, one per level of nesting: a search that
+ * runs another search while it holds a workspace, like {@link HierarchicalPlanner}
+ * refining its route with A*, is handed a second one chained to the first, so the
+ * inner search never overwrites the outer one's state.
+ * <p>
+ * Virtual threads borrow one from a shared pool of at most one workspace per
+ * processor instead: caching one per thread would keep a board-sized workspace alive
+ * for each of possibly hundreds of thousands of entities, and only about as many
+ * searches as there are carriers run at once.
+ * A search that finds the pool empty gets a new workspace, which goes back to the
+ * pool when it is released, or to the garbage collector if the pool is full.
+ * Every {@link #acquire()} must be paired with a {@link #release()} in a finally block.
+ */
+final class SearchWorkspace {
+    private static final ThreadLocal<SearchWorkspace> CURRENT =
+            ThreadLocal.withInitial(() -> new SearchWorkspace(false));
+    private static final ArrayBlockingQueue<SearchWorkspace> POOL =
+            new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors());
+
+    final IndexedMinHeap open = new IndexedMinHeap(0);
+    final int[] neighbors = new int[4];
+    int[] g = new int[0];
+    int[] parent = new int[0];
+    int[] queue = new int[0];
+    private int[] stamp = new int[0];
+    private int[] goalStamp = new int[0];
+    private int generation;
+    private final boolean pooled;
+    private boolean held;
+    private SearchWorkspace nested;
+
+    private SearchWorkspace(boolean pooled) {
+        this.pooled = pooled;
+    }
+
+    /**
+     * Gets a workspace no other search of the calling thread holds: the first free one
+     * of the thread's chain, or one from the shared pool on a virtual thread. Never
+     * blocks, so a search may acquire a second workspace while holding one.
+     *
+     * @return the workspace, to be handed back with {@link #release()}
+     */
+    static SearchWorkspace acquire() {
+        if (!Thread.currentThread().isVirtual()) {
+            SearchWorkspace workspace = CURRENT.get();
+            while (workspace.held) {
+                if (workspace.nested == null) {
+                    workspace.nested = new SearchWorkspace(false);
+                }
+                workspace = workspace.nested;
+            }
+            workspace.held = true;
+            return workspace;
+        }
+        SearchWorkspace workspace = POOL.poll();
+        return workspace != null ? workspace : new SearchWorkspace(true);
+    }
+
+    /**
+     * Hands a workspace back once its search is done. A pooled workspace returns to the
+     * pool, or is dropped if the pool is already full; a thread's own one stays with it
+     * for its next search at the same nesting level.
+     */
+    void release() {
+        if (pooled) {
+            POOL.offer(this);
+        } else {
+            held = false;
+        }
+    }
+
+    /**
+     * Starts a new search over a board with the given number of cells, invalidating
+     * everything recorded by the previous search.
+     *
+     * @param cellCount the number of cells of the board
+     */
+    void begin(int cellCount) {
+        if (stamp.length < cellCount) {
+            g = new int[cellCount];
+            parent = new int[cellCount];
+            queue = new int[cellCount];
+            stamp = new int[cellCount];
+            goalStamp = new int[cellCount];
+            generation = 0;
+        }
+        open.ensureCapacity(cellCount);
+        open.clear();
+        if (generation >= Integer.MAX_VALUE - 2) {
+            Arrays.fill(stamp, 0);
+            Arrays.fill(goalStamp, 0);
+            generation = 0;
+        }
+        generation += 2;
+    }
+
+    /**
+     * Checks whether a cell has been reached by the current search.
+     *
+     * @param cell the cell index
+     * @return true if the cell has a g-score in this search
+     */
+    boolean isSeen(int cell) {
+        return stamp[cell] >= generation;
+    }
+
+    /**
+     * Checks whether a cell has been expanded by the current search.
+     *
+     * @param cell the cell index
+     * @return true if the cell is closed
+     */
+    boolean isClosed(int cell) {
+        return stamp[cell] == generation + 1;
+    }
+
+    /**
+     * Marks a cell as a goal of the current search.
+     *
+     * @param cell the cell index
+     */
+    void markGoal(int cell) {
+        goalStamp[cell] = generation;
+    }
+
+    /**
+     * Checks whether a cell is a goal of the current search.
+     *
+     * @param cell the cell index
+     * @return true if the cell was marked with {@link #markGoal(int)}
+     */
+    boolean isGoal(int cell) {
+        return goalStamp[cell] == generation;
+    }
+
+    /**
+     * Records the best known way of reaching a cell.
+     *
+     * @param cell the cell index
+     * @param gScore the cost of reaching it
+     * @param from the cell it was reached from, or -1 for the start
+     */
+    void reach(int cell, int gScore, int from) {
+        stamp[cell] = generation;
+        g[cell] = gScore;
+        parent[cell] = from;
+    }
+
+    /**
+     * Checks whether a new way of reaching a cell that is not closed beats the known
+     * one: it costs less, or as much through an earlier first step, the direction being
+     * the one packed in the cell's open-list key by {@link IndexedMinHeap#key(int, int, int)}.
+     *
+     * @param cell the cell index
+     * @param gScore the cost of the new way
+     * @param direction the first step from the start the new way begins with
+     * @return true if the cell is unseen or the new way is better
+     */
+    boolean improves(int cell, int gScore, int direction) {
+        if (!isSeen(cell) || gScore < g[cell]) {
+            return true;
+        }
+        return gScore == g[cell] && direction < IndexedMinHeap.directionOf(open.keyOf(cell));
+    }
+
+    /**
+     * Marks a cell as expanded.
+     *
+     * @param cell the cell index
+     */
+    void close(int cell) {
+        stamp[cell] = generation + 1;
+    }
+
+    /**
+     * Walks the parents from a reached cell back to the start and returns the cell
+     * right after the start.
+     *
+     * @param cell a reached cell other than the start
+     * @return the first step from the start towards that cell
+     */
+    int firstStepTo(int cell) {
+        while (parent[cell] >= 0 && parent[parent[cell]] >= 0) {
+            cell = parent[cell];
+        }
+        return cell;
+    }
+
+    /**
+     * Builds the path from the start to a reached cell, start excluded.
+     *
+     * @param cell the reached cell
+     * @return the cells to step through, ending with the given cell
+     */
+    int[] pathTo(int cell) {
+        int[] path = new int[g[cell]];
+        for (int i = path.length - 1; i >= 0; i--) {
+            path[i] = cell;
+            cell = parent[cell];
+        }
+        return path;
+    }
+}
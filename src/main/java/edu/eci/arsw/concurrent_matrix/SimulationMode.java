@@ -0,0 +1,30 @@
+package edu.eci.arsw.concurrent_matrix;
+
+/**
+ * Enumeration of the ways a game can drive its entities.
+ */
+public enum SimulationMode {
+    /**
+     * One platform thread per entity, each sleeping between its own moves; the order
+     * of moves is left to the scheduler.
+     */
+    THREADS,
+
+    /**
+     * One virtual thread per entity, running the same tasks as {@link #THREADS} at a
+     * fraction of the memory, for games with very many enemies. Needs Java 21 or later.
+     */
+    VIRTUAL_THREADS,
+
+    /**
+     * Moves run as periodic tasks on a {@link ScheduledRuntime} pool sized to the core
+     * count, so the thread count does not depend on the number of entities.
+     */
+    SCHEDULED,
+
+    /**
+     * A {@link TickEngine} moving every entity once per fixed step, with planning spread
+     * over a worker pool and conflicts resolved deterministically.
+     */
+    TICKS
+}
@@ -0,0 +1,209 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Board owned by a single writer thread (actor model). Entity threads do not write
+ * cells: {@link #submit} puts a {@link MoveIntent} into a lock-free
+ * {@link MoveIntentQueue} and returns a future completed once the owner applied or
+ * refused the move, and {@link #moveEntity(int, int)} submits and waits for that
+ * future, so the agent and enemy tasks run unchanged on this board.
+ * <p>
+ * The owner thread is started by the first submitted move. It drains the queue in
+ * batches of up to {@link #MAX_BATCH} moves, in submission order, and applies each
+ * batch with {@link #applyMoves}, without any lock: it is the only thread writing
+ * moves, and a snapshot that overlaps a batch sees the batch in the write counts and
+ * copies again, so neither movers nor the owner ever take the write lock. Setup writes
+ * ({@link #setupGame()}, {@link #placeEntity}) still take the board lock and must be
+ * done while no move is queued.
+ * <p>
+ * {@link #close()} stops the owner and refuses the moves still queued.
+ */
+public class SingleWriterBoard extends Board {
+    /**
+     * Default number of slots of the move queue.
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 14;
+
+    /**
+     * Largest number of moves applied in one batch.
+     */
+    public static final int MAX_BATCH = 1024;
+
+    private final MoveIntentQueue queue;
+    private volatile Thread owner;
+    private final LongAdder batches = new LongAdder();
+    private volatile boolean running = true;
+
+    /**
+     * Creates a new empty board with a move queue of the default capacity.
+     *
+     * @param width number of columns
+     * @param height number of rows
+     */
+    public SingleWriterBoard(int width, int height) {
+        this(width, height, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new empty board. The owner thread starts with the first move.
+     *
+     * @param width number of columns
+     * @param height number of rows
+     * @param capacity the number of slots of the move queue
+     */
+    public SingleWriterBoard(int width, int height, int capacity) {
+        super(width, height);
+        this.queue = new MoveIntentQueue(capacity);
+    }
+
+    /**
+     * Submits a move to the owner thread, yielding while the queue is full.
+     *
+     * @param fromIndex the cell of the moving entity
+     * @param toIndex the target cell
+     * @return a future completed with true if the move was applied, false otherwise
+     */
+    public CompletableFuture<Boolean> submit(int fromIndex, int toIndex) {
+        if (!isValidIndex(fromIndex) || !isValidIndex(toIndex)) {
+            return CompletableFuture.completedFuture(false);
+        }
+        EntityType type = getEntity(fromIndex);
+        if (type != EntityType.AGENT && type != EntityType.ENEMY) {
+            return CompletableFuture.completedFuture(false);
+        }
+        MoveIntentQueue.Request request = new MoveIntentQueue.Request(new MoveIntent(0, type, fromIndex, toIndex));
+        while (!queue.offer(request)) {
+            if (!running) {
+                return CompletableFuture.completedFuture(false);
+            }
+            Thread.yield();
+        }
+        Thread current = startOwner();
+        if (current != null) {
+            LockSupport.unpark(current);
+        }
+        if (!running) {
+            refusePending(); // The owner may have exited before this request was queued
+        }
+        return request.getResult();
+    }
+
+    /**
+     * Moves an entity through the owner thread, waiting for the outcome. Called by the
+     * owner itself, the move is applied directly.
+     *
+     * @param fromIndex the source cell
+     * @param toIndex the destination cell
+     * @return true if the move was applied
+     */
+    @Override
+    public boolean moveEntity(int fromIndex, int toIndex) {
+        if (Thread.currentThread() == owner) {
+            return super.moveEntity(fromIndex, toIndex);
+        }
+        return submit(fromIndex, toIndex).join();
+    }
+
+    /**
+     * Gets the number of batches the owner has applied.
+     *
+     * @return the batch count
+     */
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    /**
+     * Stops the owner thread, refuses the moves still queued and releases the cells.
+     */
+    @Override
+    public void close() {
+        Thread current;
+        synchronized (this) {
+            running = false; // Under the lock, so no owner can start after this
+            current = owner;
+        }
+        if (current != null) {
+            LockSupport.unpark(current);
+            try {
+                current.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        refusePending();
+        super.close();
+    }
+
+    /**
+     * Starts the owner thread unless it already runs or the board was closed.
+     *
+     * @return the owner thread, or null if the board was closed before it started
+     */
+    private Thread startOwner() {
+        Thread current = owner;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (owner == null && running) {
+                Thread thread = new Thread(this::drainLoop, "Board-Owner");
+                thread.setDaemon(true);
+                owner = thread;
+                thread.start();
+            }
+            return owner;
+        }
+    }
+
+    /**
+     * Owner loop: applies queued moves in batches, parked while the queue is empty.
+     */
+    private void drainLoop() {
+        List<MoveIntentQueue.Request> batch = new ArrayList<>(MAX_BATCH);
+        List<MoveIntent> intents = new ArrayList<>(MAX_BATCH);
+        while (running) {
+            batch.clear();
+            if (queue.drainTo(batch, MAX_BATCH) == 0) {
+                LockSupport.park(this); // Every submit unparks the owner after publishing
+                continue;
+            }
+            intents.clear();
+            for (MoveIntentQueue.Request request : batch) {
+                intents.add(request.getIntent());
+            }
+            try {
+                Set<MoveIntent> applied = new HashSet<>(applyMoves(intents));
+                batches.increment(); // Counted before any mover can observe its outcome
+                for (MoveIntentQueue.Request request : batch) {
+                    request.getResult().complete(applied.contains(request.getIntent()));
+                }
+            } catch (RuntimeException e) {
+                batches.increment();
+                for (MoveIntentQueue.Request request : batch) {
+                    request.getResult().completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Completes every queued request with false once the owner has stopped.
+     */
+    private synchronized void refusePending() {
+        Thread current = owner;
+        if (current != null && current.isAlive()) {
+            return;
+        }
+        for (MoveIntentQueue.Request request = queue.poll(); request != null; request = queue.poll()) {
+            request.getResult().complete(false);
+        }
+    }
+}
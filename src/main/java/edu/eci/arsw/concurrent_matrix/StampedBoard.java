@@ -0,0 +1,89 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Board variant built on StampedLock. {@link #getEntity} first reads optimistically
+ * without acquiring anything and validates the stamp afterwards; only when a writer
+ * intervened does it retry under the read lock. This suits read-heavy workloads such
+ * as A* calling getEntity per expansion. Tracking queries ({@link #getAgentPosition},
+ * {@link #getEnemyPositions}...) need no lock at all, since the
+ * {@link EntityRegistry} is lock-free.
+ * <p>
+ * An optimistic read may be thrown away, so nothing read in it is published before
+ * the stamp validates. Writers use the exclusive mode of the same lock.
+ */
+public class StampedBoard extends Board {
+    private final StampedLock cellLock = new StampedLock();
+    private final Lock cellReadLock = cellLock.asReadLock();
+    private final Lock cellWriteLock = cellLock.asWriteLock();
+
+    /**
+     * Creates a new empty board guarded by stamped locks.
+     *
+     * @param width number of columns
+     * @param height number of rows
+     */
+    public StampedBoard(int width, int height) {
+        super(width, height, new HeapCellStore(checkedCellCount(width, height)));
+    }
+
+    @Override
+    protected void readLock(int index) {
+        cellReadLock.lock();
+    }
+
+    @Override
+    protected void readUnlock(int index) {
+        cellReadLock.unlock();
+    }
+
+    @Override
+    protected void writeLock(int first, int second) {
+        cellWriteLock.lock();
+    }
+
+    @Override
+    protected void writeUnlock(int first, int second) {
+        cellWriteLock.unlock();
+    }
+
+    @Override
+    protected void readLockAll() {
+        cellReadLock.lock();
+    }
+
+    @Override
+    protected void readUnlockAll() {
+        cellReadLock.unlock();
+    }
+
+    @Override
+    protected void lockAll() {
+        cellWriteLock.lock();
+    }
+
+    @Override
+    protected void unlockAll() {
+        cellWriteLock.unlock();
+    }
+
+    @Override
+    public EntityType getEntity(int index) {
+        if (!isValidIndex(index)) {
+            return EntityType.OBSTACLE; // Treat out-of-bounds as obstacles
+        }
+        long stamp = cellLock.tryOptimisticRead();
+        byte code = cellAt(index);
+        if (!cellLock.validate(stamp)) {
+            stamp = cellLock.readLock();
+            try {
+                code = cellAt(index);
+            } finally {
+                cellLock.unlockRead(stamp);
+            }
+        }
+        return EntityType.fromCode(code);
+    }
+}
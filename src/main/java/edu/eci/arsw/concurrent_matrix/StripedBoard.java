@@ -0,0 +1,133 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Board variant that partitions the grid into square tiles, each guarded by its own
+ * ReadWriteLock. A move only locks the tile(s) containing its source and destination,
+ * so entities in different regions of a large board never contend with each other.
+ * Tiles are always locked in ascending tile order to avoid deadlocks. Entity tracking
+ * is updated through the lock-free {@link EntityRegistry} while the tiles are held,
+ * so no lock shared by every mover remains.
+ */
+public class StripedBoard extends Board {
+    public static final int DEFAULT_TILE_SIZE = 32;
+
+    private final int tileSize;
+    private final int tilesPerRow;
+    private final ReentrantReadWriteLock[] stripes;
+
+    /**
+     * Creates a striped board using the default tile size.
+     *
+     * @param width number of columns
+     * @param height number of rows
+     */
+    public StripedBoard(int width, int height) {
+        this(width, height, DEFAULT_TILE_SIZE);
+    }
+
+    /**
+     * Creates a striped board with square tiles of the given side length.
+     *
+     * @param width number of columns
+     * @param height number of rows
+     * @param tileSize side length of each lock tile, in cells
+     */
+    public StripedBoard(int width, int height, int tileSize) {
+        super(width, height);
+        if (tileSize <= 0) {
+            throw new IllegalArgumentException("Tile size must be positive: " + tileSize);
+        }
+        this.tileSize = tileSize;
+        this.tilesPerRow = (width + tileSize - 1) / tileSize;
+        int tileRows = (height + tileSize - 1) / tileSize;
+        this.stripes = new ReentrantReadWriteLock[tilesPerRow * tileRows];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantReadWriteLock();
+        }
+    }
+
+    /**
+     * Gets the number of lock stripes (tiles) of this board.
+     *
+     * @return the stripe count
+     */
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    /**
+     * Computes the stripe guarding the cell at the given index.
+     *
+     * @param index the cell index
+     * @return the stripe index
+     */
+    int stripeOf(int index) {
+        int x = index / getWidth();
+        int y = index - x * getWidth();
+        return (x / tileSize) * tilesPerRow + y / tileSize;
+    }
+
+    @Override
+    protected void readLock(int index) {
+        stripes[stripeOf(index)].readLock().lock();
+    }
+
+    @Override
+    protected void readUnlock(int index) {
+        stripes[stripeOf(index)].readLock().unlock();
+    }
+
+    @Override
+    protected void writeLock(int first, int second) {
+        int a = stripeOf(first);
+        int b = stripeOf(second);
+        if (a == b) {
+            stripes[a].writeLock().lock();
+        } else {
+            stripes[Math.min(a, b)].writeLock().lock();
+            stripes[Math.max(a, b)].writeLock().lock();
+        }
+    }
+
+    @Override
+    protected void writeUnlock(int first, int second) {
+        int a = stripeOf(first);
+        int b = stripeOf(second);
+        if (a == b) {
+            stripes[a].writeLock().unlock();
+        } else {
+            stripes[Math.max(a, b)].writeLock().unlock();
+            stripes[Math.min(a, b)].writeLock().unlock();
+        }
+    }
+
+    @Override
+    protected void readLockAll() {
+        for (ReentrantReadWriteLock stripe : stripes) {
+            stripe.readLock().lock();
+        }
+    }
+
+    @Override
+    protected void readUnlockAll() {
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            stripes[i].readLock().unlock();
+        }
+    }
+
+    @Override
+    protected void lockAll() {
+        for (ReentrantReadWriteLock stripe : stripes) {
+            stripe.writeLock().lock();
+        }
+    }
+
+    @Override
+    protected void unlockAll() {
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            stripes[i].writeLock().unlock();
+        }
+    }
+}
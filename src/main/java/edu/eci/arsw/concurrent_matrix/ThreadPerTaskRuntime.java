@@ -0,0 +1,54 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runtime giving every task a thread of its own, named after its entity
+ * (e.g. {@code Enemy-3-Thread}). Subclasses choose the kind of thread.
+ */
+public abstract class ThreadPerTaskRuntime implements EntityRuntime {
+    private final List<Thread> threads = new ArrayList<>();
+
+    /**
+     * Creates the thread that will run a task, without starting it.
+     *
+     * @param task the entity task
+     * @param name the thread name
+     * @return the new thread
+     */
+    protected abstract Thread newThread(EntityTask task, String name);
+
+    @Override
+    public synchronized void start(EntityTask task) {
+        Thread thread = newThread(task, task.getName().replace(' ', '-') + "-Thread");
+        threads.add(thread);
+        thread.start();
+    }
+
+    @Override
+    public synchronized boolean stop(long timeoutMillis) throws InterruptedException {
+        for (Thread thread : threads) {
+            thread.interrupt();
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        for (Thread thread : threads) {
+            long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remaining <= 0) {
+                break;
+            }
+            thread.join(remaining);
+        }
+        boolean stopped = true;
+        for (Thread thread : threads) {
+            stopped &= !thread.isAlive();
+        }
+        return stopped;
+    }
+
+    @Override
+    public synchronized int getTaskCount() {
+        return threads.size();
+    }
+}
@@ -0,0 +1,281 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed-step simulation engine, the alternative to one sleeping thread per entity.
+ * Every tick runs four phases:
+ * <ol>
+ *   <li>sense: one {@link BoardSnapshot} is taken, and the end conditions are checked on it;</li>
+ *   <li>plan: the agent's {@link PathPlanner} and the enemies, split in chunks over a
+ *       shared {@link FlowField}, compute their {@link MoveIntent}s in parallel on a
+ *       worker pool, reading only the snapshot;</li>
+ *   <li>resolve: the {@link MoveResolver} orders the intents by priority and drops the
+ *       conflicting ones;</li>
+ *   <li>apply: the calling thread writes the accepted moves with one
+ *       {@link Board#commitMoves bulk commit}, so the board has a single writer and
+ *       takes its lock once per tick.</li>
+ * </ol>
+ * On a {@link DoubleBufferedBoard} the last two phases are the board's own: the intents
+ * are {@link DoubleBufferedBoard#propose proposed} and the engine is the driver that
+ * calls {@link DoubleBufferedBoard#commit()} once per tick.
+ * Given the same board and planner, a game therefore always plays out the same way,
+ * whatever the number of workers or the scheduler does.
+ * <p>
+ * The engine also measures its own throughput, in ticks per second of busy time.
+ */
+public class TickEngine implements AutoCloseable {
+    private static final String CAUGHT = " caught the agent! Enemies win!";
+
+    private final Board board;
+    private final GameState gameState;
+    private final PathPlanner planner;
+    private final FlowField flowField;
+    private final ExecutorService workers;
+    private final int parallelism;
+    private volatile long ticks; // Written by the ticking thread only
+    private volatile long busyNanos;
+
+    /**
+     * Creates an engine with one worker per available processor.
+     *
+     * @param board the game board
+     * @param gameState the shared game state
+     * @param planner the planner owned by the agent
+     */
+    public TickEngine(Board board, GameState gameState, PathPlanner planner) {
+        this(board, gameState, planner, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates an engine planning on the given number of workers.
+     *
+     * @param board the game board
+     * @param gameState the shared game state
+     * @param planner the planner owned by the agent
+     * @param parallelism the number of worker threads
+     */
+    public TickEngine(Board board, GameState gameState, PathPlanner planner, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        this.board = board;
+        this.gameState = gameState;
+        this.planner = planner;
+        this.flowField = new FlowField(board);
+        this.parallelism = parallelism;
+        AtomicInteger workerIds = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(parallelism, task -> {
+            Thread worker = new Thread(task, "Tick-Worker-" + workerIds.incrementAndGet());
+            worker.setDaemon(true);
+            return worker;
+        });
+    }
+
+    /**
+     * Runs ticks at a fixed rate until the game is over. A tick that overruns its slot
+     * delays the next one rather than causing a burst of catch-up ticks.
+     *
+     * @param tickMillis the length of a tick in milliseconds, or 0 to run flat out
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    public void run(long tickMillis) throws InterruptedException {
+        long period = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        long next = System.nanoTime();
+        while (tick()) {
+            next += period;
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } else {
+                next = System.nanoTime();
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    /**
+     * Runs one sense, plan, resolve and apply step.
+     *
+     * @return true if the game goes on after this tick
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    public boolean tick() throws InterruptedException {
+        if (gameState.isGameOver()) {
+            return false;
+        }
+        long started = System.nanoTime();
+        try {
+            BoardSnapshot view = board.snapshot();
+            if (!sense(view)) {
+                return false;
+            }
+            MoveIntent[] intents = plan(view);
+            if (intents == null) {
+                return false;
+            }
+            List<MoveIntent> planned = new ArrayList<>(intents.length);
+            for (MoveIntent intent : intents) {
+                if (intent != null) {
+                    planned.add(intent);
+                }
+            }
+            return apply(view, planned);
+        } finally {
+            ticks++;
+            busyNanos += System.nanoTime() - started;
+        }
+    }
+
+    /**
+     * Checks the end conditions on the tick's snapshot, as the entity threads do before
+     * moving.
+     */
+    private boolean sense(BoardSnapshot view) {
+        Position agent = view.getAgentPosition();
+        if (agent == null) {
+            gameState.setGameOver(true, "Agent not found on board");
+            return false;
+        }
+        List<Position> phones = view.getPhonePositions();
+        if (phones.isEmpty()) {
+            gameState.setGameOver(true, "No phones available");
+            return false;
+        }
+        List<Position> enemies = view.getEnemyPositions();
+        for (int i = 0; i < enemies.size(); i++) {
+            if (isAdjacent(enemies.get(i), agent)) {
+                gameState.setGameOver(true, "Enemy " + (i + 1) + CAUGHT);
+                return false;
+            }
+        }
+        if (!GameUtils.isAnyGoalConnected(view, agent, phones)) {
+            gameState.setGameOver(true, "Agent has no path to any phone. Game over!");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Plans every intent in parallel. Slot 0 holds the agent's intent and slot i the
+     * intent of enemy i; each task writes its own slots only.
+     *
+     * @return the intents, with null slots for entities staying put, or null if the game ended
+     */
+    private MoveIntent[] plan(BoardSnapshot view) throws InterruptedException {
+        List<Position> enemies = view.getEnemyPositions();
+        MoveIntent[] intents = new MoveIntent[1 + enemies.size()];
+        int agent = view.indexOf(view.getAgentPosition());
+        flowField.distanceAt(agent); // Recompute the field once, before the workers read it
+
+        List<Callable<PathResult>> tasks = new ArrayList<>(parallelism + 1);
+        tasks.add(() -> planner.plan(view));
+        int chunk = Math.max(1, (enemies.size() + parallelism - 1) / parallelism);
+        for (int first = 0; first < enemies.size(); first += chunk) {
+            int from = first;
+            int to = Math.min(enemies.size(), first + chunk);
+            tasks.add(() -> {
+                for (int i = from; i < to; i++) {
+                    int cell = view.indexOf(enemies.get(i));
+                    int next = flowField.nextStepFrom(cell);
+                    if (next >= 0) {
+                        intents[i + 1] = new MoveIntent(i + 1, EntityType.ENEMY, cell, next);
+                    }
+                }
+                return null;
+            });
+        }
+
+        List<Future<PathResult>> results = workers.invokeAll(tasks);
+        PathResult plan;
+        try {
+            for (Future<PathResult> result : results) {
+                result.get();
+            }
+            plan = results.get(0).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Planning failed", e.getCause());
+        }
+        if (!plan.isFound()) {
+            gameState.setGameOver(true, "Agent has no path to any phone. Game over!");
+            return null;
+        }
+        if (plan.getNextStep() < 0) {
+            gameState.setGameOver(true, "Agent cannot move. Game over!");
+            return null;
+        }
+        intents[0] = new MoveIntent(0, EntityType.AGENT, agent, plan.getNextStep());
+        return intents;
+    }
+
+    /**
+     * Resolves the planned moves and commits the accepted ones to the board in one batch.
+     */
+    private boolean apply(BoardSnapshot view, List<MoveIntent> planned) {
+        for (MoveIntent move : commit(view, planned)) {
+            if (move.getType() == EntityType.AGENT && view.getEntity(move.getTo()) == EntityType.PHONE) {
+                gameState.setGameOver(true, "Agent reached a phone! Agent wins!");
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Commits through the board's own resolve and commit on a double-buffered board.
+     */
+    private List<MoveIntent> commit(BoardSnapshot view, List<MoveIntent> planned) {
+        if (board instanceof DoubleBufferedBoard) {
+            DoubleBufferedBoard buffered = (DoubleBufferedBoard) board;
+            planned.forEach(buffered::propose);
+            return buffered.commit();
+        }
+        return board.commitMoves(MoveResolver.resolve(view, planned));
+    }
+
+    /**
+     * Checks if two positions are adjacent (including diagonally).
+     */
+    private static boolean isAdjacent(Position first, Position second) {
+        int dx = Math.abs(first.getX() - second.getX());
+        int dy = Math.abs(first.getY() - second.getY());
+        return dx <= 1 && dy <= 1 && !(dx == 0 && dy == 0);
+    }
+
+    /**
+     * Gets the number of ticks run so far.
+     *
+     * @return the tick count
+     */
+    public long getTickCount() {
+        return ticks;
+    }
+
+    /**
+     * Gets the throughput of the engine: ticks run per second spent inside
+     * {@link #tick()}, excluding the time slept between ticks.
+     *
+     * @return ticks per second, or 0 before the first tick
+     */
+    public double getTicksPerSecond() {
+        return busyNanos == 0 ? 0 : ticks * 1e9 / busyNanos;
+    }
+
+    /**
+     * Stops the worker pool.
+     */
+    @Override
+    public void close() {
+        workers.shutdownNow();
+    }
+}
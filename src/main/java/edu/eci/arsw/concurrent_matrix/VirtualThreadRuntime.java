@@ -0,0 +1,18 @@
+package edu.eci.arsw.concurrent_matrix;
+
+/**
+ * Runtime running each entity on its own virtual thread. A sleeping virtual thread is
+ * unmounted from its carrier and costs a few hundred bytes of heap, so a game can run
+ * hundreds of thousands of enemies on a handful of OS threads.
+ * <p>
+ * Thread-local caches must not grow with the number of entities: {@link SearchWorkspace}
+ * therefore lends virtual threads a workspace from a pool bounded by the number of
+ * processors instead of caching one per thread.
+ */
+public class VirtualThreadRuntime extends ThreadPerTaskRuntime {
+
+    @Override
+    protected Thread newThread(EntityTask task, String name) {
+        return Thread.ofVirtual().name(name).unstarted(task);
+    }
+}
@@ -11,11 +11,11 @@ public class Main {
     /**
      * Main method to start the Concurrent Matrix Game.
      * 
-     * @param args command line arguments (not used)
+     * @param args optional board width, height and board mode
      */
     public static void main(String[] args) {
         System.out.println("Starting Concurrent Matrix Game...");
-        Game game = new Game();
+        Game game = Game.fromArgs(args);
         game.run();
     }
 }
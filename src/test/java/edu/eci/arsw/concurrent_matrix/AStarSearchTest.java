@@ -0,0 +1,127 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static edu.eci.arsw.concurrent_matrix.BoardTestSupport.assertValidPath;
+import static edu.eci.arsw.concurrent_matrix.BoardTestSupport.bfsDistance;
+
+import java.util.Random;
+
+/**
+ * Unit tests for the AStarSearch class.
+ */
+class AStarSearchTest {
+
+    @Test
+    void testPathLengthsMatchBreadthFirstSearch() {
+        Random random = new Random(3);
+        for (int trial = 0; trial < 30; trial++) {
+            Board board = randomBoard(random, 20 + random.nextInt(30), 20 + random.nextInt(30), 0.3);
+            int start = random.nextInt(board.getCellCount());
+            int goal = random.nextInt(board.getCellCount());
+            board.setEntity(board.positionAt(start), EntityType.EMPTY);
+            board.setEntity(board.positionAt(goal), EntityType.EMPTY);
+
+            int expected = bfsDistance(board, start, goal);
+            PathResult result = AStarSearch.findPath(board, start, goal);
+            if (expected < 0) {
+                assertFalse(result.isFound());
+                assertEquals(-1, AStarSearch.findNextStep(board, start, goal));
+            } else {
+                assertTrue(result.isFound());
+                assertEquals(expected, result.getLength());
+                assertEquals(goal, result.getGoal());
+                assertValidPath(board, start, goal, result);
+                if (start != goal) {
+                    assertEquals(result.getNextStep(), AStarSearch.findNextStep(board, start, goal));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testFirstStepIsTheEarliestNeighbourOnAShortestPath() {
+        Random random = new Random(8);
+        int[] neighbors = new int[4];
+        for (int trial = 0; trial < 200; trial++) {
+            Board board = randomBoard(random, 5 + random.nextInt(20), 5 + random.nextInt(20), 0.25);
+            int start = random.nextInt(board.getCellCount());
+            int goal = random.nextInt(board.getCellCount());
+            board.setEntity(board.positionAt(start), EntityType.EMPTY);
+            board.setEntity(board.positionAt(goal), EntityType.EMPTY);
+            int length = bfsDistance(board, start, goal);
+            if (length <= 0) {
+                continue;
+            }
+
+            int expected = -1;
+            int count = board.getAdjacentIndices(start, neighbors);
+            for (int i = 0; i < count && expected < 0; i++) {
+                if (AStarSearch.isPassable(board.getEntity(neighbors[i]))
+                        && bfsDistance(board, neighbors[i], goal) == length - 1) {
+                    expected = neighbors[i];
+                }
+            }
+            assertEquals(expected, AStarSearch.findNextStep(board, start, goal), "trial " + trial);
+            assertEquals(expected, AStarSearch.findPath(board, start, goal).getNextStep(), "trial " + trial);
+        }
+    }
+
+    @Test
+    void testWorkspaceIsReusedAcrossBoardSizes() {
+        Board large = new Board(100, 100);
+        Board small = new Board(5, 5);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(198, AStarSearch.findPath(large, 0, large.getCellCount() - 1).getLength());
+            assertEquals(8, AStarSearch.findPath(small, 0, small.getCellCount() - 1).getLength());
+        }
+    }
+
+    @Test
+    void testNestedSearchGetsItsOwnWorkspace() {
+        SearchWorkspace outer = SearchWorkspace.acquire();
+        try {
+            SearchWorkspace inner = SearchWorkspace.acquire();
+            inner.release();
+            assertNotSame(outer, inner);
+            assertSame(inner, acquireAndRelease());
+        } finally {
+            outer.release();
+        }
+        assertSame(outer, acquireAndRelease());
+    }
+
+    @Test
+    void testOpenGroundExpandsOnlyThePath() {
+        Board board = new Board(50, 50);
+        PathResult result = AStarSearch.findPath(board, board.indexOf(0, 0), board.indexOf(49, 49));
+        assertEquals(98, result.getLength());
+        assertEquals(99, result.getExpansions());
+    }
+
+    @Test
+    void testStartIsGoal() {
+        Board board = new Board(5, 5);
+        PathResult result = AStarSearch.findPath(board, 12, 12);
+        assertTrue(result.isFound());
+        assertEquals(0, result.getLength());
+        assertEquals(12, result.getGoal());
+        assertEquals(-1, result.getNextStep());
+    }
+
+    private static Board randomBoard(Random random, int width, int height, double density) {
+        Board board = new Board(width, height);
+        for (int i = 0; i < board.getCellCount(); i++) {
+            if (random.nextDouble() < density) {
+                board.setEntity(board.positionAt(i), EntityType.OBSTACLE);
+            }
+        }
+        return board;
+    }
+
+    private static SearchWorkspace acquireAndRelease() {
+        SearchWorkspace workspace = SearchWorkspace.acquire();
+        workspace.release();
+        return workspace;
+    }
+}
@@ -0,0 +1,154 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for the AtomicBoard class.
+ */
+class AtomicBoardTest {
+
+    private AtomicBoard board;
+
+    @BeforeEach
+    void setUp() {
+        board = new AtomicBoard(10, 10);
+    }
+
+    @Test
+    void testMoveEntity() {
+        Position from = new Position(2, 2);
+        Position to = new Position(2, 3);
+        board.placeEntity(from, EntityType.AGENT);
+
+        assertTrue(board.moveEntity(from, to));
+        assertEquals(EntityType.EMPTY, board.getEntity(from));
+        assertEquals(EntityType.AGENT, board.getEntity(to));
+        assertEquals(to, board.getAgentPosition());
+    }
+
+    @Test
+    void testMoveOntoPhoneAndBlockedCells() {
+        Position from = new Position(0, 0);
+        board.placeEntity(from, EntityType.AGENT);
+        board.setEntity(new Position(1, 0), EntityType.OBSTACLE);
+        board.setEntity(new Position(0, 1), EntityType.PHONE);
+
+        assertFalse(board.moveEntity(from, new Position(1, 0)));
+        assertTrue(board.moveEntity(from, new Position(0, 1)));
+        assertEquals(EntityType.AGENT, board.getEntity(new Position(0, 1)));
+    }
+
+    @Test
+    void testPlaceEntityRejectsOccupiedCell() {
+        Position pos = new Position(4, 4);
+        assertTrue(board.placeEntity(pos, EntityType.ENEMY));
+        assertFalse(board.placeEntity(pos, EntityType.ENEMY));
+        assertEquals(1, board.getEnemyPositions().size());
+    }
+
+    @Test
+    void testTwoEnemiesRaceForSameCell() throws Exception {
+        Position target = new Position(5, 5);
+        Position left = new Position(5, 4);
+        Position right = new Position(5, 6);
+
+        for (int round = 0; round < 200; round++) {
+            AtomicBoard raceBoard = new AtomicBoard(10, 10);
+            raceBoard.placeEntity(left, EntityType.ENEMY);
+            raceBoard.placeEntity(right, EntityType.ENEMY);
+
+            CyclicBarrier barrier = new CyclicBarrier(2);
+            AtomicInteger wins = new AtomicInteger();
+            Thread first = new Thread(() -> race(raceBoard, barrier, left, target, wins));
+            Thread second = new Thread(() -> race(raceBoard, barrier, right, target, wins));
+            first.start();
+            second.start();
+            first.join();
+            second.join();
+
+            assertEquals(1, wins.get());
+            assertEquals(EntityType.ENEMY, raceBoard.getEntity(target));
+            assertEquals(2, raceBoard.getEnemyPositions().size());
+            assertTrue(raceBoard.getEnemyPositions().contains(target));
+            for (Position enemy : raceBoard.getEnemyPositions()) {
+                assertEquals(EntityType.ENEMY, raceBoard.getEntity(enemy));
+            }
+        }
+    }
+
+    @Test
+    void testRacingMoversOfOneEntityLeaveBitPlanesConsistent() throws Exception {
+        Position center = new Position(1, 1);
+        for (int round = 0; round < 500; round++) {
+            AtomicBoard raceBoard = new AtomicBoard(3, 3);
+            raceBoard.placeEntity(center, EntityType.ENEMY);
+
+            // Both threads move the same enemy, so one of them has to roll back
+            CyclicBarrier barrier = new CyclicBarrier(2);
+            AtomicInteger wins = new AtomicInteger();
+            Thread up = new Thread(() -> race(raceBoard, barrier, center, new Position(0, 1), wins));
+            Thread down = new Thread(() -> race(raceBoard, barrier, center, new Position(2, 1), wins));
+            up.start();
+            down.start();
+            up.join();
+            down.join();
+
+            assertEquals(1, wins.get());
+            BitBoard bits = raceBoard.getBitBoard();
+            for (int i = 0; i < raceBoard.getCellCount(); i++) {
+                Position pos = raceBoard.positionAt(i);
+                assertTrue(bits.isSet(raceBoard.getEntity(i), pos.getX(), pos.getY()));
+            }
+            assertEquals(8, BitBoard.count(bits.freeCells()));
+            List<Position> enemies = raceBoard.getEnemyPositions();
+            assertEquals(1, enemies.size());
+            assertEquals(EntityType.ENEMY, raceBoard.getEntity(enemies.get(0)));
+        }
+    }
+
+    @Test
+    void testSnapshotIsNeverCachedBeforeTheMoveIsFinal() throws Exception {
+        for (int round = 0; round < 50; round++) {
+            AtomicBoard raceBoard = new AtomicBoard(4, 4);
+            Position left = new Position(0, 0);
+            Position right = new Position(0, 1);
+            raceBoard.placeEntity(left, EntityType.AGENT);
+            AtomicBoolean moving = new AtomicBoolean(true);
+            Thread reader = new Thread(() -> {
+                while (moving.get()) {
+                    raceBoard.snapshot();
+                }
+            });
+            reader.start();
+            for (int step = 0; step < 200; step++) {
+                assertTrue(raceBoard.moveEntity(step % 2 == 0 ? left : right, step % 2 == 0 ? right : left));
+            }
+            moving.set(false);
+            reader.join();
+
+            BoardSnapshot snapshot = raceBoard.snapshot();
+            assertEquals(raceBoard.getVersion(), snapshot.getVersion());
+            assertEquals(left, snapshot.getAgentPosition());
+            assertEquals(EntityType.AGENT, snapshot.getEntity(raceBoard.indexOf(left)));
+            assertEquals(EntityType.EMPTY, snapshot.getEntity(raceBoard.indexOf(right)));
+        }
+    }
+
+    private void race(AtomicBoard raceBoard, CyclicBarrier barrier, Position from, Position to, AtomicInteger wins) {
+        try {
+            barrier.await();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        if (raceBoard.moveEntity(from, to)) {
+            wins.incrementAndGet();
+        }
+    }
+}
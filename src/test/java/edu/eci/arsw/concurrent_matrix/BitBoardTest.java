@@ -0,0 +1,102 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+
+/**
+ * Unit tests for the BitBoard class.
+ */
+class BitBoardTest {
+
+    @Test
+    void testPlanesMirrorBoardWrites() {
+        Board board = new Board(70, 3);
+        Position enemy = new Position(1, 64);
+        board.placeEntity(enemy, EntityType.ENEMY);
+        board.setEntity(new Position(0, 0), EntityType.OBSTACLE);
+        BitBoard bits = board.getBitBoard();
+
+        assertEquals(2, bits.getWordsPerRow());
+        assertTrue(bits.isSet(EntityType.ENEMY, 1, 64));
+        assertTrue(bits.isSet(EntityType.OBSTACLE, 0, 0));
+        assertFalse(bits.isFree(0, 0));
+
+        assertTrue(board.moveEntity(enemy, new Position(1, 63)));
+        assertFalse(bits.isSet(EntityType.ENEMY, 1, 64));
+        assertTrue(bits.isSet(EntityType.ENEMY, 1, 63));
+        assertTrue(bits.isFree(1, 64));
+
+        assertEquals(70 * 3 - 2, BitBoard.count(bits.freeCells()));
+    }
+
+    @Test
+    void testEnemiesAdjacentTo() {
+        Board board = new Board(10, 10);
+        board.placeEntity(new Position(4, 4), EntityType.ENEMY);
+        board.placeEntity(new Position(6, 6), EntityType.ENEMY);
+        board.placeEntity(new Position(5, 7), EntityType.ENEMY);
+
+        assertEquals(2, board.getBitBoard().enemiesAdjacentTo(5, 5));
+        assertEquals(0, board.getBitBoard().enemiesAdjacentTo(0, 0));
+    }
+
+    @Test
+    void testReachableMatchesBreadthFirstSearch() {
+        Random random = new Random(7);
+        int[] widths = {1, 5, 63, 64, 65, 130};
+        for (int width : widths) {
+            for (int trial = 0; trial < 20; trial++) {
+                int height = 1 + random.nextInt(12);
+                Board board = new Board(width, height);
+                for (int x = 0; x < height; x++) {
+                    for (int y = 0; y < width; y++) {
+                        int roll = random.nextInt(100);
+                        if (roll < 30) {
+                            board.setEntity(new Position(x, y), EntityType.OBSTACLE);
+                        } else if (roll < 35) {
+                            board.setEntity(new Position(x, y), EntityType.ENEMY);
+                        } else if (roll < 38) {
+                            board.setEntity(new Position(x, y), EntityType.PHONE);
+                        }
+                    }
+                }
+                int startX = random.nextInt(height);
+                int startY = random.nextInt(width);
+
+                boolean[] expected = breadthFirst(board, startX, startY);
+                long[] reachable = board.getBitBoard().reachableFrom(startX, startY);
+                for (int x = 0; x < height; x++) {
+                    for (int y = 0; y < width; y++) {
+                        assertEquals(expected[x * width + y], board.getBitBoard().contains(reachable, x, y),
+                                     "cell (" + x + ", " + y + ") on " + width + "x" + height);
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean[] breadthFirst(Board board, int startX, int startY) {
+        int width = board.getWidth();
+        boolean[] seen = new boolean[width * board.getHeight()];
+        Deque<Position> queue = new ArrayDeque<>();
+        Position start = new Position(startX, startY);
+        seen[startX * width + startY] = true;
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            Position current = queue.poll();
+            for (Position next : board.getAdjacentPositions(current)) {
+                EntityType type = board.getEntity(next);
+                int index = next.getX() * width + next.getY();
+                if (!seen[index] && type != EntityType.OBSTACLE && type != EntityType.ENEMY) {
+                    seen[index] = true;
+                    queue.add(next);
+                }
+            }
+        }
+        return seen;
+    }
+}
@@ -0,0 +1,98 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of move throughput per board mode and thread count: every thread
+ * moves its own enemies around a shared board, so the locking scheme is the only
+ * thing the threads can contend on. Each {@code moveEnemy} variant runs with a
+ * different number of threads, 1, 2, 4 and one per available processor, which shows
+ * how the moves per second of each mode scale with the cores.
+ * <p>
+ * Run with:
+ * {@code mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ * -Dexec.args="-cp %classpath org.openjdk.jmh.Main BoardMoveBenchmark"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardMoveBenchmark {
+    private static final int BOARD_SIZE = 256;
+    private static final int ENEMIES_PER_THREAD = 32;
+
+    @Param({"LOCKED", "STRIPED", "ATOMIC"})
+    public BoardMode mode;
+
+    private Board board;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        board = mode.create(BOARD_SIZE, BOARD_SIZE);
+    }
+
+    /**
+     * The enemies owned by one benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class Mover {
+        private Position[] enemies;
+
+        @Setup(Level.Trial)
+        public void setUp(BoardMoveBenchmark benchmark) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            enemies = new Position[ENEMIES_PER_THREAD];
+            for (int i = 0; i < enemies.length; ) {
+                Position pos = new Position(random.nextInt(BOARD_SIZE), random.nextInt(BOARD_SIZE));
+                if (benchmark.board.placeEntity(pos, EntityType.ENEMY)) {
+                    enemies[i++] = pos;
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean moveEnemy1Thread(Mover mover) {
+        return move(mover);
+    }
+
+    @Benchmark
+    @Threads(2)
+    public boolean moveEnemy2Threads(Mover mover) {
+        return move(mover);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean moveEnemy4Threads(Mover mover) {
+        return move(mover);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean moveEnemyAllProcessors(Mover mover) {
+        return move(mover);
+    }
+
+    /**
+     * Moves one of the thread's enemies to a random adjacent cell.
+     */
+    private boolean move(Mover mover) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int i = random.nextInt(mover.enemies.length);
+        List<Position> adjacent = board.getAdjacentPositions(mover.enemies[i]);
+        Position target = adjacent.get(random.nextInt(adjacent.size()));
+        if (board.moveEntity(mover.enemies[i], target)) {
+            mover.enemies[i] = target;
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,84 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of board query throughput under a read-heavy workload:
+ * three reader threads doing A*-style getEntity lookups and tracking reads
+ * against one writer thread moving enemies.
+ * <p>
+ * Run with:
+ * {@code mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ * -Dexec.args="-cp %classpath org.openjdk.jmh.Main BoardReadBenchmark"}
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardReadBenchmark {
+    private static final int BOARD_SIZE = 256;
+
+    @Param({"LOCKED", "STAMPED"})
+    public BoardMode mode;
+
+    private Board board;
+    private Position[] probes;
+    private Position enemy;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        board = mode.create(BOARD_SIZE, BOARD_SIZE);
+        board.setupGame();
+        probes = new Position[1024];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < probes.length; i++) {
+            probes[i] = new Position(random.nextInt(BOARD_SIZE), random.nextInt(BOARD_SIZE));
+        }
+        enemy = board.getEnemyPositions().get(0);
+    }
+
+    @Benchmark
+    @Group("readHeavy")
+    @GroupThreads(3)
+    public void getEntity(Blackhole blackhole) {
+        Position probe = probes[ThreadLocalRandom.current().nextInt(probes.length)];
+        for (Position neighbor : board.getAdjacentPositions(probe)) {
+            blackhole.consume(board.getEntity(neighbor));
+        }
+    }
+
+    @Benchmark
+    @Group("readHeavy")
+    @GroupThreads(1)
+    public boolean moveEnemy() {
+        List<Position> adjacent = board.getAdjacentPositions(enemy);
+        Position target = adjacent.get(ThreadLocalRandom.current().nextInt(adjacent.size()));
+        if (board.moveEntity(enemy, target)) {
+            enemy = target;
+            return true;
+        }
+        return false;
+    }
+
+    @Benchmark
+    @Group("trackingReads")
+    @GroupThreads(3)
+    public void trackingQueries(Blackhole blackhole) {
+        blackhole.consume(board.getAgentPosition());
+        blackhole.consume(board.getEnemyPositions());
+    }
+
+    @Benchmark
+    @Group("trackingReads")
+    @GroupThreads(1)
+    public boolean trackingWriter() {
+        return moveEnemy();
+    }
+}
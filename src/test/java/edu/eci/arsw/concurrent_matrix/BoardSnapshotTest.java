@@ -0,0 +1,225 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Unit tests for Board snapshots.
+ */
+class BoardSnapshotTest {
+
+    private Board board;
+
+    @BeforeEach
+    void setUp() {
+        board = new Board(10, 10);
+    }
+
+    @Test
+    void testSnapshotIsUnaffectedByLaterMoves() {
+        Position agent = new Position(1, 1);
+        Position enemy = new Position(5, 5);
+        board.placeEntity(agent, EntityType.AGENT);
+        board.placeEntity(enemy, EntityType.ENEMY);
+
+        BoardSnapshot snapshot = board.snapshot();
+        assertTrue(board.moveEntity(enemy, new Position(5, 6)));
+
+        assertEquals(EntityType.ENEMY, snapshot.getEntity(enemy));
+        assertEquals(EntityType.EMPTY, snapshot.getEntity(new Position(5, 6)));
+        assertEquals(List.of(enemy), snapshot.getEnemyPositions());
+        assertEquals(agent, snapshot.getAgentPosition());
+        assertEquals(EntityType.EMPTY, board.getEntity(enemy));
+    }
+
+    @Test
+    void testSnapshotIsReusedUntilBoardChanges() {
+        board.placeEntity(new Position(2, 2), EntityType.ENEMY);
+        BoardSnapshot first = board.snapshot();
+        assertSame(first, board.snapshot());
+        assertEquals(board.getVersion(), first.getVersion());
+
+        assertTrue(board.moveEntity(new Position(2, 2), new Position(2, 3)));
+        BoardSnapshot second = board.snapshot();
+        assertNotSame(first, second);
+        assertTrue(second.getVersion() > first.getVersion());
+    }
+
+    @Test
+    void testObstacleVersionIgnoresMoves() {
+        board.placeEntity(new Position(2, 2), EntityType.ENEMY);
+        long before = board.snapshot().getObstacleVersion();
+        board.moveEntity(new Position(2, 2), new Position(2, 3));
+        assertEquals(before, board.snapshot().getObstacleVersion());
+
+        board.setEntity(new Position(4, 4), EntityType.OBSTACLE);
+        assertNotEquals(before, board.snapshot().getObstacleVersion());
+        assertEquals(board.getObstacleVersion(), board.snapshot().getObstacleVersion());
+    }
+
+    @Test
+    void testOutOfBoundsCellsAreObstacles() {
+        BoardSnapshot snapshot = board.snapshot();
+        assertEquals(EntityType.OBSTACLE, snapshot.getEntity(new Position(-1, 0)));
+        assertEquals(EntityType.OBSTACLE, snapshot.getEntity(100));
+    }
+
+    @Test
+    void testPathfindingOnSnapshotMatchesLiveBoard() {
+        board.setupGame();
+        BoardSnapshot snapshot = board.snapshot();
+        Position agent = snapshot.getAgentPosition();
+        List<Position> phones = snapshot.getPhonePositions();
+
+        assertEquals(GameUtils.findNextMoveTowards(board, agent, phones),
+                     GameUtils.findNextMoveTowards(snapshot, agent, phones));
+    }
+
+    @Test
+    void testRenderShowsEveryRow() {
+        board.placeEntity(new Position(0, 0), EntityType.AGENT);
+        String rendered = board.snapshot().render();
+        assertTrue(rendered.contains("0 A "));
+        assertEquals(board.getHeight() + 4, rendered.split("\n").length);
+    }
+
+    @Test
+    void testUnchangedBlocksAreShared() {
+        Board large = new Board(128, 128); // Four blocks of 32 rows
+        Position enemy = new Position(1, 1);
+        large.placeEntity(enemy, EntityType.ENEMY);
+        BoardSnapshot before = large.snapshot();
+        assertTrue(large.moveEntity(enemy, new Position(1, 2)));
+        BoardSnapshot after = large.snapshot();
+
+        assertNotSame(before.getBlock(0), after.getBlock(0));
+        for (int block = 1; block < 4; block++) {
+            assertSame(before.getBlock(block), after.getBlock(block));
+        }
+        assertEquals(EntityType.ENEMY, after.getEntity(new Position(1, 2)));
+        assertEquals(EntityType.ENEMY, before.getEntity(enemy));
+    }
+
+    @Test
+    void testBlockedCellsFollowMoves() {
+        Board large = new Board(100, 90); // Three blocks, the last one short
+        large.setEntity(new Position(70, 5), EntityType.OBSTACLE);
+        Position enemy = new Position(1, 1);
+        large.placeEntity(enemy, EntityType.ENEMY);
+        large.placeEntity(new Position(2, 2), EntityType.AGENT);
+        BoardSnapshot before = large.snapshot();
+        BlockedCells blockedBefore = before.getBlockedCells();
+        assertTrue(large.moveEntity(enemy, new Position(50, 1)));
+        BoardSnapshot after = large.snapshot();
+        BlockedCells blockedAfter = after.getBlockedCells();
+
+        for (int cell = 0; cell < large.getCellCount(); cell++) {
+            assertEquals(!AStarSearch.isPassable(before.getEntity(cell)), blockedBefore.isBlocked(cell));
+            assertEquals(!AStarSearch.isPassable(after.getEntity(cell)), blockedAfter.isBlocked(cell));
+        }
+        assertFalse(blockedBefore.isRowClear(1));
+        assertTrue(blockedAfter.isRowClear(1));
+        assertFalse(blockedAfter.isRowClear(50));
+        assertFalse(blockedAfter.isRowClear(70));
+        assertTrue(blockedAfter.isRowClear(-1));
+        assertTrue(blockedAfter.isRowClear(90));
+
+        // Cells off either end of the board read as blocked
+        assertEquals(-1L, blockedAfter.window(-64));
+        assertEquals(-1L << 4, blockedAfter.window(large.getCellCount() - 4));
+        assertEquals(1L << 5, blockedAfter.window(70 * 100));
+    }
+
+    @Test
+    void testSnapshotDoesNotWaitForHeldCellLocks() throws InterruptedException {
+        StripedBoard striped = new StripedBoard(64, 64, 8);
+        striped.placeEntity(new Position(0, 0), EntityType.AGENT);
+        int busy = striped.indexOf(40, 40);
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            striped.writeLock(busy, busy);
+            try {
+                held.countDown();
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                striped.writeUnlock(busy, busy);
+            }
+        });
+        holder.start();
+        held.await();
+        try {
+            // The old snapshot read-locked every tile and would wait for the holder
+            assertTimeoutPreemptively(Duration.ofSeconds(5),
+                    () -> assertEquals(new Position(0, 0), striped.snapshot().getAgentPosition()));
+        } finally {
+            release.countDown();
+            holder.join();
+        }
+    }
+
+    @Test
+    void testSnapshotsTakenDuringMovesAreConsistent() throws InterruptedException {
+        for (BoardMode mode : List.of(BoardMode.LOCKED, BoardMode.STRIPED, BoardMode.ATOMIC)) {
+            Board moving = mode.create(96, 96);
+            int enemies = 4;
+            for (int i = 0; i < enemies; i++) {
+                assertTrue(moving.placeEntity(new Position(i * 24 + 18, 0), EntityType.ENEMY));
+            }
+            AtomicBoolean running = new AtomicBoolean(true);
+            Thread[] movers = new Thread[enemies];
+            for (int i = 0; i < enemies; i++) {
+                int row = i * 24 + 18;
+                movers[i] = new Thread(() -> {
+                    // Row 42 crosses from the first snapshot block into the second at column 64
+                    int x = row;
+                    int y = 0;
+                    for (int step = 0; running.get(); step++) {
+                        int nextY = step % 190 < 95 ? y + 1 : y - 1;
+                        if (nextY < 0 || nextY > 95) {
+                            int nextX = x == row ? row + 1 : row;
+                            if (moving.moveEntity(new Position(x, y), new Position(nextX, y))) {
+                                x = nextX;
+                            }
+                            continue;
+                        }
+                        if (moving.moveEntity(new Position(x, y), new Position(x, nextY))) {
+                            y = nextY;
+                        }
+                    }
+                });
+                movers[i].start();
+            }
+            try {
+                for (int round = 0; round < 300; round++) {
+                    BoardSnapshot snapshot = moving.snapshot();
+                    Set<Position> tracked = new HashSet<>(snapshot.getEnemyPositions());
+                    assertEquals(enemies, tracked.size(), mode + " tracking torn");
+                    int onCells = 0;
+                    for (int i = 0; i < snapshot.getCellCount(); i++) {
+                        if (snapshot.getEntity(i) == EntityType.ENEMY) {
+                            onCells++;
+                            assertTrue(tracked.contains(snapshot.positionAt(i)), mode + " cells and tracking disagree");
+                        }
+                    }
+                    assertEquals(enemies, onCells, mode + " cells torn");
+                }
+            } finally {
+                running.set(false);
+                for (Thread mover : movers) {
+                    mover.join();
+                }
+            }
+        }
+    }
+}
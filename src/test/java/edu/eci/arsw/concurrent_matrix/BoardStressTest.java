@@ -0,0 +1,124 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stress tests that hammer Board.moveEntity from several threads, each moving its
+ * own enemies a fixed number of times, and check that every move is accounted for
+ * and that cells, bit planes and entity tracking agree afterwards. Throughput is
+ * measured by {@link BoardMoveBenchmark}, not here.
+ */
+class BoardStressTest {
+
+    private static final int BOARD_SIZE = 256;
+    private static final int ENEMIES_PER_THREAD = 32;
+    private static final int ATTEMPTS_PER_THREAD = 20_000;
+    private static final int MAX_THREADS = 4;
+
+    @Test
+    void testLockedBoardUnderContention() throws InterruptedException {
+        runConsistencyStress(BoardMode.LOCKED);
+    }
+
+    @Test
+    void testStripedBoardUnderContention() throws InterruptedException {
+        runConsistencyStress(BoardMode.STRIPED);
+    }
+
+    @Test
+    void testAtomicBoardUnderContention() throws InterruptedException {
+        runConsistencyStress(BoardMode.ATOMIC);
+    }
+
+    private void runConsistencyStress(BoardMode mode) throws InterruptedException {
+        for (int threads = 1; threads <= MAX_THREADS; threads *= 2) {
+            Board board = mode.create(BOARD_SIZE, BOARD_SIZE);
+            List<List<Position>> owned = place(board, threads);
+            long versionBefore = board.getVersion();
+            long moves = hammer(board, owned);
+
+            assertTrue(moves > 0);
+            assertTrue(board.getVersion() - versionBefore >= moves, mode + " moves left unpublished");
+            List<Position> expected = new ArrayList<>();
+            owned.forEach(expected::addAll);
+            assertTrackingConsistent(board, expected);
+        }
+    }
+
+    private List<List<Position>> place(Board board, int threads) {
+        Random placement = new Random(42);
+        List<List<Position>> owned = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            List<Position> enemies = new ArrayList<>();
+            while (enemies.size() < ENEMIES_PER_THREAD) {
+                Position pos = new Position(placement.nextInt(BOARD_SIZE), placement.nextInt(BOARD_SIZE));
+                if (board.placeEntity(pos, EntityType.ENEMY)) {
+                    enemies.add(pos);
+                }
+            }
+            owned.add(enemies);
+        }
+        return owned;
+    }
+
+    private long hammer(Board board, List<List<Position>> owned) throws InterruptedException {
+        AtomicLong totalMoves = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < owned.size(); t++) {
+            List<Position> enemies = owned.get(t);
+            long seed = t;
+            Thread worker = new Thread(() -> {
+                Random random = new Random(seed);
+                long moves = 0;
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int attempt = 0; attempt < ATTEMPTS_PER_THREAD; attempt++) {
+                    int i = random.nextInt(enemies.size());
+                    Position from = enemies.get(i);
+                    List<Position> adjacent = board.getAdjacentPositions(from);
+                    Position to = adjacent.get(random.nextInt(adjacent.size()));
+                    if (board.moveEntity(from, to)) {
+                        enemies.set(i, to);
+                        moves++;
+                    }
+                }
+                totalMoves.addAndGet(moves);
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return totalMoves.get();
+    }
+
+    private void assertTrackingConsistent(Board board, List<Position> expected) {
+        int enemies = expected.size();
+        assertEquals(enemies, board.getEnemyCount());
+        assertEquals(enemies, board.getEnemyIds().length);
+        Set<Position> tracked = new HashSet<>(board.getEnemyPositions());
+        assertEquals(enemies, tracked.size());
+        assertEquals(new HashSet<>(expected), tracked); // Every mover's view matches the registry
+        for (Position pos : tracked) {
+            assertEquals(EntityType.ENEMY, board.getEntity(pos));
+            assertTrue(board.getBitBoard().isSet(EntityType.ENEMY, pos.getX(), pos.getY()));
+        }
+        assertEquals(BOARD_SIZE * BOARD_SIZE - enemies, BitBoard.count(board.getBitBoard().freeCells()));
+    }
+}
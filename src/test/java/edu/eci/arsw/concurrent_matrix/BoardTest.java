@@ -107,6 +107,28 @@ class BoardTest {
         assertEquals(EntityType.AGENT, board.getEntity(to));
     }
 
+    @Test
+    void testOnlyTheAgentEntersPhonesOnEveryBoard() {
+        for (BoardMode mode : BoardMode.values()) {
+            try (Board modeBoard = mode.create(5, 5)) {
+                if (modeBoard instanceof DoubleBufferedBoard doubleBuffered) {
+                    doubleBuffered.startCommitting(1); // Moves go through the MoveResolver
+                }
+                Position phone = new Position(1, 2);
+                Position enemy = new Position(1, 1);
+                Position agent = new Position(2, 2);
+                modeBoard.placeEntity(phone, EntityType.PHONE);
+                modeBoard.placeEntity(enemy, EntityType.ENEMY);
+                modeBoard.placeEntity(agent, EntityType.AGENT);
+
+                assertFalse(modeBoard.moveEntity(enemy, phone), mode + " let an enemy onto a phone");
+                assertEquals(EntityType.PHONE, modeBoard.getEntity(phone));
+                assertTrue(modeBoard.moveEntity(agent, phone), mode + " kept the agent off a phone");
+                assertEquals(EntityType.AGENT, modeBoard.getEntity(phone));
+            }
+        }
+    }
+
     @Test
     void testGetAdjacentPositions() {
         Position center = new Position(5, 5);
@@ -150,4 +172,124 @@ class BoardTest {
         // Out of bounds should be treated as obstacle
         assertEquals(EntityType.OBSTACLE, board.getEntity(outOfBounds));
     }
+
+    @Test
+    void testCustomDimensions() {
+        Board wide = new Board(20, 5);
+        assertEquals(20, wide.getWidth());
+        assertEquals(5, wide.getHeight());
+
+        assertTrue(wide.isValidPosition(new Position(4, 19)));
+        assertFalse(wide.isValidPosition(new Position(5, 0)));
+        assertFalse(wide.isValidPosition(new Position(0, 20)));
+
+        Position from = new Position(4, 18);
+        Position to = new Position(4, 19);
+        wide.setEntity(from, EntityType.ENEMY);
+        assertTrue(wide.moveEntity(from, to));
+        assertEquals(EntityType.ENEMY, wide.getEntity(to));
+        assertEquals(EntityType.EMPTY, wide.getEntity(from));
+    }
+
+    @Test
+    void testInvalidDimensions() {
+        assertThrows(IllegalArgumentException.class, () -> new Board(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new Board(10, -1));
+        assertThrows(IllegalArgumentException.class, () -> new Board(100_000, 100_000));
+    }
+
+    @Test
+    void testSetupGameOnLargeBoard() {
+        Board large = new Board(1000, 1000);
+        large.setupGame();
+
+        Position agentPos = large.getAgentPosition();
+        assertNotNull(agentPos);
+        assertEquals(EntityType.AGENT, large.getEntity(agentPos));
+        for (Position enemy : large.getEnemyPositions()) {
+            assertEquals(EntityType.ENEMY, large.getEntity(enemy));
+        }
+        for (Position phone : large.getPhonePositions()) {
+            assertEquals(EntityType.PHONE, large.getEntity(phone));
+        }
+    }
+
+    @Test
+    void testPlaceEntityTracksPosition() {
+        Position enemy = new Position(1, 1);
+        Position agent = new Position(2, 2);
+        Position phone = new Position(3, 3);
+
+        assertTrue(board.placeEntity(enemy, EntityType.ENEMY));
+        assertTrue(board.placeEntity(agent, EntityType.AGENT));
+        assertTrue(board.placeEntity(phone, EntityType.PHONE));
+
+        assertEquals(List.of(enemy), board.getEnemyPositions());
+        assertEquals(agent, board.getAgentPosition());
+        assertEquals(List.of(phone), board.getPhonePositions());
+
+        // Occupied cells and a second agent are rejected
+        assertFalse(board.placeEntity(enemy, EntityType.ENEMY));
+        assertFalse(board.placeEntity(new Position(4, 4), EntityType.AGENT));
+    }
+
+    @Test
+    void testEntityIdsAreStableAcrossMoves() {
+        Position start = new Position(1, 1);
+        board.placeEntity(start, EntityType.ENEMY);
+        int id = board.getEntityId(start);
+        assertNotEquals(EntityRegistry.NONE, id);
+
+        Position next = new Position(1, 2);
+        assertTrue(board.moveEntity(start, next));
+        assertEquals(id, board.getEntityId(next));
+        assertEquals(next, board.getEntityPosition(id));
+        assertEquals(1, board.getEnemyCount());
+        assertArrayEquals(new int[] {id}, board.getEnemyIds());
+    }
+
+    @Test
+    void testMovingUntrackedEntityStartsTrackingIt() {
+        Position from = new Position(2, 2);
+        Position to = new Position(2, 3);
+        board.setEntity(from, EntityType.AGENT);
+        assertNull(board.getAgentPosition());
+
+        assertTrue(board.moveEntity(from, to));
+        assertEquals(to, board.getAgentPosition());
+    }
+
+    @Test
+    void testPackedIndexApi() {
+        Position from = new Position(3, 4);
+        int fromIndex = board.indexOf(3, 4);
+        assertEquals(board.indexOf(from), fromIndex);
+        assertEquals(from, board.positionAt(fromIndex));
+        assertSame(board.positionAt(fromIndex), board.positionAt(fromIndex));
+
+        board.placeEntity(from, EntityType.ENEMY);
+        assertEquals(EntityType.ENEMY, board.getEntity(fromIndex));
+        assertEquals(EntityType.OBSTACLE, board.getEntity(-1));
+        assertEquals(EntityType.OBSTACLE, board.getEntity(board.getCellCount()));
+
+        int toIndex = board.indexOf(3, 5);
+        assertTrue(board.moveEntity(fromIndex, toIndex));
+        assertTrue(board.isFree(fromIndex));
+        assertEquals(List.of(board.positionAt(toIndex)), board.getEnemyPositions());
+        assertSame(board.positionAt(toIndex), board.getEnemyPositions().get(0));
+    }
+
+    @Test
+    void testAdjacentIndicesMatchAdjacentPositions() {
+        int[] neighbors = new int[4];
+        for (int index = 0; index < board.getCellCount(); index++) {
+            Position position = board.positionAt(index);
+            List<Position> expected = board.getAdjacentPositions(position);
+            int count = board.getAdjacentIndices(index, neighbors);
+            assertEquals(expected.size(), count);
+            for (int i = 0; i < count; i++) {
+                assertEquals(expected.get(i), board.positionAt(neighbors[i]));
+            }
+        }
+    }
 }
@@ -0,0 +1,70 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Board setup and path checks shared by the planner and engine tests.
+ */
+final class BoardTestSupport {
+
+    private BoardTestSupport() {
+    }
+
+    /**
+     * Places an entity on a random cell, drawing again while the cell is occupied.
+     */
+    static void placeRandomly(Board board, Random random, EntityType type) {
+        while (!board.placeEntity(board.positionAt(random.nextInt(board.getCellCount())), type)) {
+            // Occupied cell, draw another one
+        }
+    }
+
+    /**
+     * Checks that a path moves between adjacent passable cells from the start to the goal.
+     */
+    static void assertValidPath(BoardView board, int start, int goal, PathResult result) {
+        int[] neighbors = new int[4];
+        int previous = start;
+        for (int step = 0; step < result.getLength(); step++) {
+            int cell = result.getStep(step);
+            int count = board.getAdjacentIndices(previous, neighbors);
+            assertTrue(Arrays.stream(neighbors, 0, count).anyMatch(n -> n == cell));
+            assertTrue(AStarSearch.isPassable(board.getEntity(cell)));
+            previous = cell;
+        }
+        assertEquals(goal, previous);
+    }
+
+    /**
+     * Computes the length of a shortest path with a plain breadth-first search.
+     *
+     * @return the distance, or -1 if the goal is unreachable
+     */
+    static int bfsDistance(BoardView board, int start, int goal) {
+        int[] distance = new int[board.getCellCount()];
+        Arrays.fill(distance, -1);
+        int[] neighbors = new int[4];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        distance[start] = 0;
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            int cell = queue.poll();
+            if (cell == goal) {
+                return distance[cell];
+            }
+            int count = board.getAdjacentIndices(cell, neighbors);
+            for (int i = 0; i < count; i++) {
+                int next = neighbors[i];
+                if (distance[next] < 0 && AStarSearch.isPassable(board.getEntity(next))) {
+                    distance[next] = distance[cell] + 1;
+                    queue.add(next);
+                }
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,111 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+/**
+ * Unit tests for the ChunkedBoard class.
+ */
+class ChunkedBoardTest {
+
+    private ChunkedBoard board;
+
+    @BeforeEach
+    void setUp() {
+        board = new ChunkedBoard(10_000, 10_000);
+    }
+
+    @Test
+    void testEmptyBoardAllocatesNoChunks() {
+        assertEquals(0, board.getChunkCount());
+        assertEquals(EntityType.EMPTY, board.getEntity(new Position(9_999, 9_999)));
+        board.setEntity(new Position(5_000, 5_000), EntityType.EMPTY);
+        assertEquals(0, board.getChunkCount());
+    }
+
+    @Test
+    void testMovesAcrossChunkBoundaries() {
+        Position from = new Position(63, 63);
+        Position to = new Position(63, 64);
+        assertTrue(board.placeEntity(from, EntityType.AGENT));
+        assertTrue(board.moveEntity(from, to));
+        assertTrue(board.moveEntity(to, new Position(64, 64)));
+
+        assertEquals(EntityType.AGENT, board.getEntity(new Position(64, 64)));
+        assertEquals(EntityType.EMPTY, board.getEntity(from));
+        assertEquals(new Position(64, 64), board.getAgentPosition());
+        assertEquals(List.of(new Position(63, 64), new Position(65, 64), new Position(64, 63), new Position(64, 65)),
+                     board.getAdjacentPositions(new Position(64, 64)));
+    }
+
+    @Test
+    void testEmptyChunksCanBeEvicted() {
+        board.placeEntity(new Position(10, 10), EntityType.ENEMY);
+        board.placeEntity(new Position(9_000, 8_960), EntityType.ENEMY);
+        assertEquals(2, board.getChunkCount());
+
+        assertTrue(board.moveEntity(new Position(9_000, 8_960), new Position(9_000, 8_959)));
+        assertEquals(3, board.getChunkCount());
+        assertEquals(1, board.evictEmptyChunks());
+        assertEquals(2, board.getChunkCount());
+        assertEquals(EntityType.ENEMY, board.getEntity(new Position(9_000, 8_959)));
+    }
+
+    @Test
+    void testPathfindingAndSnapshotAcrossChunks() {
+        ChunkedBoard small = new ChunkedBoard(100, 70);
+        Position start = new Position(60, 60);
+        Position goal = new Position(68, 70);
+        small.placeEntity(start, EntityType.AGENT);
+        small.placeEntity(goal, EntityType.PHONE);
+
+        assertTrue(GameUtils.hasPathToAnyGoal(small, start, List.of(goal)));
+        assertNotNull(GameUtils.findNextMoveTowards(small, start, List.of(goal)));
+
+        BoardSnapshot snapshot = small.snapshot();
+        assertEquals(EntityType.AGENT, snapshot.getEntity(start));
+        assertEquals(EntityType.PHONE, snapshot.getEntity(goal));
+        assertEquals(EntityType.EMPTY, snapshot.getEntity(new Position(69, 99)));
+    }
+
+    @Test
+    void testSnapshotSharesBackgroundBlocks() {
+        board.placeEntity(new Position(10, 10), EntityType.AGENT);
+        board.placeEntity(new Position(9_000, 8_960), EntityType.ENEMY);
+
+        BoardSnapshot snapshot = board.snapshot();
+        assertEquals(2, board.getChunkCount());
+        assertEquals(EntityType.AGENT, snapshot.getEntity(new Position(10, 10)));
+        assertEquals(EntityType.ENEMY, snapshot.getEntity(new Position(9_000, 8_960)));
+        assertEquals(EntityType.EMPTY, snapshot.getEntity(new Position(5_000, 5_000)));
+        // Blocks over unallocated chunks are one shared block, not dense copies
+        int background = board.indexOf(5_000, 5_000) >>> BoardSnapshot.BLOCK_BITS;
+        int other = board.indexOf(7_000, 1_000) >>> BoardSnapshot.BLOCK_BITS;
+        assertSame(snapshot.getBlock(background), snapshot.getBlock(other));
+        assertNotSame(snapshot.getBlock(0), snapshot.getBlock(background));
+    }
+
+    @Test
+    void testChunkIndexSurvivesFillAndEviction() {
+        ChunkedCellStore store = new ChunkedCellStore(1_000, 1_000);
+        store.set(999_999, EntityType.ENEMY.code());
+        store.set(0, EntityType.AGENT.code());
+        assertEquals(2, store.getChunkCount());
+        assertEquals(EntityType.ENEMY.code(), store.get(999_999));
+
+        store.fill(EntityType.OBSTACLE.code());
+        assertEquals(0, store.getChunkCount());
+        assertEquals(EntityType.OBSTACLE.code(), store.get(999_999));
+        assertEquals(EntityType.OBSTACLE.code(), store.uniformCode(0, 4096));
+
+        store.set(64 * 1_000 + 64, EntityType.EMPTY.code());
+        assertEquals(-1, store.uniformCode(64 * 1_000, 1_000));
+        store.set(64 * 1_000 + 64, EntityType.OBSTACLE.code());
+        assertEquals(EntityType.OBSTACLE.code(), store.uniformCode(64 * 1_000, 1_000));
+        assertEquals(1, store.evictEmptyChunks());
+        assertEquals(0, store.getChunkCount());
+    }
+}
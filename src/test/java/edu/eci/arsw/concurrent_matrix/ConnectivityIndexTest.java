@@ -0,0 +1,68 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+/**
+ * Unit tests for the ConnectivityIndex class.
+ */
+class ConnectivityIndexTest {
+    private Board board;
+
+    @BeforeEach
+    void setUp() {
+        board = new Board(10, 10);
+        // A wall across row 5 splits the board in two
+        for (int y = 0; y < 10; y++) {
+            board.setEntity(new Position(5, y), EntityType.OBSTACLE);
+        }
+    }
+
+    @Test
+    void testWallSplitsComponents() {
+        ConnectivityIndex index = board.getConnectivityIndex();
+        assertEquals(2, index.getComponentCount());
+        assertTrue(index.isConnected(board.indexOf(0, 0), board.indexOf(4, 9)));
+        assertFalse(index.isConnected(board.indexOf(0, 0), board.indexOf(6, 0)));
+        assertEquals(ConnectivityIndex.BLOCKED, index.componentOf(board.indexOf(5, 3)));
+        assertEquals(ConnectivityIndex.BLOCKED, index.componentOf(-1));
+    }
+
+    @Test
+    void testIndexIsSharedUntilObstaclesChange() {
+        ConnectivityIndex index = board.getConnectivityIndex();
+        board.placeEntity(new Position(0, 0), EntityType.ENEMY);
+        board.moveEntity(new Position(0, 0), new Position(0, 1));
+        assertSame(index, board.getConnectivityIndex());
+        assertSame(index, board.snapshot().getConnectivityIndex());
+
+        // Opening a door joins the two halves
+        board.setEntity(new Position(5, 4), EntityType.EMPTY);
+        ConnectivityIndex rebuilt = board.getConnectivityIndex();
+        assertNotSame(index, rebuilt);
+        assertEquals(1, rebuilt.getComponentCount());
+        assertTrue(rebuilt.isConnected(board.indexOf(0, 0), board.indexOf(9, 9)));
+    }
+
+    @Test
+    void testReachabilityUsesComponentsAndEnemies() {
+        Position agent = new Position(0, 0);
+        board.placeEntity(agent, EntityType.AGENT);
+        List<Position> walledOff = List.of(new Position(9, 9));
+        assertFalse(GameUtils.isAnyGoalConnected(board, agent, walledOff));
+        assertFalse(GameUtils.hasPathToAnyGoal(board, agent, walledOff));
+
+        // An enemy in the other half cannot cut the agent's component
+        board.placeEntity(new Position(8, 8), EntityType.ENEMY);
+        assertTrue(GameUtils.hasPathToAnyGoal(board, agent, List.of(new Position(2, 2))));
+
+        // An enemy in the door cuts the only path even though the component is shared
+        board.setEntity(new Position(5, 4), EntityType.EMPTY);
+        board.placeEntity(new Position(5, 4), EntityType.ENEMY);
+        assertTrue(GameUtils.isAnyGoalConnected(board, agent, walledOff));
+        assertFalse(GameUtils.hasPathToAnyGoal(board, agent, walledOff));
+    }
+}
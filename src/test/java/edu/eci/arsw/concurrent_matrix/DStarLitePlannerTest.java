@@ -0,0 +1,123 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static edu.eci.arsw.concurrent_matrix.BoardTestSupport.assertValidPath;
+import static edu.eci.arsw.concurrent_matrix.BoardTestSupport.bfsDistance;
+import static edu.eci.arsw.concurrent_matrix.BoardTestSupport.placeRandomly;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Unit tests for the DStarLitePlanner class.
+ */
+class DStarLitePlannerTest {
+
+    @Test
+    void testFirstPlanMatchesBreadthFirstSearch() {
+        Board board = new Board(30, 30);
+        board.setupGame();
+        BoardSnapshot view = board.snapshot();
+        PathResult expected = GameUtils.findPathToNearestGoal(view, view.getAgentPosition(), view.getPhonePositions());
+
+        PathResult result = new DStarLitePlanner().plan(view);
+        assertEquals(expected.isFound(), result.isFound());
+        assertEquals(expected.getLength(), result.getLength());
+    }
+
+    @Test
+    void testReplansAsEnemiesAndAgentMove() {
+        Random random = new Random(11);
+        for (int trial = 0; trial < 10; trial++) {
+            Board board = new Board(40, 40);
+            for (int i = 0; i < board.getCellCount(); i++) {
+                if (random.nextInt(100) < 20) {
+                    board.setEntity(board.positionAt(i), EntityType.OBSTACLE);
+                }
+            }
+            placeRandomly(board, random, EntityType.AGENT);
+            placeRandomly(board, random, EntityType.PHONE);
+            placeRandomly(board, random, EntityType.PHONE);
+            for (int i = 0; i < 15; i++) {
+                placeRandomly(board, random, EntityType.ENEMY);
+            }
+
+            DStarLitePlanner planner = new DStarLitePlanner();
+            for (int tick = 0; tick < 30; tick++) {
+                BoardSnapshot view = board.snapshot();
+                PathResult expected = GameUtils.findPathToNearestGoal(view, view.getAgentPosition(),
+                                                                      view.getPhonePositions());
+                PathResult result = planner.plan(view);
+                assertEquals(expected.isFound(), result.isFound());
+                assertEquals(expected.getLength(), result.getLength());
+                if (!result.isFound() || result.getLength() <= 1) {
+                    break;
+                }
+                assertTrue(board.moveEntity(view.getAgentPosition(), board.positionAt(result.getNextStep())));
+
+                // Every enemy takes a random step
+                for (Position enemy : board.getEnemyPositions()) {
+                    List<Position> around = board.getAdjacentPositions(enemy);
+                    Position target = around.get(random.nextInt(around.size()));
+                    if (board.isFree(target)) {
+                        board.moveEntity(enemy, target);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testObstacleAcrossTheRouteIsPlannedAround() {
+        Board board = new Board(20, 20);
+        int start = board.indexOf(10, 0);
+        int goal = board.indexOf(10, 19);
+        board.placeEntity(board.positionAt(start), EntityType.AGENT);
+        board.placeEntity(board.positionAt(goal), EntityType.PHONE);
+
+        DStarLitePlanner planner = new DStarLitePlanner();
+        assertEquals(19, planner.plan(board.snapshot()).getLength());
+
+        // A wall across the straight route, open only on the last row
+        for (int x = 0; x < 19; x++) {
+            board.setEntity(new Position(x, 10), EntityType.OBSTACLE);
+        }
+        BoardSnapshot view = board.snapshot();
+        PathResult result = planner.plan(view);
+        assertTrue(result.isFound());
+        assertEquals(bfsDistance(view, start, goal), result.getLength());
+        assertValidPath(view, start, goal, result);
+    }
+
+    @Test
+    void testIncrementalRepairExpandsLessThanFirstPlan() {
+        Board board = new Board(200, 200);
+        int start = board.indexOf(0, 0);
+        int goal = board.indexOf(199, 199);
+        board.placeEntity(board.positionAt(start), EntityType.AGENT);
+        board.placeEntity(board.positionAt(goal), EntityType.PHONE);
+        board.placeEntity(new Position(100, 0), EntityType.ENEMY);
+
+        DStarLitePlanner planner = new DStarLitePlanner();
+        PathResult first = planner.plan(board.snapshot());
+        assertEquals(398, first.getLength());
+
+        board.moveEntity(new Position(100, 0), new Position(100, 1));
+        PathResult second = planner.plan(board.snapshot());
+        assertEquals(398, second.getLength());
+        assertTrue(second.getExpansions() * 10 < first.getExpansions(),
+                   second.getExpansions() + " vs " + first.getExpansions());
+    }
+
+    @Test
+    void testNoPath() {
+        Board board = new Board(5, 5);
+        board.placeEntity(new Position(0, 0), EntityType.AGENT);
+        board.placeEntity(new Position(4, 4), EntityType.PHONE);
+        board.setEntity(new Position(0, 1), EntityType.OBSTACLE);
+        board.setEntity(new Position(1, 0), EntityType.OBSTACLE);
+
+        assertFalse(new DStarLitePlanner().plan(board.snapshot()).isFound());
+    }
+}
@@ -0,0 +1,133 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for the DoubleBufferedBoard class and bulk move commits.
+ */
+class DoubleBufferedBoardTest {
+
+    @Test
+    void testContestedCellGoesToHigherPriority() {
+        DoubleBufferedBoard board = new DoubleBufferedBoard(5, 5);
+        board.placeEntity(new Position(1, 0), EntityType.ENEMY);
+        board.placeEntity(new Position(1, 2), EntityType.ENEMY);
+        MoveIntent first = new MoveIntent(1, EntityType.ENEMY, board.indexOf(1, 0), board.indexOf(1, 1));
+        board.propose(new MoveIntent(2, EntityType.ENEMY, board.indexOf(1, 2), board.indexOf(1, 1)));
+        board.propose(first);
+
+        assertEquals(List.of(first), board.commit());
+        assertEquals(0, board.getPendingCount());
+        assertEquals(List.of(new Position(1, 1), new Position(1, 2)), board.getEnemyPositions());
+        assertEquals(EntityType.ENEMY, board.front().getEntity(new Position(1, 1)));
+    }
+
+    @Test
+    void testAgentAndEnemyCannotSwap() {
+        DoubleBufferedBoard board = new DoubleBufferedBoard(5, 5);
+        board.placeEntity(new Position(0, 0), EntityType.AGENT);
+        board.placeEntity(new Position(0, 1), EntityType.ENEMY);
+        long version = board.getVersion();
+        board.propose(new MoveIntent(1, EntityType.ENEMY, board.indexOf(0, 1), board.indexOf(0, 0)));
+        board.propose(new MoveIntent(0, EntityType.AGENT, board.indexOf(0, 0), board.indexOf(0, 1)));
+
+        assertTrue(board.commit().isEmpty());
+        assertEquals(version, board.getVersion());
+        assertEquals(new Position(0, 0), board.getAgentPosition());
+    }
+
+    @Test
+    void testParallelProposalsCommitTheSameWhateverTheirOrder() throws InterruptedException {
+        List<Position> first = proposeInParallel(1);
+        for (long seed = 2; seed <= 5; seed++) {
+            assertEquals(first, proposeInParallel(seed));
+        }
+    }
+
+    @Test
+    void testEntityMovesAreCommittedByTheCommitterOnly() throws Exception {
+        DoubleBufferedBoard board = new DoubleBufferedBoard(5, 5);
+        try {
+            board.placeEntity(new Position(0, 0), EntityType.ENEMY);
+            board.placeEntity(new Position(0, 2), EntityType.ENEMY);
+            board.startCommitting(10);
+            long version = board.getVersion();
+
+            // Both enemies want (0, 1), through the committer; only one of them can get it
+            CompletableFuture<Boolean> second = CompletableFuture.supplyAsync(
+                    () -> board.moveEntity(new Position(0, 2), new Position(0, 1)));
+            boolean first = board.moveEntity(new Position(0, 0), new Position(0, 1));
+            boolean other = second.get(5, TimeUnit.SECONDS);
+
+            assertTrue(first ^ other);
+            assertTrue(board.getVersion() > version);
+            assertEquals(EntityType.ENEMY, board.getEntity(new Position(0, 1)));
+            assertThrows(IllegalStateException.class, board::commit);
+            assertThrows(IllegalStateException.class, () -> board.startCommitting(10));
+        } finally {
+            board.close();
+        }
+        assertFalse(board.moveEntity(new Position(0, 1), new Position(1, 1)));
+    }
+
+    @Test
+    void testBulkCommitSkipsMovesNoLongerValid() {
+        for (Board board : List.of(new Board(5, 5), new AtomicBoard(5, 5))) {
+            board.placeEntity(new Position(0, 0), EntityType.ENEMY);
+            board.placeEntity(new Position(2, 2), EntityType.OBSTACLE);
+            MoveIntent valid = new MoveIntent(1, EntityType.ENEMY, board.indexOf(0, 0), board.indexOf(0, 1));
+            List<MoveIntent> moves = List.of(
+                    valid,
+                    new MoveIntent(2, EntityType.ENEMY, board.indexOf(0, 0), board.indexOf(1, 0)),
+                    new MoveIntent(3, EntityType.ENEMY, board.indexOf(0, 1), board.indexOf(2, 2)));
+
+            assertEquals(List.of(valid), board.commitMoves(moves));
+            assertEquals(List.of(new Position(0, 1)), board.getEnemyPositions());
+        }
+    }
+
+    /**
+     * Lets four threads propose every enemy's step towards the centre of a fresh board,
+     * in a seeded random order, and returns the enemy positions after the commit.
+     */
+    private static List<Position> proposeInParallel(long seed) throws InterruptedException {
+        DoubleBufferedBoard board = new DoubleBufferedBoard(30, 30);
+        Random layout = new Random(7);
+        for (int placed = 0; placed < 200; ) {
+            if (board.placeEntity(board.positionAt(layout.nextInt(board.getCellCount())), EntityType.ENEMY)) {
+                placed++;
+            }
+        }
+        BoardSnapshot front = board.front();
+        List<MoveIntent> intents = new ArrayList<>();
+        List<Position> enemies = front.getEnemyPositions();
+        for (int i = 0; i < enemies.size(); i++) {
+            Position enemy = enemies.get(i);
+            int x = enemy.getX() + Integer.signum(15 - enemy.getX());
+            intents.add(new MoveIntent(i + 1, EntityType.ENEMY, front.indexOf(enemy),
+                                     x * front.getWidth() + enemy.getY()));
+        }
+        Collections.shuffle(intents, new Random(seed));
+
+        List<Thread> proposers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            List<MoveIntent> share = intents.subList(t * intents.size() / 4, (t + 1) * intents.size() / 4);
+            Thread proposer = new Thread(() -> share.forEach(board::propose));
+            proposers.add(proposer);
+            proposer.start();
+        }
+        for (Thread proposer : proposers) {
+            proposer.join();
+        }
+        assertFalse(board.commit().isEmpty());
+        return board.getEnemyPositions();
+    }
+}
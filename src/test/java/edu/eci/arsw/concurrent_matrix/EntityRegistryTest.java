@@ -0,0 +1,165 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Unit tests for the EntityRegistry class.
+ */
+class EntityRegistryTest {
+
+    private EntityRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new EntityRegistry(new PositionTable(10, 10));
+    }
+
+    @Test
+    void testRegisterAndMove() {
+        int agent = registry.register(EntityType.AGENT, 11);
+        int enemy = registry.register(EntityType.ENEMY, 22);
+
+        assertEquals(agent, registry.getAgentId());
+        assertEquals(new Position(1, 1), registry.getAgentPosition());
+        assertEquals(enemy, registry.idAt(22));
+
+        assertEquals(enemy, registry.move(22, 23));
+        assertEquals(EntityRegistry.NONE, registry.idAt(22));
+        assertEquals(enemy, registry.idAt(23));
+        assertEquals(23, registry.cellOf(enemy));
+        assertEquals(EntityType.ENEMY, registry.typeOf(enemy));
+    }
+
+    @Test
+    void testRejectsDuplicates() {
+        assertNotEquals(EntityRegistry.NONE, registry.register(EntityType.AGENT, 0));
+        assertEquals(EntityRegistry.NONE, registry.register(EntityType.AGENT, 1));
+        assertEquals(EntityRegistry.NONE, registry.register(EntityType.ENEMY, 0));
+        assertEquals(EntityRegistry.NONE, registry.register(EntityType.OBSTACLE, 5));
+        assertEquals(EntityRegistry.NONE, registry.move(50, 51));
+    }
+
+    @Test
+    void testSnapshotsAreSharedUntilChanged() {
+        registry.register(EntityType.ENEMY, 3);
+        registry.register(EntityType.PHONE, 4);
+
+        List<Position> first = registry.positionsOf(EntityType.ENEMY);
+        assertSame(first, registry.positionsOf(EntityType.ENEMY));
+        assertThrows(UnsupportedOperationException.class, () -> first.add(new Position(0, 0)));
+
+        List<Position> phones = registry.positionsOf(EntityType.PHONE);
+        registry.move(3, 13);
+        assertEquals(List.of(new Position(1, 3)), registry.positionsOf(EntityType.ENEMY));
+        assertSame(phones, registry.positionsOf(EntityType.PHONE));
+    }
+
+    @Test
+    void testManyRandomMovesMatchReference() {
+        EntityRegistry large = new EntityRegistry(new PositionTable(1000, 1000));
+        Random random = new Random(3);
+        Map<Integer, Integer> cellToId = new HashMap<>();
+        while (cellToId.size() < 5000) {
+            int cell = random.nextInt(1_000_000);
+            if (!cellToId.containsKey(cell)) {
+                cellToId.put(cell, large.register(EntityType.ENEMY, cell));
+            }
+        }
+        Integer[] cells = cellToId.keySet().toArray(new Integer[0]);
+        for (int step = 0; step < 50_000; step++) {
+            int i = random.nextInt(cells.length);
+            int to = random.nextInt(1_000_000);
+            if (cellToId.containsKey(to)) {
+                continue;
+            }
+            int id = cellToId.remove(cells[i]);
+            assertEquals(id, large.move(cells[i], to));
+            cellToId.put(to, id);
+            cells[i] = to;
+        }
+        for (Map.Entry<Integer, Integer> entry : cellToId.entrySet()) {
+            assertEquals(entry.getValue().intValue(), large.idAt(entry.getKey()));
+            assertEquals(entry.getKey().intValue(), large.cellOf(entry.getValue()));
+        }
+        assertEquals(5000, large.count(EntityType.ENEMY));
+        assertEquals(5000, large.positionsOf(EntityType.ENEMY).size());
+    }
+
+    @Test
+    void testClear() {
+        registry.register(EntityType.AGENT, 1);
+        registry.clear();
+        assertNull(registry.getAgentPosition());
+        assertEquals(0, registry.count(EntityType.AGENT));
+        assertNotEquals(EntityRegistry.NONE, registry.register(EntityType.AGENT, 2));
+    }
+
+    @Test
+    void testMovesDoNotWaitForRegistration() throws InterruptedException {
+        int enemy = registry.register(EntityType.ENEMY, 0);
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            synchronized (registry) {
+                held.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        holder.start();
+        held.await();
+        try {
+            // Registration holds the registry monitor; a move must not need it
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                assertEquals(enemy, registry.move(0, 1));
+                assertEquals(List.of(new Position(0, 1)), registry.positionsOf(EntityType.ENEMY));
+            });
+        } finally {
+            release.countDown();
+            holder.join();
+        }
+    }
+
+    @Test
+    void testConcurrentMoversOfDistinctEntities() throws InterruptedException {
+        EntityRegistry large = new EntityRegistry(new PositionTable(100, 100));
+        int threads = 4;
+        int[] ids = new int[threads];
+        for (int t = 0; t < threads; t++) {
+            ids[t] = large.register(EntityType.ENEMY, t * 2500);
+        }
+        Thread[] movers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int base = t * 2500;
+            movers[t] = new Thread(() -> {
+                // Each thread walks its entity through its own quarter of the cells
+                for (int step = 0; step < 20_000; step++) {
+                    large.move(base + step % 2500, base + (step + 1) % 2500);
+                    large.positionsOf(EntityType.ENEMY);
+                }
+            });
+            movers[t].start();
+        }
+        for (Thread mover : movers) {
+            mover.join();
+        }
+        for (int t = 0; t < threads; t++) {
+            int cell = t * 2500 + 20_000 % 2500;
+            assertEquals(cell, large.cellOf(ids[t]));
+            assertEquals(ids[t], large.idAt(cell));
+            assertEquals(large.positionsOf(EntityType.ENEMY).get(t), new PositionTable(100, 100).get(cell));
+        }
+    }
+}
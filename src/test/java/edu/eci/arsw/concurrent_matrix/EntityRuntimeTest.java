@@ -0,0 +1,178 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Unit tests for the entity tasks and the runtimes running them.
+ */
+class EntityRuntimeTest {
+
+    @Test
+    void testPlatformThreadsPlayGameToTheEnd() throws InterruptedException {
+        Board board = new Board(10, 10);
+        board.placeEntity(new Position(0, 0), EntityType.AGENT);
+        board.placeEntity(new Position(0, 4), EntityType.PHONE);
+        board.placeEntity(new Position(9, 9), EntityType.ENEMY);
+        GameState state = new GameState();
+        EntityRuntime runtime = new PlatformThreadRuntime();
+        runtime.start(new AgentTask(board, state, 5, PathfindingMode.ASTAR.createPlanner()));
+        runtime.start(new EnemyTask(board, state, new Position(9, 9), 1, 5, new FlowField(board)));
+
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!state.isGameOver() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(runtime.stop(5000));
+        assertEquals(2, runtime.getTaskCount());
+        assertEquals("Agent reached a phone! Agent wins!", state.getEndReason());
+    }
+
+    @Test
+    void testStopInterruptsSleepingTasks() throws InterruptedException {
+        EntityRuntime runtime = new PlatformThreadRuntime();
+        LongAdder steps = new LongAdder();
+        runtime.start(new EntityTask() {
+            @Override
+            public boolean step() {
+                steps.increment();
+                return true;
+            }
+
+            @Override
+            public String getName() {
+                return "Sleeper";
+            }
+
+            @Override
+            public int getMoveDelay() {
+                return 60_000;
+            }
+        });
+        while (steps.sum() == 0) {
+            Thread.sleep(1);
+        }
+        long started = System.nanoTime();
+        assertTrue(runtime.stop(5000));
+        assertTrue(System.nanoTime() - started < 5_000_000_000L);
+    }
+
+    @Test
+    void testScheduledRuntimePlaysGameToTheEnd() throws InterruptedException {
+        Board board = new Board(10, 10);
+        board.placeEntity(new Position(0, 0), EntityType.AGENT);
+        board.placeEntity(new Position(0, 4), EntityType.PHONE);
+        GameState state = new GameState();
+        LongAdder steps = new LongAdder();
+        ScheduledRuntime runtime = new ScheduledRuntime(2);
+        runtime.start(counting(new AgentTask(board, state, 5, PathfindingMode.ASTAR.createPlanner()), steps));
+
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!state.isGameOver() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        Thread.sleep(50);
+        assertEquals("Agent reached a phone! Agent wins!", state.getEndReason());
+        assertEquals(4, steps.sum()); // Cancelled by the step that reached the phone
+        assertTrue(runtime.stop(1000));
+    }
+
+    @Test
+    void testScheduledRuntimeKeepsThreadCountFixed() throws InterruptedException {
+        int enemies = 10_000;
+        Board board = new Board(300, 300);
+        board.placeEntity(new Position(0, 0), EntityType.AGENT);
+        board.placeEntity(new Position(0, 299), EntityType.PHONE);
+        Random random = new Random(23);
+        for (int placed = 0; placed < enemies; ) {
+            if (board.placeEntity(new Position(150 + random.nextInt(150), random.nextInt(300)), EntityType.ENEMY)) {
+                placed++;
+            }
+        }
+        GameState state = new GameState();
+        FlowField flowField = new FlowField(board);
+        LongAdder steps = new LongAdder();
+        int threadsBefore = ManagementFactory.getThreadMXBean().getThreadCount();
+        ScheduledRuntime runtime = new ScheduledRuntime(2);
+        List<Position> positions = board.getEnemyPositions();
+        for (int i = 0; i < positions.size(); i++) {
+            runtime.start(counting(new EnemyTask(board, state, positions.get(i), i + 1, 20, flowField), steps));
+        }
+
+        long deadline = System.nanoTime() + 30_000_000_000L;
+        while (steps.sum() < 2L * enemies && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(ManagementFactory.getThreadMXBean().getThreadCount() <= threadsBefore + 2);
+        assertEquals(2, runtime.getThreadCount());
+        assertEquals(enemies, runtime.getTaskCount());
+        assertTrue(steps.sum() >= 2L * enemies, steps.sum() + " steps");
+        assertTrue(runtime.stop(5000));
+        assertFalse(state.isGameOver());
+    }
+
+    @Test
+    void testHundredThousandEnemiesOnVirtualThreads() throws InterruptedException {
+        int enemies = 100_000;
+        Board board = new Board(1000, 1000);
+        board.placeEntity(new Position(0, 0), EntityType.AGENT);
+        board.placeEntity(new Position(0, 999), EntityType.PHONE);
+        Random random = new Random(22);
+        for (int placed = 0; placed < enemies; ) {
+            if (board.placeEntity(new Position(500 + random.nextInt(500), random.nextInt(1000)), EntityType.ENEMY)) {
+                placed++;
+            }
+        }
+
+        // The enemies start hundreds of moves away from the agent, so the game goes on
+        GameState state = new GameState();
+        FlowField flowField = new FlowField(board);
+        LongAdder steps = new LongAdder();
+        EntityRuntime runtime = new VirtualThreadRuntime();
+        List<Position> positions = board.getEnemyPositions();
+        long version = board.getVersion();
+        for (int i = 0; i < positions.size(); i++) {
+            runtime.start(counting(new EnemyTask(board, state, positions.get(i), i + 1, 50, flowField), steps));
+        }
+        int platformThreads = ManagementFactory.getThreadMXBean().getThreadCount();
+
+        long deadline = System.nanoTime() + 60_000_000_000L;
+        while (steps.sum() < 2L * enemies && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(runtime.stop(30_000));
+        assertEquals(enemies, runtime.getTaskCount());
+        assertTrue(steps.sum() >= 2L * enemies, steps.sum() + " steps");
+        assertTrue(board.getVersion() > version);
+        assertTrue(platformThreads < 1000, platformThreads + " platform threads");
+        assertFalse(state.isGameOver());
+    }
+
+    /**
+     * Wraps a task to count its steps.
+     */
+    private static EntityTask counting(EntityTask task, LongAdder steps) {
+        return new EntityTask() {
+            @Override
+            public boolean step() {
+                steps.increment();
+                return task.step();
+            }
+
+            @Override
+            public String getName() {
+                return task.getName();
+            }
+
+            @Override
+            public int getMoveDelay() {
+                return task.getMoveDelay();
+            }
+        };
+    }
+}
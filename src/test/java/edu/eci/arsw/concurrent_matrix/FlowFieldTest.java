@@ -0,0 +1,90 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the FlowField class.
+ */
+class FlowFieldTest {
+
+    private Board board;
+    private FlowField flowField;
+
+    @BeforeEach
+    void setUp() {
+        board = new Board(10, 10);
+        flowField = new FlowField(board);
+    }
+
+    @Test
+    void testDistancesFollowObstacles() {
+        for (int y = 0; y < 9; y++) {
+            board.setEntity(new Position(5, y), EntityType.OBSTACLE);
+        }
+        board.placeEntity(new Position(0, 0), EntityType.AGENT);
+
+        assertEquals(0, flowField.distanceAt(board.indexOf(0, 0)));
+        assertEquals(9, flowField.distanceAt(board.indexOf(0, 9)));
+        assertEquals(24, flowField.distanceAt(board.indexOf(6, 0)));
+        assertEquals(FlowField.UNREACHABLE, flowField.distanceAt(board.indexOf(5, 0)));
+    }
+
+    @Test
+    void testEnemiesStepDownTheField() {
+        Position agent = new Position(2, 2);
+        Position enemy = new Position(7, 7);
+        board.placeEntity(agent, EntityType.AGENT);
+        board.placeEntity(enemy, EntityType.ENEMY);
+
+        Position current = enemy;
+        for (int step = 0; step < 9; step++) {
+            Position next = flowField.nextMoveFrom(current);
+            assertNotNull(next);
+            assertEquals(1, current.distanceTo(next));
+            assertTrue(board.moveEntity(current, next));
+            current = next;
+        }
+        assertEquals(1, current.distanceTo(agent));
+        assertEquals(agent, flowField.nextMoveFrom(current));
+    }
+
+    @Test
+    void testEnemiesDoNotRouteThroughEachOther() {
+        // Corridor along row 0, blocked below; a second enemy stands in it
+        for (int y = 0; y < 10; y++) {
+            board.setEntity(new Position(1, y), EntityType.OBSTACLE);
+        }
+        board.placeEntity(new Position(0, 0), EntityType.AGENT);
+        board.placeEntity(new Position(0, 3), EntityType.ENEMY);
+        board.placeEntity(new Position(0, 5), EntityType.ENEMY);
+
+        assertEquals(3, flowField.distanceAt(board.indexOf(0, 3)));
+        assertEquals(FlowField.UNREACHABLE, flowField.distanceAt(board.indexOf(0, 5)));
+        assertEquals(-1, flowField.nextStepFrom(board.indexOf(0, 5)));
+        assertEquals(board.indexOf(0, 2), flowField.nextStepFrom(board.indexOf(0, 3)));
+    }
+
+    @Test
+    void testFieldIsRecomputedOnlyWhenAgentMoves() {
+        board.placeEntity(new Position(0, 0), EntityType.AGENT);
+        board.placeEntity(new Position(9, 9), EntityType.ENEMY);
+        assertEquals(18, flowField.distanceAt(board.indexOf(9, 9)));
+        assertEquals(board.indexOf(0, 0), flowField.getAgentIndex());
+
+        // An enemy move keeps the published field
+        board.moveEntity(new Position(9, 9), new Position(9, 8));
+        assertEquals(18, flowField.distanceAt(board.indexOf(9, 9)));
+
+        board.moveEntity(new Position(0, 0), new Position(0, 1));
+        assertEquals(17, flowField.distanceAt(board.indexOf(9, 9)));
+        assertEquals(board.indexOf(0, 1), flowField.getAgentIndex());
+    }
+
+    @Test
+    void testNoAgent() {
+        assertEquals(FlowField.UNREACHABLE, flowField.distanceAt(0));
+        assertNull(flowField.nextMoveFrom(new Position(3, 3)));
+    }
+}
@@ -159,4 +159,54 @@ class GameUtilsTest {
         Position next = GameUtils.findNextMoveTowards(board, start, Arrays.asList());
         assertNull(next); // No goals provided
     }
+
+    @Test
+    void testPackedFindNextMoveMatchesPositionApi() {
+        Position start = new Position(0, 0);
+        Position goal = new Position(4, 4);
+        board.setEntity(new Position(1, 0), EntityType.OBSTACLE);
+        board.setEntity(new Position(1, 1), EntityType.OBSTACLE);
+
+        Position expected = GameUtils.findNextMoveTowards(board, start, Arrays.asList(goal));
+        int next = GameUtils.findNextMoveTowards(board, board.indexOf(start), new int[] {board.indexOf(goal)});
+        assertEquals(expected, board.positionAt(next));
+        assertEquals(-1, GameUtils.findNextMoveTowards(board, board.indexOf(start), new int[0]));
+    }
+
+    @Test
+    void testNearestReachableGoalWinsOverManhattanClosest() {
+        Position start = new Position(5, 5);
+        Position walledOff = new Position(5, 7); // Manhattan distance 2, unreachable
+        Position reachable = new Position(9, 5); // Manhattan distance 4
+
+        board.setEntity(new Position(4, 7), EntityType.OBSTACLE);
+        board.setEntity(new Position(6, 7), EntityType.OBSTACLE);
+        board.setEntity(new Position(5, 6), EntityType.OBSTACLE);
+        board.setEntity(new Position(5, 8), EntityType.OBSTACLE);
+        board.setEntity(start, EntityType.AGENT);
+        board.setEntity(walledOff, EntityType.PHONE);
+        board.setEntity(reachable, EntityType.PHONE);
+
+        PathResult result = GameUtils.findPathToNearestGoal(board, start, Arrays.asList(walledOff, reachable));
+        assertTrue(result.isFound());
+        assertEquals(board.indexOf(reachable), result.getGoal());
+        assertEquals(4, result.getLength());
+        assertEquals(new Position(6, 5), GameUtils.findNextMoveTowards(board, start, Arrays.asList(walledOff, reachable)));
+    }
+
+    @Test
+    void testNearestGoalByPathLength() {
+        Position start = new Position(0, 0);
+        Position aroundWall = new Position(2, 0); // Manhattan distance 2, path length 6
+        Position straight = new Position(0, 4);   // Manhattan distance 4, path length 4
+        for (int y = 0; y < 3; y++) {
+            board.setEntity(new Position(1, y), EntityType.OBSTACLE);
+        }
+        board.setEntity(start, EntityType.AGENT);
+
+        PathResult result = GameUtils.findPathToNearestGoal(board, start, Arrays.asList(aroundWall, straight));
+        assertEquals(board.indexOf(straight), result.getGoal());
+        assertEquals(4, result.getLength());
+        assertFalse(GameUtils.findPathToNearestGoal(board, start, List.of()).isFound());
+    }
 }
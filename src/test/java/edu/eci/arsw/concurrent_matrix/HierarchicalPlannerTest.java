@@ -0,0 +1,122 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static edu.eci.arsw.concurrent_matrix.BoardTestSupport.placeRandomly;
+
+import java.util.Random;
+
+/**
+ * Unit tests for the HierarchicalPlanner class.
+ */
+class HierarchicalPlannerTest {
+
+    @Test
+    void testFollowingSegmentsReachesAPhone() {
+        Random random = new Random(16);
+        for (int trial = 0; trial < 20; trial++) {
+            Board board = new Board(60, 50);
+            for (int i = 0; i < board.getCellCount(); i++) {
+                if (random.nextInt(100) < 20) {
+                    board.setEntity(board.positionAt(i), EntityType.OBSTACLE);
+                }
+            }
+            placeRandomly(board, random, EntityType.AGENT);
+            placeRandomly(board, random, EntityType.PHONE);
+            placeRandomly(board, random, EntityType.PHONE);
+            BoardSnapshot initial = board.snapshot();
+            PathResult shortest = GameUtils.findPathToNearestGoal(initial, initial.getAgentPosition(),
+                                                                  initial.getPhonePositions());
+
+            HierarchicalPlanner planner = new HierarchicalPlanner(8);
+            int steps = 0;
+            while (true) {
+                BoardSnapshot view = board.snapshot();
+                PathResult segment = planner.plan(view);
+                assertEquals(shortest.isFound(), segment.isFound(), "trial " + trial);
+                if (!segment.isFound()) {
+                    break;
+                }
+                int agent = view.indexOf(view.getAgentPosition());
+                for (int step : segment.toArray()) {
+                    assertTrue(board.moveEntity(board.positionAt(agent), board.positionAt(step)));
+                    agent = step;
+                    steps++;
+                }
+                if (view.getPhonePositions().contains(board.positionAt(agent))) {
+                    break;
+                }
+                assertTrue(steps < 4 * board.getCellCount(), "trial " + trial);
+            }
+            // Entrance-pinned routes are near-optimal, not optimal
+            assertTrue(steps <= shortest.getLength() * 3 / 2 + 8,
+                       "trial " + trial + ": " + steps + " vs " + shortest.getLength());
+        }
+    }
+
+    @Test
+    void testNoPath() {
+        Board board = new Board(40, 40);
+        board.placeEntity(new Position(0, 0), EntityType.AGENT);
+        board.placeEntity(new Position(39, 39), EntityType.PHONE);
+        for (int y = 0; y < 40; y++) {
+            board.setEntity(new Position(20, y), EntityType.OBSTACLE);
+        }
+
+        assertFalse(new HierarchicalPlanner(8).plan(board.snapshot()).isFound());
+    }
+
+    @Test
+    void testRebuildsOnlyClustersAroundChangedObstacle() {
+        Board board = new Board(64, 64);
+        board.placeEntity(new Position(0, 0), EntityType.AGENT);
+        board.placeEntity(new Position(63, 63), EntityType.PHONE);
+        HierarchicalPlanner planner = new HierarchicalPlanner(16);
+
+        assertTrue(planner.plan(board.snapshot()).isFound());
+        assertEquals(16, planner.getClusterBuilds());
+
+        // Moving entities leaves the graph alone
+        board.moveEntity(new Position(0, 0), new Position(0, 1));
+        assertTrue(planner.plan(board.snapshot()).isFound());
+        assertEquals(16, planner.getClusterBuilds());
+
+        // An obstacle in an inner cluster rebuilds it and its four neighbours
+        board.setEntity(new Position(20, 20), EntityType.OBSTACLE);
+        assertTrue(planner.plan(board.snapshot()).isFound());
+        assertEquals(21, planner.getClusterBuilds());
+    }
+
+    @Test
+    void testClosedDoorIsRoutedAround() {
+        Board board = new Board(32, 32);
+        for (int x = 0; x < 32; x++) {
+            if (x != 3 && x != 28) {
+                board.setEntity(new Position(x, 16), EntityType.OBSTACLE);
+            }
+        }
+        board.placeEntity(new Position(3, 10), EntityType.AGENT);
+        board.placeEntity(new Position(3, 22), EntityType.PHONE);
+        HierarchicalPlanner planner = new HierarchicalPlanner(8);
+        assertEquals(board.indexOf(3, 11), planner.plan(board.snapshot()).getNextStep());
+
+        // Closing the near door sends the agent to the far one
+        board.setEntity(new Position(3, 16), EntityType.OBSTACLE);
+        assertEquals(board.indexOf(4, 10), planner.plan(board.snapshot()).getNextStep());
+    }
+
+    @Test
+    void testEnemyOnWaypointFallsBackToExactSearch() {
+        Board board = new Board(16, 16);
+        board.placeEntity(new Position(0, 0), EntityType.AGENT);
+        board.placeEntity(new Position(15, 0), EntityType.PHONE);
+        HierarchicalPlanner planner = new HierarchicalPlanner(8);
+        PathResult free = planner.plan(board.snapshot());
+        assertTrue(free.isFound());
+
+        board.placeEntity(board.positionAt(free.getGoal()), EntityType.ENEMY);
+        PathResult blocked = planner.plan(board.snapshot());
+        assertTrue(blocked.isFound());
+        assertTrue(board.isFree(board.positionAt(blocked.getNextStep())));
+    }
+}
@@ -0,0 +1,116 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Unit tests for the IndexedMinHeap class.
+ */
+class IndexedMinHeapTest {
+
+    @Test
+    void testPollsInKeyOrder() {
+        IndexedMinHeap heap = new IndexedMinHeap(100);
+        Random random = new Random(7);
+        long[] keys = new long[100];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextInt(1000);
+            heap.put(i, keys[i]);
+        }
+
+        long previous = Long.MIN_VALUE;
+        while (!heap.isEmpty()) {
+            long key = heap.peekKey();
+            int item = heap.poll();
+            assertEquals(keys[item], key);
+            assertTrue(key >= previous);
+            previous = key;
+        }
+    }
+
+    @Test
+    void testUpdateAndRemove() {
+        IndexedMinHeap heap = new IndexedMinHeap(10);
+        heap.put(1, 50);
+        heap.put(2, 40);
+        heap.put(3, 30);
+
+        heap.put(1, 10);
+        assertEquals(1, heap.peek());
+        heap.put(1, 60);
+        assertEquals(3, heap.peek());
+        assertEquals(60, heap.keyOf(1));
+
+        assertTrue(heap.remove(3));
+        assertFalse(heap.remove(3));
+        assertFalse(heap.contains(3));
+        assertEquals(2, heap.poll());
+        assertEquals(1, heap.poll());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    void testRandomOperationsMatchReference() {
+        int capacity = 500;
+        IndexedMinHeap heap = new IndexedMinHeap(capacity);
+        long[] reference = new long[capacity];
+        Arrays.fill(reference, Long.MAX_VALUE);
+        Random random = new Random(42);
+
+        for (int op = 0; op < 20_000; op++) {
+            int item = random.nextInt(capacity);
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    long key = random.nextInt(10_000);
+                    heap.put(item, key);
+                    reference[item] = key;
+                }
+                case 1 -> assertEquals(reference[item] != Long.MAX_VALUE, heap.remove(item));
+                default -> {
+                    if (!heap.isEmpty()) {
+                        long min = Arrays.stream(reference).min().getAsLong();
+                        assertEquals(min, heap.peekKey());
+                        int polled = heap.poll();
+                        assertEquals(min, reference[polled]);
+                        reference[polled] = Long.MAX_VALUE;
+                    }
+                }
+            }
+            reference[item] = heap.contains(item) ? heap.keyOf(item) : Long.MAX_VALUE;
+        }
+    }
+
+    @Test
+    void testClearAndPackedKeys() {
+        IndexedMinHeap heap = new IndexedMinHeap(4);
+        heap.put(0, IndexedMinHeap.key(5, 1));
+        heap.put(1, IndexedMinHeap.key(5, 0));
+        heap.put(2, IndexedMinHeap.key(6, 0));
+        assertEquals(1, heap.peek());
+
+        heap.clear();
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(0));
+        heap.ensureCapacity(8);
+        heap.put(7, 1);
+        assertEquals(7, heap.poll());
+    }
+
+    @Test
+    void testDirectionOrdersBetweenPriorityAndTieBreaker() {
+        IndexedMinHeap heap = new IndexedMinHeap(4);
+        heap.put(0, IndexedMinHeap.key(5, 3, 0));
+        heap.put(1, IndexedMinHeap.key(5, 1, 9));
+        heap.put(2, IndexedMinHeap.key(5, 1, 2));
+        heap.put(3, IndexedMinHeap.key(4, 3, 9));
+        assertEquals(3, heap.poll());
+        assertEquals(1, IndexedMinHeap.directionOf(heap.peekKey()));
+        assertEquals(2, heap.poll());
+        assertEquals(1, heap.poll());
+        assertEquals(3, IndexedMinHeap.directionOf(heap.peekKey()));
+        assertEquals(0, heap.poll());
+    }
+}
@@ -0,0 +1,83 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static edu.eci.arsw.concurrent_matrix.BoardTestSupport.assertValidPath;
+
+import java.util.Random;
+
+/**
+ * Unit tests for the JumpPointSearch class.
+ */
+class JumpPointSearchTest {
+
+    @Test
+    void testMatchesAStarOnRandomMaps() {
+        Random random = new Random(5);
+        int[] densities = {0, 10, 25, 40};
+        for (int trial = 0; trial < 200; trial++) {
+            int width = 1 + random.nextInt(150);
+            int height = 1 + random.nextInt(40);
+            Board board = new Board(width, height);
+            int density = densities[trial % densities.length];
+            for (int i = 0; i < board.getCellCount(); i++) {
+                if (random.nextInt(100) < density) {
+                    board.setEntity(board.positionAt(i), EntityType.OBSTACLE);
+                }
+            }
+            int start = random.nextInt(board.getCellCount());
+            int goal = random.nextInt(board.getCellCount());
+            board.setEntity(board.positionAt(start), EntityType.AGENT);
+            board.setEntity(board.positionAt(goal), EntityType.PHONE);
+
+            PathResult expected = AStarSearch.findPath(board, start, goal);
+            PathResult result = JumpPointSearch.findPath(board, start, goal);
+            assertEquals(expected.isFound(), result.isFound(), "trial " + trial);
+            assertEquals(expected.getLength(), result.getLength(), "trial " + trial);
+            if (result.isFound()) {
+                assertValidPath(board, start, goal, result);
+                // Both searches break ties between shortest paths the same way
+                assertEquals(expected.getNextStep(), result.getNextStep(), "trial " + trial);
+                assertEquals(AStarSearch.findNextStep(board, start, goal), JumpPointSearch.findNextStep(board, start, goal));
+                assertEquals(expected.getNextStep(), JumpPointSearch.findNextStep(board, start, goal));
+            }
+            PathResult onSnapshot = JumpPointSearch.findPath(board.snapshot(), start, goal);
+            assertEquals(expected.getLength(), onSnapshot.getLength(), "trial " + trial);
+            assertEquals(expected.getNextStep(), onSnapshot.getNextStep(), "trial " + trial);
+        }
+    }
+
+    @Test
+    void testOpenGroundExpandsFewerNodesThanAStar() {
+        Board board = new Board(200, 200);
+        int start = board.indexOf(10, 10);
+        int goal = board.indexOf(190, 150);
+        PathResult astar = AStarSearch.findPath(board, start, goal);
+        PathResult jps = JumpPointSearch.findPath(board, start, goal);
+        assertEquals(astar.getLength(), jps.getLength());
+        assertTrue(jps.getExpansions() < astar.getExpansions());
+    }
+
+    @Test
+    void testFirstStepIsTheFirstOnAShortestPathInNeighbourOrder() {
+        Board board = new Board(10, 10);
+        int start = board.indexOf(5, 5);
+        // Going down first or right first are equally short; down comes first
+        assertEquals(board.indexOf(6, 5), JumpPointSearch.findNextStep(board, start, board.indexOf(8, 8)));
+        assertEquals(board.indexOf(6, 5), AStarSearch.findNextStep(board, start, board.indexOf(8, 8)));
+        // Up first or left first; up comes first
+        assertEquals(board.indexOf(4, 5), JumpPointSearch.findPath(board, start, board.indexOf(2, 2)).getNextStep());
+        assertEquals(board.indexOf(4, 5), AStarSearch.findPath(board, start, board.indexOf(2, 2)).getNextStep());
+    }
+
+    @Test
+    void testAroundWall() {
+        Board board = new Board(10, 10);
+        for (int y = 0; y < 9; y++) {
+            board.setEntity(new Position(5, y), EntityType.OBSTACLE);
+        }
+        PathResult result = JumpPointSearch.findPath(board, board.indexOf(0, 0), board.indexOf(9, 0));
+        assertEquals(27, result.getLength());
+        assertEquals(board.indexOf(9, 0), result.getGoal());
+    }
+}
@@ -0,0 +1,76 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static edu.eci.arsw.concurrent_matrix.BoardTestSupport.bfsDistance;
+
+import java.util.Random;
+
+/**
+ * Unit tests for the LandmarkHeuristic class.
+ */
+class LandmarkHeuristicTest {
+
+    @Test
+    void testEstimateNeverExceedsTrueDistance() {
+        Random random = new Random(19);
+        Board board = new Board(30, 30);
+        for (int i = 0; i < board.getCellCount(); i++) {
+            if (random.nextInt(100) < 30) {
+                board.setEntity(board.positionAt(i), EntityType.OBSTACLE);
+            }
+        }
+        LandmarkHeuristic heuristic = LandmarkHeuristic.build(board, 4);
+        assertEquals(4, heuristic.getLandmarks().length);
+        for (int trial = 0; trial < 200; trial++) {
+            int start = random.nextInt(board.getCellCount());
+            int goal = random.nextInt(board.getCellCount());
+            int distance = bfsDistance(board, start, goal);
+            if (distance >= 0) {
+                assertTrue(heuristic.estimate(start, goal) <= distance);
+            }
+        }
+    }
+
+    @Test
+    void testLandmarksCutExpansionsOnMazes() {
+        Random random = new Random(23);
+        Board board = new Board(129, 129);
+        PathfindingBenchmark.carveMaze(board, random);
+        LandmarkHeuristic heuristic = LandmarkHeuristic.build(board, LandmarkHeuristic.DEFAULT_LANDMARKS);
+
+        long manhattanExpansions = 0;
+        long landmarkExpansions = 0;
+        for (int trial = 0; trial < 50; trial++) {
+            int start = randomFreeCell(board, random);
+            int goal = randomFreeCell(board, random);
+            PathResult manhattan = AStarSearch.findPath(board, start, goal);
+            PathResult landmarks = AStarSearch.findPath(board, start, goal, heuristic);
+            assertEquals(manhattan.getLength(), landmarks.getLength());
+            manhattanExpansions += manhattan.getExpansions();
+            landmarkExpansions += landmarks.getExpansions();
+        }
+        assertTrue(landmarkExpansions * 2 < manhattanExpansions,
+                   landmarkExpansions + " vs " + manhattanExpansions);
+    }
+
+    @Test
+    void testRebuiltWhenObstaclesChange() {
+        Board board = new Board(10, 10);
+        LandmarkHeuristic heuristic = LandmarkHeuristic.build(board, 2);
+        assertTrue(heuristic.isCurrent(board));
+        board.placeEntity(new Position(1, 1), EntityType.ENEMY);
+        assertTrue(heuristic.isCurrent(board));
+        board.setEntity(new Position(2, 2), EntityType.OBSTACLE);
+        assertFalse(heuristic.isCurrent(board));
+    }
+
+    private static int randomFreeCell(Board board, Random random) {
+        while (true) {
+            int cell = random.nextInt(board.getCellCount());
+            if (board.isFree(cell)) {
+                return cell;
+            }
+        }
+    }
+}
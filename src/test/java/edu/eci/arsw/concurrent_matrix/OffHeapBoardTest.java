@@ -0,0 +1,139 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Unit tests for the OffHeapBoard class.
+ */
+class OffHeapBoardTest {
+
+    private OffHeapBoard board;
+
+    @BeforeEach
+    void setUp() {
+        board = new OffHeapBoard(10, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        board.close();
+    }
+
+    @Test
+    void testSetGetAndMove() {
+        Position from = new Position(2, 2);
+        Position to = new Position(2, 3);
+        board.setEntity(new Position(0, 0), EntityType.OBSTACLE);
+        board.placeEntity(from, EntityType.AGENT);
+
+        assertEquals(EntityType.OBSTACLE, board.getEntity(new Position(0, 0)));
+        assertTrue(board.moveEntity(from, to));
+        assertEquals(EntityType.EMPTY, board.getEntity(from));
+        assertEquals(EntityType.AGENT, board.getEntity(to));
+        assertEquals(to, board.getAgentPosition());
+    }
+
+    @Test
+    void testNoBitPlanesButReachabilityStillWorks() {
+        assertNull(board.getBitBoard());
+
+        Position start = new Position(1, 1);
+        board.setEntity(new Position(0, 1), EntityType.OBSTACLE);
+        board.setEntity(new Position(1, 0), EntityType.OBSTACLE);
+        board.setEntity(new Position(2, 1), EntityType.OBSTACLE);
+        board.setEntity(new Position(1, 2), EntityType.OBSTACLE);
+        board.setEntity(start, EntityType.AGENT);
+
+        assertFalse(GameUtils.hasPathToAnyGoal(board, start, List.of(new Position(5, 5))));
+        assertTrue(GameUtils.hasPathToAnyGoal(board, new Position(4, 4), List.of(new Position(5, 5))));
+    }
+
+    @Test
+    void testSetupGameOnLargeBoard() {
+        OffHeapBoard large = new OffHeapBoard(2000, 2000);
+        try {
+            large.setupGame();
+            assertEquals(EntityType.AGENT, large.getEntity(large.getAgentPosition()));
+        } finally {
+            large.close();
+        }
+        assertTrue(large.isClosed());
+    }
+
+    @Test
+    void testSnapshotsAndSearchIndexesStayOffHeap() {
+        OffHeapBoard large = new OffHeapBoard(2000, 2000);
+        try {
+            large.setupGame();
+            FlowField field = new FlowField(large);
+            Position agent = large.getAgentPosition();
+            com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            long before = threads.getCurrentThreadAllocatedBytes();
+
+            BoardSnapshot snapshot = large.snapshot();
+            ConnectivityIndex index = large.getConnectivityIndex();
+            int cell = large.indexOf(agent.getX(), agent.getY());
+            int distance = field.distanceAt(cell);
+
+            long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+            assertEquals(EntityType.AGENT, snapshot.getEntity(agent));
+            assertTrue(index.componentOf(cell) >= 0);
+            assertEquals(0, distance);
+            // Four million cells: any dense heap copy would allocate at least that many bytes
+            assertTrue(allocated < large.getCellCount() / 4, "allocated " + allocated + " heap bytes");
+        } finally {
+            large.close();
+        }
+    }
+
+    @Test
+    void testCloseFreesEveryDerivedBuffer() {
+        long before = directMemoryUsed();
+        OffHeapBoard large = new OffHeapBoard(2000, 2000);
+        int labelBytes = large.getCellCount() * Integer.BYTES;
+        try {
+            large.setupGame();
+            long cellsOnly = directMemoryUsed();
+            large.getConnectivityIndex();
+            // Only the labels are kept: the search queue goes back as soon as they are done
+            assertTrue(directMemoryUsed() - cellsOnly < 2L * labelBytes);
+            new FlowField(large).distanceAt(0);
+        } finally {
+            large.close();
+        }
+        assertTrue(directMemoryUsed() <= before, "derived buffers outlived the board");
+    }
+
+    @Test
+    void testCloseIsIdempotent() {
+        board.close();
+        board.close();
+        assertTrue(board.isClosed());
+    }
+
+    @Test
+    void testAccessAfterCloseIsRefused() {
+        board.setEntity(new Position(1, 1), EntityType.OBSTACLE);
+        board.close();
+        assertThrows(IllegalStateException.class, () -> board.getEntity(new Position(0, 0)));
+        assertThrows(IllegalStateException.class, () -> board.setEntity(new Position(0, 0), EntityType.OBSTACLE));
+        assertThrows(IllegalStateException.class, board::snapshot);
+    }
+
+    private static long directMemoryUsed() {
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            if (pool.getName().equals("direct")) {
+                return pool.getMemoryUsed();
+            }
+        }
+        throw new AssertionError("no direct buffer pool");
+    }
+}
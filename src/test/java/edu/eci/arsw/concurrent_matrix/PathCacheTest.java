@@ -0,0 +1,161 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+/**
+ * Unit tests for the PathCache class.
+ */
+class PathCacheTest {
+    private Board board;
+    private PathCache cache;
+
+    @BeforeEach
+    void setUp() {
+        board = new Board(10, 10);
+        cache = new PathCache();
+    }
+
+    @Test
+    void testNextStepReusesRestOfPath() {
+        List<Position> goals = List.of(new Position(0, 5));
+        assertEquals(new Position(0, 1), GameUtils.findNextMoveTowards(board, new Position(0, 0), goals, cache));
+        assertEquals(1, cache.getMisses());
+
+        // Each step finds the suffix of the first search
+        assertEquals(new Position(0, 2), GameUtils.findNextMoveTowards(board, new Position(0, 1), goals, cache));
+        assertEquals(new Position(0, 3), GameUtils.findNextMoveTowards(board, new Position(0, 2), goals, cache));
+        assertEquals(2, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void testChangeOffThePathKeepsEntry() {
+        List<Position> goals = List.of(new Position(0, 5));
+        GameUtils.findNextMoveTowards(board, new Position(0, 0), goals, cache);
+        board.placeEntity(new Position(5, 5), EntityType.ENEMY);
+
+        assertEquals(new Position(0, 1), GameUtils.findNextMoveTowards(board, new Position(0, 0), goals, cache));
+        assertEquals(1, cache.getHits());
+        assertEquals(0, cache.getInvalidations());
+    }
+
+    @Test
+    void testBlockedPathIsInvalidated() {
+        List<Position> goals = List.of(new Position(0, 5));
+        GameUtils.findNextMoveTowards(board, new Position(0, 0), goals, cache);
+        board.placeEntity(new Position(0, 3), EntityType.ENEMY);
+
+        Position next = GameUtils.findNextMoveTowards(board, new Position(0, 0), goals, cache);
+        assertEquals(1, cache.getInvalidations());
+        assertEquals(2, cache.getMisses());
+        assertEquals(GameUtils.findNextMoveTowards(board, new Position(0, 0), goals), next);
+    }
+
+    @Test
+    void testOnlyRoutesCrossingAMovedEnemyAreInvalidated() {
+        List<Position> top = List.of(new Position(0, 9));
+        List<Position> bottom = List.of(new Position(9, 9));
+        board.placeEntity(new Position(5, 5), EntityType.ENEMY);
+        GameUtils.findNextMoveTowards(board, new Position(0, 0), top, cache);
+        GameUtils.findNextMoveTowards(board, new Position(9, 0), bottom, cache);
+        board.moveEntity(new Position(5, 5), new Position(4, 5));
+        board.moveEntity(new Position(4, 5), new Position(4, 4));
+        assertEquals(0, cache.getInvalidations());
+
+        // Step onto the top route only
+        board.placeEntity(new Position(0, 4), EntityType.ENEMY);
+        assertEquals(new Position(9, 1), GameUtils.findNextMoveTowards(board, new Position(9, 0), bottom, cache));
+        assertEquals(0, cache.getInvalidations());
+        GameUtils.findNextMoveTowards(board, new Position(0, 0), top, cache);
+        assertEquals(1, cache.getInvalidations());
+        assertEquals(3, cache.getMisses());
+    }
+
+    @Test
+    void testObstacleChangeDropsEveryRoute() {
+        List<Position> goals = List.of(new Position(0, 5));
+        GameUtils.findNextMoveTowards(board, new Position(0, 0), goals, cache);
+        board.setEntity(new Position(9, 9), EntityType.OBSTACLE);
+
+        GameUtils.findNextMoveTowards(board, new Position(0, 0), goals, cache);
+        assertEquals(2, cache.getMisses());
+        assertEquals(0, cache.getHits());
+    }
+
+    @Test
+    void testCachedPlannerSearchesAgainOnlyWhenBlocked() {
+        board.placeEntity(new Position(0, 0), EntityType.AGENT);
+        board.placeEntity(new Position(0, 6), EntityType.PHONE);
+        board.placeEntity(new Position(9, 9), EntityType.ENEMY);
+        PathPlanner planner = PathfindingMode.ASTAR.createPlanner(cache);
+
+        PathResult first = planner.plan(board.snapshot());
+        assertEquals(board.indexOf(0, 1), first.getNextStep());
+        board.moveEntity(new Position(9, 9), new Position(9, 8));
+        assertEquals(first.getLength(), planner.plan(board.snapshot()).getLength());
+        assertEquals(1, cache.getHits());
+
+        board.placeEntity(new Position(0, 3), EntityType.ENEMY);
+        PathResult detour = planner.plan(board.snapshot());
+        assertEquals(PathfindingMode.ASTAR.createPlanner().plan(board.snapshot()).getLength(), detour.getLength());
+        assertEquals(1, cache.getInvalidations());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntryIsEvicted() {
+        PathCache small = new PathCache(2);
+        Position goal = new Position(9, 9);
+        GameUtils.findBestMoveTowardsAgent(board, new Position(0, 0), goal, small);
+        GameUtils.findBestMoveTowardsAgent(board, new Position(0, 9), goal, small);
+        // Touch the first entry so the second one is the eldest
+        GameUtils.findBestMoveTowardsAgent(board, new Position(0, 0), goal, small);
+        GameUtils.findBestMoveTowardsAgent(board, new Position(9, 0), goal, small);
+
+        assertTrue(small.size() <= 2);
+        assertTrue(small.getEvictions() > 0);
+        long misses = small.getMisses();
+        GameUtils.findBestMoveTowardsAgent(board, new Position(0, 9), goal, small);
+        assertEquals(misses + 1, small.getMisses());
+    }
+
+    @Test
+    void testCachedMoveTowardsAgentMatchesSearch() {
+        board.setupGame();
+        Position agent = board.getAgentPosition();
+        for (Position enemy : board.getEnemyPositions()) {
+            Position expected = GameUtils.findBestMoveTowardsAgent(board, enemy, agent);
+            assertEquals(expected, GameUtils.findBestMoveTowardsAgent(board, enemy, agent, cache));
+            assertEquals(expected, GameUtils.findBestMoveTowardsAgent(board, enemy, agent, cache));
+        }
+    }
+
+    @Test
+    void testEnemyWithoutFlowFieldFollowsItsCachedRoute() {
+        board.placeEntity(new Position(0, 0), EntityType.AGENT);
+        Position start = new Position(9, 9);
+        board.placeEntity(start, EntityType.ENEMY);
+        EnemyTask enemy = new EnemyTask(board, new GameState(), start, 1, 100, null, cache);
+
+        assertTrue(enemy.step());
+        assertEquals(1, cache.getMisses());
+        assertTrue(enemy.step());
+        assertEquals(1, cache.getHits());
+        assertEquals(16, AStarSearch.findPath(board, board.indexOf(board.getEnemyPositions().get(0)),
+                                              board.indexOf(0, 0)).getLength());
+    }
+
+    @Test
+    void testOnlyTheSearchingModesAreGivenTheCache() {
+        board.placeEntity(new Position(0, 0), EntityType.AGENT);
+        board.placeEntity(new Position(9, 9), EntityType.PHONE);
+        for (PathfindingMode mode : PathfindingMode.values()) {
+            cache.clear();
+            mode.createPlanner(cache).plan(board.snapshot());
+            assertEquals(mode.usesPathCache(), cache.size() > 0, mode.toString());
+        }
+    }
+}
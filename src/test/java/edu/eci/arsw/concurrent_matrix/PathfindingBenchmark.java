@@ -0,0 +1,146 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of A* and Jump Point Search on open, maze-like and obstacle-dense
+ * maps. Each invocation plans one of a fixed set of reachable start/goal pairs, on a
+ * snapshot of the board as the planners do.
+ * A* also runs with the ALT landmark heuristic, built during setup. The hierarchical
+ * planner, whose cluster graph is also built during setup, is measured on
+ * the same pairs; it only refines the first segment of its route.
+ * <p>
+ * Run with:
+ * {@code mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ * -Dexec.args="-cp %classpath org.openjdk.jmh.Main PathfindingBenchmark"}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathfindingBenchmark {
+    private static final int BOARD_SIZE = 256;
+    private static final int PAIRS = 64;
+
+    /**
+     * Kinds of map the searches are compared on.
+     */
+    public enum MapKind {
+        OPEN, MAZE, DENSE
+    }
+
+    @Param({"OPEN", "MAZE", "DENSE"})
+    public MapKind map;
+
+    private BoardSnapshot board;
+    private int[] starts;
+    private int[] goals;
+    private int[][] goalSets;
+    private HierarchicalPlanner hierarchical;
+    private LandmarkHeuristic landmarks;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(17);
+        Board live = new Board(BOARD_SIZE, BOARD_SIZE);
+        switch (map) {
+            case MAZE -> carveMaze(live, random);
+            case DENSE -> {
+                for (int i = 0; i < live.getCellCount(); i++) {
+                    if (random.nextInt(100) < 35) {
+                        live.setEntity(live.positionAt(i), EntityType.OBSTACLE);
+                    }
+                }
+            }
+            default -> {
+            }
+        }
+        board = live.snapshot();
+        starts = new int[PAIRS];
+        goals = new int[PAIRS];
+        for (int i = 0; i < PAIRS; ) {
+            int start = random.nextInt(board.getCellCount());
+            int goal = random.nextInt(board.getCellCount());
+            if (start != goal && board.getEntity(start) == EntityType.EMPTY
+                    && board.getEntity(goal) == EntityType.EMPTY
+                    && AStarSearch.findPath(board, start, goal).isFound()) {
+                starts[i] = start;
+                goals[i] = goal;
+                i++;
+            }
+        }
+        goalSets = new int[PAIRS][];
+        for (int i = 0; i < PAIRS; i++) {
+            goalSets[i] = new int[] {goals[i]};
+        }
+        landmarks = LandmarkHeuristic.build(board, LandmarkHeuristic.DEFAULT_LANDMARKS);
+        hierarchical = new HierarchicalPlanner();
+        hierarchical.plan(board, starts[0], goalSets[0]);
+    }
+
+    @Benchmark
+    public PathResult aStar() {
+        int i = next++ & (PAIRS - 1);
+        return AStarSearch.findPath(board, starts[i], goals[i]);
+    }
+
+    @Benchmark
+    public PathResult aStarLandmarks() {
+        int i = next++ & (PAIRS - 1);
+        return AStarSearch.findPath(board, starts[i], goals[i], landmarks);
+    }
+
+    @Benchmark
+    public PathResult jumpPointSearch() {
+        int i = next++ & (PAIRS - 1);
+        return JumpPointSearch.findPath(board, starts[i], goals[i]);
+    }
+
+    @Benchmark
+    public PathResult hierarchicalFirstSegment() {
+        int i = next++ & (PAIRS - 1);
+        return hierarchical.plan(board, starts[i], goalSets[i]);
+    }
+
+    /**
+     * Fills the board with obstacles and carves a perfect maze through the even cells
+     * with a depth-first backtracker.
+     */
+    static void carveMaze(Board board, Random random) {
+        int width = board.getWidth();
+        int height = board.getHeight();
+        for (int i = 0; i < board.getCellCount(); i++) {
+            board.setEntity(board.positionAt(i), EntityType.OBSTACLE);
+        }
+        int[][] directions = {{-2, 0}, {2, 0}, {0, -2}, {0, 2}};
+        ArrayDeque<int[]> stack = new ArrayDeque<>();
+        board.setEntity(new Position(0, 0), EntityType.EMPTY);
+        stack.push(new int[] {0, 0});
+        while (!stack.isEmpty()) {
+            int[] cell = stack.peek();
+            int[] order = random.ints(0, 4).distinct().limit(4).toArray();
+            boolean carved = false;
+            for (int d : order) {
+                int x = cell[0] + directions[d][0];
+                int y = cell[1] + directions[d][1];
+                if (x >= 0 && x < height && y >= 0 && y < width && board.getEntity(new Position(x, y)) == EntityType.OBSTACLE) {
+                    board.setEntity(new Position(cell[0] + directions[d][0] / 2, cell[1] + directions[d][1] / 2), EntityType.EMPTY);
+                    board.setEntity(new Position(x, y), EntityType.EMPTY);
+                    stack.push(new int[] {x, y});
+                    carved = true;
+                    break;
+                }
+            }
+            if (!carved) {
+                stack.pop();
+            }
+        }
+    }
+}
@@ -35,6 +35,7 @@ class PositionTest {
         
         assertEquals(pos1.hashCode(), pos2.hashCode());
         assertNotEquals(pos1.hashCode(), pos3.hashCode());
+        assertEquals(31 * 2 + 4, pos1.hashCode());
     }
 
     @Test
@@ -0,0 +1,125 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Unit tests for searches limited by a SearchBudget.
+ */
+class SearchBudgetTest {
+
+    @Test
+    void testExpansionBudgetGivesPartialStepOnShortestPath() {
+        Board board = new Board(200, 200);
+        int start = board.indexOf(0, 0);
+        int goal = board.indexOf(199, 150);
+        PathResult result = AStarSearch.findPath(board, start, goal, null, SearchBudget.ofExpansions(50));
+
+        assertFalse(result.isFound());
+        assertTrue(result.isPartial());
+        assertTrue(result.getExpansions() <= 50);
+        int next = result.getNextStep();
+        assertTrue(next == board.indexOf(0, 1) || next == board.indexOf(1, 0));
+    }
+
+    @Test
+    void testGenerousBudgetFindsFullPath() {
+        Board board = new Board(20, 20);
+        PathResult budgeted = AStarSearch.findPath(board, 0, 399, null, SearchBudget.ofExpansions(10_000));
+        assertTrue(budgeted.isFound());
+        assertFalse(budgeted.isPartial());
+        assertEquals(AStarSearch.findPath(board, 0, 399).getLength(), budgeted.getLength());
+    }
+
+    @Test
+    void testExpiredDeadlineStopsImmediately() {
+        Board board = new Board(50, 50);
+        PathResult result = AStarSearch.findPath(board, 0, 2499, null, SearchBudget.ofTimeout(Duration.ZERO));
+        assertTrue(result.isPartial());
+        assertEquals(0, result.getExpansions());
+        assertEquals(-1, result.getNextStep());
+    }
+
+    @Test
+    void testUnreachableGoalIsNotPartial() {
+        Board board = new Board(10, 10);
+        board.setEntity(new Position(0, 1), EntityType.OBSTACLE);
+        board.setEntity(new Position(1, 0), EntityType.OBSTACLE);
+        PathResult result = AStarSearch.findPath(board, 0, 99, null, SearchBudget.ofExpansions(1_000));
+        assertFalse(result.isFound());
+        assertFalse(result.isPartial());
+    }
+
+    @Test
+    void testNearestGoalSearchHeadsForClosestGoal() {
+        Board board = new Board(100, 100);
+        Position start = new Position(50, 50);
+        List<Position> goals = List.of(new Position(50, 95), new Position(0, 0));
+        PathResult result = GameUtils.findPathToNearestGoal(board, start, goals, SearchBudget.ofExpansions(100));
+
+        assertTrue(result.isPartial());
+        assertEquals(board.indexOf(50, 51), result.getNextStep());
+    }
+
+    @Test
+    void testEnemySearchWithinBudget() {
+        Board board = new Board(100, 100);
+        PathResult result = GameUtils.findPathTowardsAgent(board, new Position(0, 0), new Position(99, 99),
+                                                           SearchBudget.ofExpansions(10));
+        assertTrue(result.isPartial());
+        assertTrue(result.getLength() > 0);
+    }
+
+    @Test
+    void testIncrementalPlannerResumesWhereTheBudgetStopped() {
+        Board board = new Board(50, 50);
+        board.placeEntity(new Position(0, 0), EntityType.AGENT);
+        board.placeEntity(new Position(49, 49), EntityType.PHONE);
+        BoardSnapshot view = board.snapshot();
+        DStarLitePlanner planner = new DStarLitePlanner();
+
+        int calls = 0;
+        PathResult result;
+        do {
+            result = planner.plan(view, SearchBudget.ofExpansions(500));
+            calls++;
+            assertTrue(result.getExpansions() <= 500);
+        } while (result.isPartial() && calls < 100);
+        assertTrue(calls > 1);
+        assertTrue(result.isFound());
+        assertEquals(98, result.getLength());
+    }
+
+    @Test
+    void testEveryBudgetedModeReturnsPartialPaths() {
+        Board board = new Board(100, 100);
+        board.placeEntity(new Position(0, 0), EntityType.AGENT);
+        board.placeEntity(new Position(99, 99), EntityType.PHONE);
+        for (PathfindingMode mode : List.of(PathfindingMode.NEAREST_GOAL, PathfindingMode.ASTAR,
+                                            PathfindingMode.ALT)) {
+            PathPlanner planner = mode.createPlanner(new PathCache());
+            PathResult result = planner.plan(board.snapshot(), SearchBudget.ofExpansions(20));
+            assertTrue(result.isPartial(), mode.toString());
+        }
+    }
+
+    @Test
+    void testAgentWaitsWhenThePlanHasNoStepYet() {
+        Board board = new Board(5, 5);
+        board.placeEntity(new Position(0, 0), EntityType.AGENT);
+        board.placeEntity(new Position(4, 4), EntityType.PHONE);
+        GameState state = new GameState();
+        AgentTask waiting = new AgentTask(board, state, 100, view -> PathResult.partial(0, new int[0], 0));
+
+        assertTrue(waiting.step());
+        assertFalse(state.isGameOver());
+        assertEquals(new Position(0, 0), board.getAgentPosition());
+
+        AgentTask partial = new AgentTask(board, state, 100, view -> PathResult.partial(0, new int[] {1}, 0));
+        assertTrue(partial.step());
+        assertEquals(new Position(0, 1), board.getAgentPosition());
+    }
+}
@@ -0,0 +1,131 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for the SingleWriterBoard and MoveIntentQueue classes.
+ */
+class SingleWriterBoardTest {
+
+    @Test
+    void testQueueIsBoundedAndFifo() {
+        MoveIntentQueue queue = new MoveIntentQueue(3);
+        assertEquals(4, queue.capacity());
+        List<MoveIntentQueue.Request> offered = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            MoveIntentQueue.Request request = new MoveIntentQueue.Request(new MoveIntent(i, EntityType.ENEMY, i, i + 1));
+            assertTrue(queue.offer(request));
+            offered.add(request);
+        }
+        assertFalse(queue.offer(new MoveIntentQueue.Request(new MoveIntent(4, EntityType.ENEMY, 4, 5))));
+        assertSame(offered.get(0), queue.poll());
+        assertTrue(queue.offer(new MoveIntentQueue.Request(new MoveIntent(4, EntityType.ENEMY, 4, 5))));
+
+        List<MoveIntentQueue.Request> drained = new ArrayList<>();
+        assertEquals(4, queue.drainTo(drained, 10));
+        assertEquals(offered.subList(1, 4), drained.subList(0, 3));
+        assertNull(queue.poll());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void testConcurrentProducersLoseNothing() throws InterruptedException {
+        MoveIntentQueue queue = new MoveIntentQueue(64);
+        int producers = 4;
+        int perProducer = 20_000;
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    MoveIntentQueue.Request request = new MoveIntentQueue.Request(
+                            new MoveIntent(i, EntityType.ENEMY, producer, i));
+                    while (!queue.offer(request)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        int[] next = new int[producers];
+        int received = 0;
+        while (received < producers * perProducer) {
+            MoveIntentQueue.Request request = queue.poll();
+            if (request == null) {
+                Thread.yield();
+                continue;
+            }
+            MoveIntent intent = request.getIntent();
+            assertEquals(next[intent.getFrom()]++, intent.getTo()); // Each producer's order is kept
+            received++;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(queue.poll());
+    }
+
+    @Test
+    void testSubmittedMovesCompleteWithTheirOutcome() {
+        try (SingleWriterBoard board = new SingleWriterBoard(5, 5)) {
+            board.placeEntity(new Position(0, 0), EntityType.AGENT);
+            board.placeEntity(new Position(0, 2), EntityType.ENEMY);
+            CompletableFuture<Boolean> blocked = board.submit(board.indexOf(0, 0), board.indexOf(0, 2));
+            CompletableFuture<Boolean> moved = board.submit(board.indexOf(0, 0), board.indexOf(1, 0));
+
+            assertFalse(blocked.join());
+            assertTrue(moved.join());
+            assertEquals(new Position(1, 0), board.getAgentPosition());
+            assertFalse(board.submit(board.indexOf(3, 3), board.indexOf(3, 4)).join()); // Nothing to move
+            assertTrue(board.getBatchCount() >= 1);
+        }
+    }
+
+    @Test
+    void testEntityThreadsMoveThroughTheOwner() throws InterruptedException {
+        int movers = 8;
+        int rounds = 2_000;
+        AtomicInteger failures = new AtomicInteger();
+        try (SingleWriterBoard board = new SingleWriterBoard(4, movers)) {
+            List<Thread> threads = new ArrayList<>();
+            for (int row = 0; row < movers; row++) {
+                board.placeEntity(new Position(row, 0), EntityType.ENEMY);
+                int x = row;
+                Thread thread = new Thread(() -> {
+                    for (int i = 0; i < rounds; i++) {
+                        int from = i % 2;
+                        if (!board.moveEntity(new Position(x, from), new Position(x, 1 - from))) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertEquals(0, failures.get());
+            assertEquals(movers, board.getEnemyCount());
+            for (int row = 0; row < movers; row++) {
+                assertEquals(EntityType.ENEMY, board.getEntity(new Position(row, 0)));
+            }
+        }
+    }
+
+    @Test
+    void testMovesAfterCloseAreRefused() {
+        SingleWriterBoard board = new SingleWriterBoard(5, 5);
+        board.placeEntity(new Position(0, 0), EntityType.ENEMY);
+        board.close();
+        assertFalse(board.submit(board.indexOf(0, 0), board.indexOf(0, 1)).join());
+    }
+}
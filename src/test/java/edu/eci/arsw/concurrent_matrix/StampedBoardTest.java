@@ -0,0 +1,67 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Unit tests for the StampedBoard class.
+ */
+class StampedBoardTest {
+
+    private StampedBoard board;
+
+    @BeforeEach
+    void setUp() {
+        board = new StampedBoard(10, 10);
+    }
+
+    @Test
+    void testQueriesReflectWrites() {
+        Position agent = new Position(1, 1);
+        Position enemy = new Position(4, 4);
+        board.placeEntity(agent, EntityType.AGENT);
+        board.placeEntity(enemy, EntityType.ENEMY);
+
+        assertEquals(EntityType.AGENT, board.getEntity(agent));
+        assertEquals(agent, board.getAgentPosition());
+        assertTrue(board.moveEntity(enemy, new Position(4, 5)));
+        assertEquals(java.util.List.of(new Position(4, 5)), board.getEnemyPositions());
+        assertEquals(EntityType.OBSTACLE, board.getEntity(new Position(-1, 0)));
+    }
+
+    @Test
+    void testReadersSeeConsistentTrackingDuringMoves() throws InterruptedException {
+        for (int i = 0; i < 8; i++) {
+            board.placeEntity(new Position(i, 0), EntityType.ENEMY);
+        }
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread writer = new Thread(() -> {
+            int column = 0;
+            while (running.get()) {
+                int next = (column + 1) % 10;
+                for (int i = 0; i < 8; i++) {
+                    board.moveEntity(new Position(i, column), new Position(i, next));
+                }
+                column = next;
+            }
+        });
+        writer.start();
+        try {
+            for (int read = 0; read < 20_000; read++) {
+                assertEquals(8, board.getEnemyPositions().size());
+            }
+        } finally {
+            running.set(false);
+            writer.join();
+        }
+
+        // No list built while a move was in flight may outlive it in the cache
+        for (Position enemy : board.getEnemyPositions()) {
+            assertEquals(EntityType.ENEMY, board.getEntity(enemy));
+        }
+        assertEquals(8, new java.util.HashSet<>(board.getEnemyPositions()).size());
+    }
+}
@@ -0,0 +1,120 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Unit tests for the StripedBoard class.
+ */
+class StripedBoardTest {
+
+    private StripedBoard board;
+
+    @BeforeEach
+    void setUp() {
+        board = new StripedBoard(10, 10, 4);
+    }
+
+    @Test
+    void testStripeLayout() {
+        // 10x10 board with 4x4 tiles -> 3 x 3 tiles
+        assertEquals(9, board.getStripeCount());
+        assertEquals(0, board.stripeOf(board.indexOf(new Position(0, 0))));
+        assertEquals(1, board.stripeOf(board.indexOf(new Position(0, 4))));
+        assertEquals(3, board.stripeOf(board.indexOf(new Position(4, 0))));
+        assertEquals(8, board.stripeOf(board.indexOf(new Position(9, 9))));
+    }
+
+    @Test
+    void testMoveAcrossStripeBoundary() {
+        Position from = new Position(3, 3);
+        Position to = new Position(4, 3);
+        board.setEntity(from, EntityType.ENEMY);
+
+        assertTrue(board.moveEntity(from, to));
+        assertEquals(EntityType.EMPTY, board.getEntity(from));
+        assertEquals(EntityType.ENEMY, board.getEntity(to));
+    }
+
+    @Test
+    void testSetupGameTracksEntities() {
+        board.setupGame();
+
+        assertEquals(EntityType.AGENT, board.getEntity(board.getAgentPosition()));
+        for (Position enemy : board.getEnemyPositions()) {
+            assertEquals(EntityType.ENEMY, board.getEntity(enemy));
+        }
+    }
+
+    @Test
+    void testInvalidTileSize() {
+        assertThrows(IllegalArgumentException.class, () -> new StripedBoard(10, 10, 0));
+    }
+
+    @Test
+    void testMoveInFarTileDoesNotWaitForBusyTile() throws InterruptedException {
+        StripedBoard large = new StripedBoard(64, 64, 8);
+        assertTrue(large.placeEntity(new Position(60, 60), EntityType.ENEMY));
+        int busy = large.indexOf(0, 0);
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            large.writeLock(busy, busy);
+            try {
+                held.countDown();
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                large.writeUnlock(busy, busy);
+            }
+        });
+        holder.start();
+        held.await();
+        try {
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                assertTrue(large.moveEntity(new Position(60, 60), new Position(60, 61)));
+                assertEquals(new Position(60, 61), large.getEnemyPositions().get(0));
+            });
+        } finally {
+            release.countDown();
+            holder.join();
+        }
+    }
+
+    @Test
+    void testConcurrentMovesKeepTrackingConsistent() throws InterruptedException {
+        StripedBoard large = new StripedBoard(64, 64, 8);
+        int threads = 8;
+        for (int t = 0; t < threads; t++) {
+            assertTrue(large.placeEntity(new Position(t * 8, 0), EntityType.ENEMY));
+        }
+        Thread[] movers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int row = t * 8;
+            movers[t] = new Thread(() -> {
+                // Sweep along the row and back, crossing every tile boundary of it
+                for (int step = 0; step < 2000; step++) {
+                    int y = step % 126 < 63 ? step % 126 : 126 - step % 126;
+                    int next = step % 126 < 63 ? y + 1 : y - 1;
+                    assertTrue(large.moveEntity(new Position(row, y), new Position(row, next)));
+                }
+            });
+            movers[t].start();
+        }
+        for (Thread mover : movers) {
+            mover.join();
+        }
+        assertEquals(threads, large.getEnemyCount());
+        for (int id : large.getEnemyIds()) {
+            Position position = large.getEntityPosition(id);
+            assertEquals(EntityType.ENEMY, large.getEntity(position));
+            assertEquals(id, large.getEntityId(position));
+        }
+        assertEquals(threads, large.getEnemyPositions().stream().distinct().count());
+    }
+}
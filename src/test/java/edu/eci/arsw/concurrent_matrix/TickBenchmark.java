@@ -0,0 +1,72 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import org.openjdk.jmh.annotations.*;
+import static edu.eci.arsw.concurrent_matrix.BoardTestSupport.placeRandomly;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH throughput of the {@link TickEngine}, in ticks per second, on a 256x256 board
+ * with many enemies and a growing worker pool. When a game ends the board is laid out
+ * again from the same seed, inside the measurement, so the figures include a new game
+ * every few hundred ticks.
+ * <p>
+ * Run with:
+ * {@code mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ * -Dexec.args="-cp %classpath org.openjdk.jmh.Main TickBenchmark"}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TickBenchmark {
+    private static final int BOARD_SIZE = 256;
+
+    @Param({"1", "4"})
+    public int workers;
+
+    @Param({"64", "1024"})
+    public int enemies;
+
+    private Board board;
+    private TickEngine engine;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        newGame();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        engine.close();
+    }
+
+    @Benchmark
+    public boolean tick() throws InterruptedException {
+        boolean running = engine.tick();
+        if (!running) {
+            engine.close();
+            newGame();
+        }
+        return running;
+    }
+
+    private void newGame() {
+        Random random = new Random(21);
+        board = new Board(BOARD_SIZE, BOARD_SIZE);
+        for (int i = 0; i < board.getCellCount(); i++) {
+            if (random.nextInt(100) < 15) {
+                board.setEntity(board.positionAt(i), EntityType.OBSTACLE);
+            }
+        }
+        placeRandomly(board, random, EntityType.AGENT);
+        placeRandomly(board, random, EntityType.PHONE);
+        for (int i = 0; i < enemies; i++) {
+            placeRandomly(board, random, EntityType.ENEMY);
+        }
+        engine = new TickEngine(board, new GameState(), PathfindingMode.INCREMENTAL.createPlanner(), workers);
+    }
+}
@@ -0,0 +1,120 @@
+package edu.eci.arsw.concurrent_matrix;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static edu.eci.arsw.concurrent_matrix.BoardTestSupport.placeRandomly;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Unit tests for the TickEngine and MoveResolver classes.
+ */
+class TickEngineTest {
+
+    @Test
+    void testResolverGivesContestedCellToHigherPriority() {
+        Board board = new Board(5, 5);
+        board.placeEntity(new Position(1, 0), EntityType.ENEMY);
+        board.placeEntity(new Position(1, 2), EntityType.ENEMY);
+        int target = board.indexOf(1, 1);
+        MoveIntent second = new MoveIntent(2, EntityType.ENEMY, board.indexOf(1, 2), target);
+        MoveIntent first = new MoveIntent(1, EntityType.ENEMY, board.indexOf(1, 0), target);
+
+        assertEquals(List.of(first), MoveResolver.resolve(board, List.of(second, first)));
+    }
+
+    @Test
+    void testResolverLetsEntitiesFollowIntoVacatedCells() {
+        Board board = new Board(5, 5);
+        board.placeEntity(new Position(0, 1), EntityType.AGENT);
+        board.placeEntity(new Position(0, 2), EntityType.PHONE);
+        board.placeEntity(new Position(0, 0), EntityType.ENEMY);
+        board.placeEntity(new Position(1, 2), EntityType.ENEMY);
+        MoveIntent agent = new MoveIntent(0, EntityType.AGENT, board.indexOf(0, 1), board.indexOf(0, 2));
+        MoveIntent follower = new MoveIntent(1, EntityType.ENEMY, board.indexOf(0, 0), board.indexOf(0, 1));
+        MoveIntent ontoPhone = new MoveIntent(2, EntityType.ENEMY, board.indexOf(1, 2), board.indexOf(0, 2));
+
+        assertEquals(List.of(agent, follower), MoveResolver.resolve(board, List.of(ontoPhone, follower, agent)));
+    }
+
+    @Test
+    void testAgentWalksToPhone() throws InterruptedException {
+        Board board = new Board(10, 10);
+        board.placeEntity(new Position(0, 0), EntityType.AGENT);
+        board.placeEntity(new Position(0, 5), EntityType.PHONE);
+        GameState state = new GameState();
+        try (TickEngine engine = new TickEngine(board, state, PathfindingMode.ASTAR.createPlanner(), 2)) {
+            engine.run(0);
+            assertEquals(5, engine.getTickCount());
+            assertTrue(engine.getTicksPerSecond() > 0);
+        }
+        assertEquals("Agent reached a phone! Agent wins!", state.getEndReason());
+        assertEquals(new Position(0, 5), board.getAgentPosition());
+    }
+
+    @Test
+    void testEnemyCatchesAgentInCorridor() throws InterruptedException {
+        Board board = new Board(3, 12);
+        board.placeEntity(new Position(0, 1), EntityType.AGENT);
+        board.placeEntity(new Position(11, 1), EntityType.PHONE);
+        board.placeEntity(new Position(6, 1), EntityType.ENEMY);
+        GameState state = new GameState();
+        try (TickEngine engine = new TickEngine(board, state, PathfindingMode.ASTAR.createPlanner(), 2)) {
+            engine.run(0);
+        }
+        assertEquals("Enemy 1 caught the agent! Enemies win!", state.getEndReason());
+    }
+
+    @Test
+    void testGamesAreDeterministicWhateverTheParallelism() throws InterruptedException {
+        for (long seed = 1; seed <= 5; seed++) {
+            List<Object> single = play(seed, 1);
+            assertEquals(single, play(seed, 4));
+            assertEquals(single, play(seed, 4));
+        }
+    }
+
+    @Test
+    void testEngineDrivesDoubleBufferedCommits() throws InterruptedException {
+        for (long seed = 1; seed <= 3; seed++) {
+            assertEquals(play(seed, 2), play(seed, 2, new DoubleBufferedBoard(40, 40)));
+        }
+    }
+
+    private static List<Object> play(long seed, int parallelism) throws InterruptedException {
+        return play(seed, parallelism, new Board(40, 40));
+    }
+
+    /**
+     * Plays a seeded game to its end on an empty 40x40 board and records every
+     * position after each tick, followed by the end reason.
+     */
+    private static List<Object> play(long seed, int parallelism, Board board) throws InterruptedException {
+        Random random = new Random(seed);
+        for (int i = 0; i < board.getCellCount(); i++) {
+            if (random.nextInt(100) < 15) {
+                board.setEntity(board.positionAt(i), EntityType.OBSTACLE);
+            }
+        }
+        placeRandomly(board, random, EntityType.AGENT);
+        placeRandomly(board, random, EntityType.PHONE);
+        placeRandomly(board, random, EntityType.PHONE);
+        for (int i = 0; i < 20; i++) {
+            placeRandomly(board, random, EntityType.ENEMY);
+        }
+
+        GameState state = new GameState();
+        List<Object> trace = new ArrayList<>();
+        try (TickEngine engine = new TickEngine(board, state, PathfindingMode.INCREMENTAL.createPlanner(),
+                                                parallelism)) {
+            while (engine.tick() && trace.size() < 1000) {
+                trace.add(board.getAgentPosition());
+                trace.add(board.getEnemyPositions());
+            }
+        }
+        trace.add(state.getEndReason());
+        return trace;
+    }
+}